@@ -67,6 +67,7 @@ dependencies {
         exclude(group = "io.lettuce", module = "lettuce-core")
     }
     implementation("redis.clients:jedis")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     /**
      * Security / OAuth2 Resource Server
@@ -177,13 +178,25 @@ checkstyleTaskNames
     }
 
 tasks.test {
-    useJUnitPlatform()
+    // Бенчмарки долгие и требуют Docker — они запускаются отдельной задачей benchmark.
+    useJUnitPlatform { excludeTags("benchmark") }
     // Вывод стандартных потоков включён — удобно видеть подробные логи тестов.
     testLogging { showStandardStreams = true }
     systemProperty("spring.profiles.active", "test")
     finalizedBy(tasks.named("jacocoTestReport"))
 }
 
+tasks.register<Test>("benchmark") {
+    description = "Запускает бенчмарки (JUnit-тесты с тегом benchmark) на Testcontainers."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform { includeTags("benchmark") }
+    testLogging { showStandardStreams = true }
+    systemProperty("spring.profiles.active", "test")
+    shouldRunAfter(tasks.test)
+}
+
 tasks.named("check") {
     dependsOn(
         tasks.named("jacocoTestCoverageVerification"),
@@ -0,0 +1,90 @@
+package io.github.sergeysenin.userservice.client.common;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Транспорт Feign поверх {@link HttpClient} из JDK: соединения keep-alive переиспользуются из пула клиента,
+ * а не открываются на каждый вызов. Таймаут чтения берётся из настроек конкретного Feign-клиента
+ * и действует на запрос; таймаут соединения задаётся на уровне {@link HttpClient}, поэтому на каждое
+ * сочетание таймаута соединения и редиректов создаётся свой клиент с собственным пулом.
+ */
+public class JdkHttpFeignClient implements Client {
+
+    // Эти заголовки выставляет сам HttpClient и запрещает задавать вручную.
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade"
+    );
+
+    private final Map<ClientKey, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpClient httpClient = httpClients.computeIfAbsent(
+                new ClientKey(options.connectTimeoutUnit().toMillis(options.connectTimeout()),
+                        options.isFollowRedirects()),
+                JdkHttpFeignClient::createHttpClient
+        );
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(toHttpRequest(request, options), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Вызов прерван: " + request.url());
+        }
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers().map());
+        var length = response.headers().firstValueAsLong("content-length");
+        return Response.builder()
+                .request(request)
+                .status(response.statusCode())
+                .headers(headers)
+                .body(response.body(), length.isPresent() ? (int) length.getAsLong() : null)
+                .build();
+    }
+
+    private static HttpRequest toHttpRequest(Request request, Request.Options options) {
+        byte[] body = request.body();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(Duration.ofMillis(options.readTimeoutUnit().toMillis(options.readTimeout())))
+                .method(request.httpMethod().name(), body == null ?
+                        HttpRequest.BodyPublishers.noBody() :
+                        HttpRequest.BodyPublishers.ofByteArray(body));
+
+        request.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.build();
+    }
+
+    private static HttpClient createHttpClient(ClientKey key) {
+        // HTTP/1.1 явно: иначе на http:// каждый новый запрос пытается перейти на h2c заголовком Upgrade.
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(key.connectTimeoutMillis()))
+                .followRedirects(key.followRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    private record ClientKey(long connectTimeoutMillis, boolean followRedirects) {
+    }
+}
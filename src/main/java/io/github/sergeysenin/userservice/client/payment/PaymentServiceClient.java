@@ -0,0 +1,14 @@
+package io.github.sergeysenin.userservice.client.payment;
+
+import io.github.sergeysenin.userservice.dto.overview.PaymentAccountDto;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+@FeignClient(name = "payment-service", url = "${clients.payment-service}")
+public interface PaymentServiceClient {
+
+    @GetMapping("/api/v1/users/{userId}/account")
+    PaymentAccountDto getUserAccount(@PathVariable("userId") Long userId);
+}
@@ -0,0 +1,16 @@
+package io.github.sergeysenin.userservice.client.project;
+
+import io.github.sergeysenin.userservice.dto.overview.ProjectSummaryDto;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+@FeignClient(name = "project-service", url = "${clients.project-service}")
+public interface ProjectServiceClient {
+
+    @GetMapping("/api/v1/users/{userId}/projects")
+    List<ProjectSummaryDto> getUserProjects(@PathVariable("userId") Long userId);
+}
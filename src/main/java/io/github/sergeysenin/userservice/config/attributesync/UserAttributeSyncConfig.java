@@ -0,0 +1,68 @@
+package io.github.sergeysenin.userservice.config.attributesync;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "user.attribute-sync", name = "enabled", havingValue = "true")
+public class UserAttributeSyncConfig {
+
+    public static final String CONTAINER_FACTORY = "userAttributeSyncContainerFactory";
+
+    private static final long RETRY_INITIAL_INTERVAL_MS = 1_000;
+    private static final long RETRY_MAX_INTERVAL_MS = 30_000;
+
+    /**
+     * Пакетный слушатель без автокоммита: смещения фиксируются режимом {@code BATCH} после возврата из слушателя,
+     * то есть после коммита транзакции БД. Ошибка пакета повторяется с нарастающей паузой без пропуска записей,
+     * пока БД не станет доступна. Метрики клиента (в том числе {@code kafka.consumer.fetch.manager.records.lag}
+     * и {@code records.lag.max}) публикуются в Micrometer.
+     */
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> userAttributeSyncContainerFactory(
+            ConsumerFactory<?, ?> consumerFactory,
+            UserAttributeSyncProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        Map<String, Object> consumerProperties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.maxPollRecords());
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProperties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        consumerProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        var syncConsumerFactory = new DefaultKafkaConsumerFactory<String, String>(consumerProperties);
+        syncConsumerFactory.addListener(
+                new MicrometerConsumerListener<>(meterRegistry, List.of(Tag.of("consumer", properties.groupId())))
+        );
+
+        var backOff = new ExponentialBackOff(RETRY_INITIAL_INTERVAL_MS, ExponentialBackOff.DEFAULT_MULTIPLIER);
+        backOff.setMaxInterval(RETRY_MAX_INTERVAL_MS);
+
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
+        factory.setConsumerFactory(syncConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.concurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.sergeysenin.userservice.config.attributesync;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "user.attribute-sync")
+public record UserAttributeSyncProperties(
+
+        boolean enabled,
+
+        String topic,
+
+        String groupId,
+
+        int maxPollRecords,
+
+        int concurrency
+) {
+
+    public static final String DEFAULT_TOPIC = "hr.user-attribute-changes";
+    public static final String DEFAULT_GROUP_ID = "user-service.attribute-sync";
+
+    public UserAttributeSyncProperties(
+
+            @DefaultValue("false")
+            boolean enabled,
+
+            @DefaultValue(DEFAULT_TOPIC)
+            String topic,
+
+            @DefaultValue(DEFAULT_GROUP_ID)
+            String groupId,
+
+            @DefaultValue("1000")
+            int maxPollRecords,
+
+            @DefaultValue("3")
+            int concurrency
+    ) {
+        if (maxPollRecords <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException(
+                    "Размер пакета и число потоков синхронизации атрибутов должны быть положительными"
+            );
+        }
+
+        this.enabled = enabled;
+        this.topic = topic == null || topic.isBlank() ? DEFAULT_TOPIC : topic.trim();
+        this.groupId = groupId == null || groupId.isBlank() ? DEFAULT_GROUP_ID : groupId.trim();
+        this.maxPollRecords = maxPollRecords;
+        this.concurrency = concurrency;
+    }
+}
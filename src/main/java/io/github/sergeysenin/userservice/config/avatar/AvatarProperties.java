@@ -5,8 +5,12 @@ import jakarta.validation.constraints.Positive;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -21,12 +25,21 @@ public record AvatarProperties(
         String storagePath,
 
         @Valid
-        AvatarSizesProperties sizes,
+        List<AvatarSizeProperties> sizes,
 
-        List<String> allowedMimeTypes
+        @Valid
+        AvatarEncodingProperties encoding,
+
+        List<String> allowedMimeTypes,
+
+        @Valid
+        AvatarUploadProperties upload,
+
+        boolean stripMetadata
 ) {
 
     public static final String DEFAULT_STORAGE_PATH = "avatars";
+    public static final String DEFAULT_STAGING_PATH = "staging";
     public static final String MIME_TYPE_JPEG = "image/jpeg";
     public static final String MIME_TYPE_PNG = "image/png";
     public static final String MIME_TYPE_WEBP = "image/webp";
@@ -35,57 +48,177 @@ public record AvatarProperties(
             MIME_TYPE_PNG,
             MIME_TYPE_WEBP
     );
+    public static final List<Integer> DEFAULT_SIZES = List.of(64, 128, 256, 512, 1080);
 
     public AvatarProperties(
 
             @DefaultValue(DEFAULT_STORAGE_PATH)
             String storagePath,
 
-            AvatarSizesProperties sizes,
+            List<AvatarSizeProperties> sizes,
+
+            AvatarEncodingProperties encoding,
 
             @DefaultValue({MIME_TYPE_JPEG, MIME_TYPE_PNG, MIME_TYPE_WEBP})
-            List<String> allowedMimeTypes
+            List<String> allowedMimeTypes,
+
+            AvatarUploadProperties upload,
+
+            @DefaultValue("true")
+            boolean stripMetadata
     ) {
-        this.storagePath = normalizeStoragePath(storagePath);
-        this.sizes = sizes == null ? new AvatarSizesProperties(null, null) : sizes;
+        this.storagePath = normalizeStoragePath(storagePath, DEFAULT_STORAGE_PATH);
+        this.encoding = encoding == null ? new AvatarEncodingProperties(null, null, null, null) : encoding;
+        this.sizes = normalizeSizes(sizes, this.encoding);
         this.allowedMimeTypes = normalizeAllowedMimeTypes(allowedMimeTypes);
+        this.upload = upload == null ? new AvatarUploadProperties(null, null, null) : upload;
+        this.stripMetadata = stripMetadata;
+    }
+
+    public List<Integer> maxSides() {
+        return sizes.stream()
+                .map(AvatarSizeProperties::maxSide)
+                .toList();
     }
 
-    public record AvatarSizesProperties(
+    /**
+     * Версия без собственного {@code encoding} наследует общий пресет {@code user.avatar.encoding} целиком.
+     */
+    public record AvatarSizeProperties(
 
-            AvatarSizeProperties thumbnail,
-            AvatarSizeProperties profile
+            @Positive
+            int maxSide,
+
+            @Valid
+            AvatarEncodingProperties encoding
     ) {
+    }
+
+    public record AvatarEncodingProperties(
+
+            Float jpegQuality,
+
+            Boolean jpegProgressive,
+
+            Boolean pngPalette,
+
+            Float webpQuality
+    ) {
+
+        public static final float DEFAULT_JPEG_QUALITY = 0.75f;
+        public static final float DEFAULT_WEBP_QUALITY = 0.8f;
+
+        public AvatarEncodingProperties(
+
+                Float jpegQuality,
 
-        public AvatarSizesProperties(
+                Boolean jpegProgressive,
 
-                AvatarSizeProperties thumbnail,
-                AvatarSizeProperties profile
+                Boolean pngPalette,
+
+                Float webpQuality
         ) {
-            this.thumbnail = thumbnail == null ? new AvatarSizeProperties(170) : thumbnail;
-            this.profile = profile == null ? new AvatarSizeProperties(1080) : profile;
+            this.jpegQuality = normalizeQuality(jpegQuality, DEFAULT_JPEG_QUALITY);
+            this.jpegProgressive = jpegProgressive != null && jpegProgressive;
+            this.pngPalette = pngPalette == null || pngPalette;
+            this.webpQuality = normalizeQuality(webpQuality, DEFAULT_WEBP_QUALITY);
+        }
+
+        private static float normalizeQuality(Float quality, float defaultQuality) {
+            if (quality == null) {
+                return defaultQuality;
+            }
+            if (quality <= 0.0f || quality > 1.0f) {
+                throw new IllegalArgumentException("Качество кодирования аватара должно быть в диапазоне (0, 1]");
+            }
+            return quality;
         }
     }
 
-    public record AvatarSizeProperties(
+    public record AvatarUploadProperties(
 
-            @Positive
-            int maxSide
+            String stagingPath,
+
+            DataSize maxFileSize,
+
+            Duration urlExpiration
     ) {
 
-        public AvatarSizeProperties(int maxSide) {
-            this.maxSide = maxSide;
+        public static final DataSize DEFAULT_MAX_FILE_SIZE = DataSize.ofMegabytes(5);
+        public static final Duration DEFAULT_URL_EXPIRATION = Duration.ofMinutes(15);
+
+        public AvatarUploadProperties(
+
+                String stagingPath,
+
+                DataSize maxFileSize,
+
+                Duration urlExpiration
+        ) {
+            this.stagingPath = normalizeStoragePath(stagingPath, DEFAULT_STAGING_PATH);
+            this.maxFileSize = requirePositive(maxFileSize);
+            this.urlExpiration = requirePositive(urlExpiration);
+        }
+
+        private static DataSize requirePositive(DataSize maxFileSize) {
+            if (maxFileSize == null) {
+                return DEFAULT_MAX_FILE_SIZE;
+            }
+            if (maxFileSize.toBytes() <= 0) {
+                throw new IllegalArgumentException("Максимальный размер файла аватара должен быть положительным");
+            }
+            return maxFileSize;
+        }
+
+        private static Duration requirePositive(Duration urlExpiration) {
+            if (urlExpiration == null) {
+                return DEFAULT_URL_EXPIRATION;
+            }
+            if (urlExpiration.isZero() || urlExpiration.isNegative()) {
+                throw new IllegalArgumentException("Срок действия ссылки на загрузку должен быть положительным");
+            }
+            return urlExpiration;
         }
     }
 
-    private static String normalizeStoragePath(String storagePath) {
+    private static String normalizeStoragePath(String storagePath, String defaultPath) {
         if (storagePath == null) {
-            return DEFAULT_STORAGE_PATH;
+            return defaultPath;
         }
 
         String trimmed = storagePath.trim();
         String withoutSlashes = trimmed.replaceAll("^/+|/+$", "");
-        return withoutSlashes.isEmpty() ? DEFAULT_STORAGE_PATH : withoutSlashes;
+        return withoutSlashes.isEmpty() ? defaultPath : withoutSlashes;
+    }
+
+    private static List<AvatarSizeProperties> normalizeSizes(
+            List<AvatarSizeProperties> sizes,
+            AvatarEncodingProperties defaultEncoding
+    ) {
+        List<AvatarSizeProperties> initial = sizes == null || sizes.isEmpty() ?
+                DEFAULT_SIZES.stream().map(maxSide -> new AvatarSizeProperties(maxSide, null)).toList() :
+                sizes;
+
+        List<AvatarSizeProperties> normalized = initial.stream()
+                .filter(Objects::nonNull)
+                .map(size -> new AvatarSizeProperties(
+                        size.maxSide(),
+                        size.encoding() == null ? defaultEncoding : size.encoding()
+                ))
+                .sorted(Comparator.comparingInt(AvatarSizeProperties::maxSide))
+                .toList();
+
+        Set<Integer> uniqueSides = new HashSet<>();
+        for (AvatarSizeProperties size : normalized) {
+            if (size.maxSide() <= 0) {
+                throw new IllegalArgumentException("Размер версии аватара должен быть положительным");
+            }
+            if (!uniqueSides.add(size.maxSide())) {
+                throw new IllegalArgumentException("Размеры версий аватара не должны повторяться: " + size.maxSide());
+            }
+        }
+
+        return normalized;
     }
 
     private static List<String> normalizeAllowedMimeTypes(List<String> allowedMimeTypes) {
@@ -0,0 +1,33 @@
+package io.github.sergeysenin.userservice.config.bulkimport;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "user.import")
+public record UserImportProperties(
+
+        int batchSize,
+
+        int maxReportedErrors
+) {
+
+    public UserImportProperties(
+
+            @DefaultValue("1000")
+            int batchSize,
+
+            @DefaultValue("1000")
+            int maxReportedErrors
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета импорта должен быть положительным");
+        }
+        if (maxReportedErrors < 0) {
+            throw new IllegalArgumentException("Лимит ошибок в отчёте импорта не может быть отрицательным");
+        }
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
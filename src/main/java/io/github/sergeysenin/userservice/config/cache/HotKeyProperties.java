@@ -0,0 +1,63 @@
+package io.github.sergeysenin.userservice.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.hot-keys")
+public record HotKeyProperties(
+
+        boolean enabled,
+
+        int topK,
+
+        long minHits,
+
+        Duration window,
+
+        int sketchWidth,
+
+        Duration hotTtl
+) {
+
+    public HotKeyProperties(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("100")
+            int topK,
+
+            @DefaultValue("100")
+            long minHits,
+
+            @DefaultValue("PT1M")
+            Duration window,
+
+            @DefaultValue("16384")
+            int sketchWidth,
+
+            @DefaultValue("PT5M")
+            Duration hotTtl
+    ) {
+        if (topK <= 0 || minHits <= 0) {
+            throw new IllegalArgumentException("Размер top-K и порог горячего ключа должны быть положительными");
+        }
+        if (sketchWidth <= 0 || Integer.bitCount(sketchWidth) != 1) {
+            throw new IllegalArgumentException("Ширина скетча должна быть положительной степенью двойки");
+        }
+        if (window.isZero() || window.isNegative() || hotTtl.isZero() || hotTtl.isNegative()) {
+            throw new IllegalArgumentException("Окно подсчёта и TTL горячих ключей должны быть положительными");
+        }
+
+        this.enabled = enabled;
+        this.topK = topK;
+        this.minHits = minHits;
+        this.window = window;
+        this.sketchWidth = sketchWidth;
+        this.hotTtl = hotTtl;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.sergeysenin.userservice.config.cache;
+
+import io.github.sergeysenin.userservice.config.existence.UserExistenceFilterProperties;
+import io.github.sergeysenin.userservice.service.avatar.cache.HotAvatarCache;
+import io.github.sergeysenin.userservice.service.user.cache.NearUserProfileCache;
+import io.github.sergeysenin.userservice.service.user.existence.UserExistenceFilter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "user.cache.profile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserProfileCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userProfileInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            NearUserProfileCache nearUserProfileCache,
+            HotAvatarCache hotAvatarCache,
+            UserExistenceFilter userExistenceFilter,
+            UserProfileCacheProperties properties,
+            UserExistenceFilterProperties userExistenceFilterProperties
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> nearUserProfileCache.onRemoteInvalidation(message.getBody()),
+                new ChannelTopic(properties.invalidationChannel())
+        );
+        container.addMessageListener(
+                (message, pattern) -> hotAvatarCache.onRemoteInvalidation(message.getBody()),
+                new ChannelTopic(properties.invalidationChannel())
+        );
+        // Любое изменение профиля, включая создание, несёт id существующего пользователя.
+        container.addMessageListener(
+                (message, pattern) -> userExistenceFilter.onRemoteUserIds(message.getBody()),
+                new ChannelTopic(properties.invalidationChannel())
+        );
+        container.addMessageListener(
+                (message, pattern) -> userExistenceFilter.onRemoteUserIds(message.getBody()),
+                new ChannelTopic(userExistenceFilterProperties.channel())
+        );
+        return container;
+    }
+}
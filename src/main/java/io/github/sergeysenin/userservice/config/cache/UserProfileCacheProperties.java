@@ -0,0 +1,92 @@
+package io.github.sergeysenin.userservice.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.cache.profile")
+public record UserProfileCacheProperties(
+
+        boolean enabled,
+
+        Duration ttl,
+
+        String keyPrefix,
+
+        double earlyRefreshBeta,
+
+        long localMaxSize,
+
+        Duration localTtl,
+
+        String invalidationChannel,
+
+        Duration loadTimeout,
+
+        Duration evictionTombstoneTtl
+) {
+
+    public static final String DEFAULT_KEY_PREFIX = "user-service:user-profile:v2:";
+    public static final String DEFAULT_INVALIDATION_CHANNEL = "user-service:user-profile:invalidations";
+
+    public UserProfileCacheProperties(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("PT10M")
+            Duration ttl,
+
+            @DefaultValue(DEFAULT_KEY_PREFIX)
+            String keyPrefix,
+
+            @DefaultValue("1.0")
+            double earlyRefreshBeta,
+
+            @DefaultValue("10000")
+            long localMaxSize,
+
+            @DefaultValue("PT30S")
+            Duration localTtl,
+
+            @DefaultValue(DEFAULT_INVALIDATION_CHANNEL)
+            String invalidationChannel,
+
+            @DefaultValue("PT5S")
+            Duration loadTimeout,
+
+            @DefaultValue("PT5S")
+            Duration evictionTombstoneTtl
+    ) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL кеша профилей должен быть положительным");
+        }
+        if (earlyRefreshBeta < 0) {
+            throw new IllegalArgumentException("Коэффициент раннего обновления кеша не может быть отрицательным");
+        }
+        if (localMaxSize <= 0 || localTtl.isZero() || localTtl.isNegative()) {
+            throw new IllegalArgumentException("Размер и TTL локального кеша профилей должны быть положительными");
+        }
+        if (loadTimeout.isZero() || loadTimeout.isNegative()) {
+            throw new IllegalArgumentException("Таймаут ожидания загрузки профиля должен быть положительным");
+        }
+        if (evictionTombstoneTtl.isZero() || evictionTombstoneTtl.isNegative()) {
+            throw new IllegalArgumentException("TTL метки инвалидации профиля должен быть положительным");
+        }
+
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.keyPrefix = keyPrefix == null || keyPrefix.isBlank() ? DEFAULT_KEY_PREFIX : keyPrefix.trim();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.invalidationChannel = invalidationChannel == null || invalidationChannel.isBlank() ?
+                DEFAULT_INVALIDATION_CHANNEL :
+                invalidationChannel.trim();
+        this.loadTimeout = loadTimeout;
+        this.evictionTombstoneTtl = evictionTombstoneTtl;
+    }
+}
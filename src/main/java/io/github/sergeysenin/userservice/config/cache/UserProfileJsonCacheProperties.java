@@ -0,0 +1,49 @@
+package io.github.sergeysenin.userservice.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.cache.profile-json")
+public record UserProfileJsonCacheProperties(
+
+        boolean enabled,
+
+        DataSize maxSize,
+
+        Duration ttl,
+
+        DataSize gzipMinSize
+) {
+
+    public UserProfileJsonCacheProperties(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("64MB")
+            DataSize maxSize,
+
+            @DefaultValue("PT10M")
+            Duration ttl,
+
+            @DefaultValue("512B")
+            DataSize gzipMinSize
+    ) {
+        if (maxSize.toBytes() <= 0 || ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Размер и TTL кеша сериализованных профилей должны быть положительными");
+        }
+        if (gzipMinSize.isNegative()) {
+            throw new IllegalArgumentException("Порог сжатия профиля не может быть отрицательным");
+        }
+
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.gzipMinSize = gzipMinSize;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.sergeysenin.userservice.config.cache;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.cache.SingleFlight;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Не зависит от {@code user.cache.profile.enabled}: без кеша схлопывание загрузок нужнее всего.
+ */
+@Configuration
+public class UserProfileLoadConfig {
+
+    @Bean
+    public SingleFlight<Long, UserResponse> userProfileLoads(UserProfileCacheProperties properties) {
+        return new SingleFlight<>(properties.loadTimeout());
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.sergeysenin.userservice.config.client;
+
+import io.github.sergeysenin.userservice.client.common.JdkHttpFeignClient;
+
+import feign.Client;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Таймауты задаются на клиента в {@code spring.cloud.openfeign.client.config.<имя>}.
+ */
+@Configuration
+@EnableFeignClients(basePackages = "io.github.sergeysenin.userservice.client")
+public class FeignClientConfig {
+
+    @Bean
+    public Client feignClient() {
+        return new JdkHttpFeignClient();
+    }
+}
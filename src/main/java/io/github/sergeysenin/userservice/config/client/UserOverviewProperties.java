@@ -0,0 +1,52 @@
+package io.github.sergeysenin.userservice.config.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.overview")
+public record UserOverviewProperties(
+
+        Duration timeout,
+
+        Duration cacheTtl,
+
+        long cacheMaxSize,
+
+        int threads
+) {
+
+    public UserOverviewProperties(
+
+            @DefaultValue("PT1S")
+            Duration timeout,
+
+            @DefaultValue("PT30S")
+            Duration cacheTtl,
+
+            @DefaultValue("10000")
+            long cacheMaxSize,
+
+            @DefaultValue("16")
+            int threads
+    ) {
+        if (timeout.isZero() || timeout.isNegative() || cacheTtl.isNegative()) {
+            throw new IllegalArgumentException(
+                    "Таймаут сводки должен быть положительным, TTL кеша — неотрицательным"
+            );
+        }
+        if (cacheMaxSize < 0 || threads <= 0) {
+            throw new IllegalArgumentException(
+                    "Размер кеша сводки не может быть отрицательным, число потоков должно быть положительным"
+            );
+        }
+
+        this.timeout = timeout;
+        this.cacheTtl = cacheTtl;
+        this.cacheMaxSize = cacheMaxSize;
+        this.threads = threads;
+    }
+}
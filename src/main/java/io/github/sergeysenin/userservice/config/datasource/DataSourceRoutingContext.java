@@ -0,0 +1,35 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Подсказка маршрутизатору: чтение внутри {@link #onPrimary(Supplier)} идёт в основную БД,
+ * даже если транзакция только для чтения. Нужна там, где результат переживает запрос (заполнение кеша)
+ * и отстающая реплика закрепила бы устаревшие данные до истечения TTL.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Запоминает пользователей, недавно выполнивших запись. Их чтения в течение окна привязки
+ * идут в основную БД — собственное изменение видно сразу, независимо от отставания реплик.
+ * Состояние локально для узла: запрос, попавший на другой узел, рассчитывает только на малый lag.
+ */
+public class ReadYourWritesTracker {
+
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickinessWindow) {
+        this.recentWriters = stickinessWindow.isZero() ?
+                null :
+                Caffeine.newBuilder()
+                        .maximumSize(MAX_TRACKED_USERS)
+                        .expireAfterWrite(stickinessWindow)
+                        .build();
+    }
+
+    public void recordWrite() {
+        if (recentWriters != null) {
+            currentPrincipal().ifPresent(principal -> recentWriters.put(principal, Boolean.TRUE));
+        }
+    }
+
+    public boolean hasRecentWrite() {
+        return recentWriters != null &&
+                currentPrincipal().map(principal -> recentWriters.getIfPresent(principal) != null).orElse(false);
+    }
+
+    private static Optional<String> currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null ||
+                !authentication.isAuthenticated() ||
+                authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(authentication.getName());
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Периодически проверяет реплики: доступность, режим standby и отставание воспроизведения WAL.
+ * Чтение направляется только на исправные реплики с отставанием не больше {@code max-lag};
+ * до первой проверки и при отказе всех реплик чтение идёт в основную БД.
+ */
+@Slf4j
+public class ReplicaHealthMonitor implements AutoCloseable {
+
+    // Если всё полученное воспроизведено, реплика догнала основную БД: время последней
+    // транзакции при простое записи растёт, но отставанием не является.
+    private static final String LAG_SQL = """
+            SELECT pg_is_in_recovery(),
+                   CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+    private static final String METRIC_NAME = "user.datasource.replica";
+
+    private final List<ReplicaNode> nodes;
+    private final double maxLagSeconds;
+    private final int queryTimeoutSeconds;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaHealthMonitor(
+            Map<String, DataSource> replicas,
+            Duration maxLag,
+            Duration checkTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.nodes = replicas.entrySet().stream()
+                .map(entry -> new ReplicaNode(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.queryTimeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+
+        for (ReplicaNode node : nodes) {
+            Gauge.builder(METRIC_NAME + ".lag", node, ReplicaNode::lagSeconds)
+                    .tag("replica", node.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".healthy", node, replica -> replica.healthy ? 1 : 0)
+                    .tag("replica", node.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public Map<String, DataSource> replicaDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        nodes.forEach(node -> dataSources.put(node.name, node.dataSource));
+        return dataSources;
+    }
+
+    public Optional<String> nextHealthyReplica() {
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(roundRobin.getAndIncrement(), candidates.size())));
+    }
+
+    @Scheduled(
+            initialDelayString = "${user.datasource.routing.health-check-interval:PT5S}",
+            fixedDelayString = "${user.datasource.routing.health-check-interval:PT5S}"
+    )
+    public void checkReplicas() {
+        for (ReplicaNode node : nodes) {
+            check(node);
+        }
+        healthyReplicas = nodes.stream()
+                .filter(node -> node.healthy)
+                .map(node -> node.name)
+                .toList();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaNode node : nodes) {
+            if (node.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void check(ReplicaNode node) {
+        boolean wasHealthy = node.healthy;
+
+        try (
+                var connection = node.dataSource.getConnection();
+                var statement = connection.createStatement()
+        ) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+
+            try (var resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                boolean inRecovery = resultSet.getBoolean(1);
+                node.lagSeconds = resultSet.getDouble(2);
+                // Повышенная до основной реплика расходится с настоящей основной БД — читать с неё нельзя.
+                node.healthy = inRecovery && node.lagSeconds <= maxLagSeconds;
+            }
+        } catch (SQLException exception) {
+            node.healthy = false;
+            node.lagSeconds = Double.NaN;
+            log.debug("Проверка реплики завершилась ошибкой: replica={}", node.name, exception);
+        }
+
+        if (wasHealthy != node.healthy) {
+            log.warn("Реплика {} для чтения: replica={}, lagSeconds={}",
+                    node.healthy ? "возвращена в ротацию" : "исключена из ротации", node.name, node.lagSeconds);
+        }
+    }
+
+    private static final class ReplicaNode {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private double lagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
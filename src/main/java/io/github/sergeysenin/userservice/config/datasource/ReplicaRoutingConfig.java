@@ -0,0 +1,98 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Маршрутизация чтения на реплики. Основная БД настраивается через {@code spring.datasource},
+ * реплики — через {@code user.datasource.routing}; без этого блока приложение работает с одной БД.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final Duration MIN_CONNECTION_TIMEOUT = Duration.ofMillis(250);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaRoutingProperties.Replica replica : properties.replicas()) {
+            replicas.put(replica.name(), replicaDataSource(replica, dataSourceProperties, properties, meterRegistry));
+        }
+
+        var healthMonitor = new ReplicaHealthMonitor(
+                replicas, properties.maxLag(), properties.healthCheckInterval(), meterRegistry);
+        healthMonitor.checkReplicas();
+        return healthMonitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaHealthMonitor replicaHealthMonitor,
+            ReplicaRoutingProperties properties
+    ) {
+        var routingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicaHealthMonitor,
+                new ReadYourWritesTracker(properties.stickinessWindow())
+        );
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(
+            ReplicaRoutingProperties.Replica replica,
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + replica.name());
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username() == null || replica.username().isBlank() ?
+                dataSourceProperties.determineUsername() :
+                replica.username());
+        dataSource.setPassword(replica.password() == null || replica.password().isBlank() ?
+                dataSourceProperties.determinePassword() :
+                replica.password());
+        dataSource.setMaximumPoolSize(properties.replicaPoolSize());
+        dataSource.setReadOnly(true);
+        // Упавшая между проверками реплика не должна держать чтение дольше интервала проверки.
+        Duration connectionTimeout = properties.healthCheckInterval().compareTo(MIN_CONNECTION_TIMEOUT) < 0 ?
+                MIN_CONNECTION_TIMEOUT :
+                properties.healthCheckInterval();
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        // Пул не должен падать при старте, если реплика ещё недоступна: её исключит проверка.
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Направляет транзакции только для чтения на исправную реплику, остальное — в основную БД.
+ * Флаг readOnly выставляется после открытия транзакции, поэтому источник оборачивается
+ * в {@code LazyConnectionDataSourceProxy}: соединение берётся при первом запросе, когда флаг уже известен.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealthMonitor healthMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            ReplicaHealthMonitor healthMonitor,
+            ReadYourWritesTracker readYourWritesTracker
+    ) {
+        this.healthMonitor = healthMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(healthMonitor.replicaDataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return PRIMARY;
+        }
+        if (DataSourceRoutingContext.isPrimaryRequired() || readYourWritesTracker.hasRecentWrite()) {
+            return PRIMARY;
+        }
+        return healthMonitor.nextHealthyReplica().orElse(PRIMARY);
+    }
+
+    /**
+     * Окно привязки отсчитывается от фиксации: до неё реплики изменение всё равно не увидят.
+     */
+    private void rememberWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite();
+                }
+            });
+        } else {
+            readYourWritesTracker.recordWrite();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+@Validated
+@ConfigurationProperties(prefix = "user.datasource.routing")
+public record ReplicaRoutingProperties(
+
+        boolean enabled,
+
+        List<Replica> replicas,
+
+        int replicaPoolSize,
+
+        Duration healthCheckInterval,
+
+        Duration maxLag,
+
+        Duration stickinessWindow
+) {
+
+    public ReplicaRoutingProperties(
+
+            @DefaultValue("false")
+            boolean enabled,
+
+            @DefaultValue
+            List<Replica> replicas,
+
+            @DefaultValue("10")
+            int replicaPoolSize,
+
+            @DefaultValue("PT5S")
+            Duration healthCheckInterval,
+
+            @DefaultValue("PT10S")
+            Duration maxLag,
+
+            @DefaultValue("PT5S")
+            Duration stickinessWindow
+    ) {
+        if (enabled && (replicas == null || replicas.isEmpty())) {
+            throw new IllegalArgumentException("Для маршрутизации чтения нужна хотя бы одна реплика");
+        }
+        if (replicaPoolSize <= 0) {
+            throw new IllegalArgumentException("Размер пула соединений реплики должен быть положительным");
+        }
+        if (healthCheckInterval.isZero() || healthCheckInterval.isNegative()) {
+            throw new IllegalArgumentException("Интервал проверки реплик должен быть положительным");
+        }
+        if (maxLag.isNegative() || stickinessWindow.isNegative()) {
+            throw new IllegalArgumentException("Допустимое отставание и окно привязки не могут быть отрицательными");
+        }
+
+        this.enabled = enabled;
+        this.replicas = replicas == null ? List.of() : List.copyOf(replicas);
+        this.replicaPoolSize = replicaPoolSize;
+        this.healthCheckInterval = healthCheckInterval;
+        this.maxLag = maxLag;
+        this.stickinessWindow = stickinessWindow;
+    }
+
+    /**
+     * Реплика для чтения; пустые учётные данные берутся из {@code spring.datasource}.
+     */
+    public record Replica(
+
+            String name,
+
+            String url,
+
+            String username,
+
+            String password
+    ) {
+
+        public Replica {
+            if (name == null || name.isBlank() || url == null || url.isBlank()) {
+                throw new IllegalArgumentException("У реплики должны быть заданы имя и JDBC URL");
+            }
+        }
+    }
+}
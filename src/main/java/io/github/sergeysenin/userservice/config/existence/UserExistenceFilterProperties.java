@@ -0,0 +1,80 @@
+package io.github.sergeysenin.userservice.config.existence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.existence-filter")
+public record UserExistenceFilterProperties(
+
+        boolean enabled,
+
+        long expectedInsertions,
+
+        double falsePositiveRate,
+
+        Duration rebuildInterval,
+
+        int fetchSize,
+
+        int confirmationsPerSecond,
+
+        String channel
+) {
+
+    private static final String DEFAULT_CHANNEL = "user-service:user-ids:created";
+    private static final long MAX_EXPECTED_INSERTIONS = 1_000_000_000L;
+
+    public UserExistenceFilterProperties(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("1000000")
+            long expectedInsertions,
+
+            @DefaultValue("0.01")
+            double falsePositiveRate,
+
+            @DefaultValue("PT1H")
+            Duration rebuildInterval,
+
+            @DefaultValue("5000")
+            int fetchSize,
+
+            @DefaultValue("20")
+            int confirmationsPerSecond,
+
+            @DefaultValue(DEFAULT_CHANNEL)
+            String channel
+    ) {
+        if (expectedInsertions <= 0 || expectedInsertions > MAX_EXPECTED_INSERTIONS) {
+            throw new IllegalArgumentException(
+                    "Ожидаемое число записей фильтра должно быть от 1 до " + MAX_EXPECTED_INSERTIONS
+            );
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Доля ложных срабатываний фильтра должна быть в интервале (0, 1)");
+        }
+        if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+            throw new IllegalArgumentException("Интервал перестроения фильтра должен быть положительным");
+        }
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Размер выборки курсора фильтра должен быть положительным");
+        }
+        if (confirmationsPerSecond < 0) {
+            throw new IllegalArgumentException("Бюджет проверок промахов фильтра не может быть отрицательным");
+        }
+
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.fetchSize = fetchSize;
+        this.confirmationsPerSecond = confirmationsPerSecond;
+        this.channel = channel == null || channel.isBlank() ? DEFAULT_CHANNEL : channel.trim();
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.sergeysenin.userservice.config.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "user.export")
+public record UserExportProperties(
+
+        int fetchSize
+) {
+
+    public UserExportProperties(
+
+            @DefaultValue("1000")
+            int fetchSize
+    ) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Размер выборки курсора выгрузки должен быть положительным");
+        }
+        this.fetchSize = fetchSize;
+    }
+}
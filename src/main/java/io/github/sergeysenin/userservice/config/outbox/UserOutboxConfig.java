@@ -0,0 +1,22 @@
+package io.github.sergeysenin.userservice.config.outbox;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@ConditionalOnProperty(prefix = "user.outbox", name = "relay-enabled", havingValue = "true")
+public class UserOutboxConfig {
+
+    /**
+     * Топик создаётся через KafkaAdmin при старте, если его ещё нет; ключ сообщения — id пользователя.
+     */
+    @Bean
+    public NewTopic userEventsTopic(UserOutboxProperties properties) {
+        return TopicBuilder.name(properties.topic())
+                .partitions(properties.partitions())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.sergeysenin.userservice.config.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "user.outbox")
+public record UserOutboxProperties(
+
+        boolean relayEnabled,
+
+        String topic,
+
+        int partitions,
+
+        int batchSize,
+
+        Duration pollInterval,
+
+        Duration sendTimeout
+) {
+
+    public static final String DEFAULT_TOPIC = "user-service.user-events";
+
+    public UserOutboxProperties(
+
+            @DefaultValue("false")
+            boolean relayEnabled,
+
+            @DefaultValue(DEFAULT_TOPIC)
+            String topic,
+
+            @DefaultValue("6")
+            int partitions,
+
+            @DefaultValue("500")
+            int batchSize,
+
+            @DefaultValue("PT1S")
+            Duration pollInterval,
+
+            @DefaultValue("PT30S")
+            Duration sendTimeout
+    ) {
+        if (partitions <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Число партиций и размер пакета outbox должны быть положительными");
+        }
+        if (pollInterval.isZero() || pollInterval.isNegative() || sendTimeout.isZero() || sendTimeout.isNegative()) {
+            throw new IllegalArgumentException("Интервал опроса и таймаут отправки outbox должны быть положительными");
+        }
+
+        this.relayEnabled = relayEnabled;
+        this.topic = topic == null || topic.isBlank() ? DEFAULT_TOPIC : topic.trim();
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.sendTimeout = sendTimeout;
+    }
+}
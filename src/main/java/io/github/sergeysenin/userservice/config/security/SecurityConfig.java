@@ -64,6 +64,8 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        // Top-K горячих ключей раскрывает id самых читаемых пользователей — только администратору.
+                        .requestMatchers("/actuator/hotkeys", "/actuator/hotkeys/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 ->
@@ -58,6 +58,34 @@ public class UserSecurity {
         return false;
     }
 
+    /**
+     * Пакетная проверка: контекст из токена разбирается один раз; доступ есть, только если разрешены все id.
+     */
+    public boolean canAccessUserResources(Collection<Long> userIds, Authentication authentication) {
+        if (userIds == null || userIds.isEmpty()) {
+            log.debug("Отказано в доступе: список userId пуст");
+            return false;
+        }
+
+        ContextResolution resolution = resolveContext(authentication);
+        Optional<UserContext> userContext = resolution.context();
+        if (userContext.isEmpty()) {
+            log.debug("Отказано в доступе: {}", resolution.denialReason());
+            return false;
+        }
+
+        UserContext context = userContext.get();
+        if (context.admin()) {
+            return true;
+        }
+        if (userIds.stream().allMatch(context::isOwner)) {
+            return true;
+        }
+
+        log.debug("Отказано в доступе: пакет содержит чужие userId, идентификатор из токена {}", context.userId());
+        return false;
+    }
+
     public boolean isAdmin(Authentication authentication) {
         return resolveContext(authentication)
                 .context()
@@ -0,0 +1,50 @@
+package io.github.sergeysenin.userservice.controller.actuator;
+
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKey;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hotkeys} — текущий top-K горячих пользователей этого узла по путям чтения,
+ * {@code /actuator/hotkeys/{path}} — по одному пути ({@code profile} или {@code avatar}).
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        Map<String, List<HotKey>> result = new LinkedHashMap<>();
+        for (HotKeyPath path : HotKeyPath.values()) {
+            result.put(path.value(), hotKeyTracker.topK(path));
+        }
+        return result;
+    }
+
+    /**
+     * Неизвестный путь — {@code null}, Actuator отвечает 404.
+     */
+    @ReadOperation
+    public List<HotKey> hotKeys(@Selector String path) {
+        return Arrays.stream(HotKeyPath.values())
+                .filter(candidate -> candidate.value().equals(path))
+                .findFirst()
+                .map(hotKeyTracker::topK)
+                .orElse(null);
+    }
+}
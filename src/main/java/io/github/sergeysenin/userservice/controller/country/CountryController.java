@@ -0,0 +1,49 @@
+package io.github.sergeysenin.userservice.controller.country;
+
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.service.user.country.CountryCatalog;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/countries")
+@RequiredArgsConstructor
+@Tag(
+        name = "Страны",
+        description = "Справочник стран"
+)
+public class CountryController {
+
+    private final CountryRegistry countryRegistry;
+
+    /**
+     * Справочник отдаётся из памяти с сильным ETag; на совпадающий {@code If-None-Match}
+     * Spring отвечает 304 без тела.
+     */
+    @GetMapping
+    @Operation(
+            summary = "Получить справочник стран",
+            description = "Возвращает все страны; поддерживает условные запросы по ETag"
+    )
+    public ResponseEntity<List<CountrySummaryDto>> getCountries() {
+        CountryCatalog catalog = countryRegistry.getCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.countries());
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import java.util.Locale;
+
+/**
+ * Разбор {@code Accept-Encoding} с учётом q-значений: {@code gzip;q=0} — явный отказ от gzip, а {@code *}
+ * разрешает его, только если gzip не перечислен отдельно. Без заголовка тело отдаётся без сжатия.
+ */
+final class AcceptEncoding {
+
+    private static final String GZIP = "gzip";
+    private static final String LEGACY_GZIP = "x-gzip";
+    private static final String ANY = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+
+    private AcceptEncoding() {
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        double anyQuality = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+
+            if (GZIP.equals(coding) || LEGACY_GZIP.equals(coding)) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (ANY.equals(coding)) {
+                anyQuality = quality;
+            }
+        }
+        return (gzipQuality != null ? gzipQuality : anyQuality) > 0;
+    }
+
+    // Некорректное q-значение трактуется как отказ: сжимать тело без уверенности в поддержке нельзя.
+    private static double quality(String[] parts) {
+        for (int index = 1; index < parts.length; index++) {
+            String parameter = parts[index].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
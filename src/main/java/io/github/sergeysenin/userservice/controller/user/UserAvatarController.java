@@ -1,32 +1,45 @@
 package io.github.sergeysenin.userservice.controller.user;
 
+import io.github.sergeysenin.userservice.dto.avatar.AvatarUploadUrlResponse;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarVariant;
+import io.github.sergeysenin.userservice.dto.avatar.CompleteAvatarUploadRequest;
+import io.github.sergeysenin.userservice.dto.avatar.CreateAvatarUploadUrlRequest;
 import io.github.sergeysenin.userservice.dto.avatar.DeleteAvatarResponse;
 import io.github.sergeysenin.userservice.dto.avatar.GetAvatarResponse;
 import io.github.sergeysenin.userservice.dto.avatar.UploadAvatarResponse;
 import io.github.sergeysenin.userservice.service.avatar.AvatarService;
+import io.github.sergeysenin.userservice.service.avatar.negotiation.AvatarFormatNegotiator;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+
 @Slf4j
 @Validated
 @RestController
@@ -39,6 +52,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class UserAvatarController {
 
     private final AvatarService avatarService;
+    private final AvatarFormatNegotiator avatarFormatNegotiator;
 
     @PostMapping("/{userId}/avatar")
     @ResponseStatus(HttpStatus.OK)
@@ -61,21 +75,107 @@ public class UserAvatarController {
         return avatarService.uploadAvatar(userId, file);
     }
 
-    @GetMapping("/{userId}/avatar")
+    @PostMapping("/{userId}/avatar/upload-url")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Получить ссылку на прямую загрузку аватара",
+            description = "Возвращает presigned PUT во временный префикс S3 с фиксированными MIME-типом и размером"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
+    public AvatarUploadUrlResponse createUploadUrl(
+            @PathVariable("userId")
+            @NotNull
+            @Positive
+            Long userId,
+
+            @Valid
+            @RequestBody
+            CreateAvatarUploadUrlRequest request
+    ) {
+        log.info("Запрос ссылки на загрузку аватара: userId={}, contentType={}, contentLength={}",
+                userId, request.contentType(), request.contentLength());
+        return avatarService.createUploadUrl(userId, request);
+    }
+
+    @PostMapping("/{userId}/avatar/complete")
     @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Завершить прямую загрузку аватара",
+            description = "Проверяет загруженный в S3 файл, формирует версии аватара и привязывает их к пользователю"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
+    public UploadAvatarResponse completeUpload(
+            @PathVariable("userId")
+            @NotNull
+            @Positive
+            Long userId,
+
+            @Valid
+            @RequestBody
+            CompleteAvatarUploadRequest request
+    ) {
+        log.info("Запрос на завершение загрузки аватара: userId={}, uploadId={}", userId, request.uploadId());
+        return avatarService.completeUpload(userId, request);
+    }
+
+    @GetMapping("/{userId}/avatar")
     @Operation(
             summary = "Получить ссылки на аватар",
-            description = "Возвращает предварительно подписанные URL для всех доступных версий аватара"
+            description = "Возвращает подписанные URL оригинала и карту размер → URL для srcset; " +
+                    "при Accept: image/webp или format=webp уменьшенные версии отдаются в WebP"
     )
     @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
-    public GetAvatarResponse getAvatar(
+    public ResponseEntity<GetAvatarResponse> getAvatar(
             @PathVariable("userId")
             @NotNull
             @Positive
-            Long userId
+            Long userId,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+            String accept,
+
+            @RequestParam(value = "format", required = false)
+            String format
+    ) {
+        log.info("Запрос на получение аватара: userId={}, format={}", userId, format);
+        boolean preferWebp = avatarFormatNegotiator.prefersWebp(accept, format);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(avatarService.getAvatar(userId, preferWebp));
+    }
+
+    @GetMapping("/{userId}/avatar/{variant}")
+    @Operation(
+            summary = "Перейти к версии аватара",
+            description = "Перенаправляет на подписанный URL оригинала (original) или наименьшей версии " +
+                    "не меньше указанного размера в пикселях (устаревшие thumbnail и profile — 170 и 1080); " +
+                    "формат выбирается по Accept или параметру format"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
+    public ResponseEntity<Void> redirectToAvatarVariant(
+            @PathVariable("userId")
+            @NotNull
+            @Positive
+            Long userId,
+
+            @PathVariable("variant")
+            String variant,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+            String accept,
+
+            @RequestParam(value = "format", required = false)
+            String format
     ) {
-        log.info("Запрос на получение аватара: userId={}", userId);
-        return avatarService.getAvatar(userId);
+        log.info("Запрос версии аватара: userId={}, variant={}, format={}", userId, variant, format);
+        boolean preferWebp = avatarFormatNegotiator.prefersWebp(accept, format);
+        String url = avatarService.getAvatarVariantUrl(userId, AvatarVariant.fromValue(variant), preferWebp);
+        // Подписанная ссылка ограничена по времени, поэтому сам редирект не кешируется.
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(url))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noStore())
+                .build();
     }
 
     @DeleteMapping("/{userId}/avatar")
@@ -0,0 +1,93 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import io.github.sergeysenin.userservice.dto.user.BatchGetUsersRequest;
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.mapper.user.UserMapper;
+import io.github.sergeysenin.userservice.service.user.UserBatch;
+import io.github.sergeysenin.userservice.service.user.UserService;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Пакетное чтение вынесено в отдельный контроллер: путь {@code /users:batchGet} не складывается
+ * с префиксом {@code /users} из {@link UserController} без лишнего слеша.
+ */
+@Slf4j
+@Validated
+@RestController
+@RequiredArgsConstructor
+@Tag(
+        name = "Пользователи",
+        description = "CRUD-операции с профилем пользователя"
+)
+public class UserBatchController {
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/users:batchGet", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Получить профили пакетом",
+            description = "Возвращает найденные профили (users) и отсутствующие идентификаторы " +
+                    "(missing) одним запросом к БД; не более 500 id"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResources(#request.ids(), authentication)")
+    public ResponseEntity<StreamingResponseBody> batchGetUsers(
+            @Valid
+            @RequestBody
+            BatchGetUsersRequest request
+    ) {
+        log.info("Запрос на пакетное получение пользователей: count={}", request.ids().size());
+        UserBatch batch = userService.getUsersByIds(request.ids());
+
+        StreamingResponseBody body = outputStream -> writeBatch(batch, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Профили преобразуются и пишутся в ответ по одному, без промежуточного списка DTO и строки JSON.
+     */
+    private void writeBatch(UserBatch batch, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("users");
+            for (User user : batch.found()) {
+                generator.writeObject(userMapper.toResponse(user));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("missing");
+            for (Long userId : batch.missing()) {
+                generator.writeNumber(userId);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -2,31 +2,54 @@ package io.github.sergeysenin.userservice.controller.user;
 
 import io.github.sergeysenin.userservice.dto.user.CreateUserRequest;
 import io.github.sergeysenin.userservice.dto.user.UpdateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UserPageResponse;
 import io.github.sergeysenin.userservice.dto.user.UserResponse;
 import io.github.sergeysenin.userservice.mapper.user.UserMapper;
+import io.github.sergeysenin.userservice.repository.user.UserProfileValidator;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListFilter;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+import io.github.sergeysenin.userservice.service.user.UserPage;
 import io.github.sergeysenin.userservice.service.user.UserService;
+import io.github.sergeysenin.userservice.service.user.cache.SerializedUserProfile;
+import io.github.sergeysenin.userservice.service.user.cache.UserProfileJsonCache;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
 
 @Slf4j
 @Validated
@@ -39,8 +62,14 @@ import org.springframework.web.bind.annotation.RestController;
 )
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String GZIP = "gzip";
+    // Профиль персональный: общие кеши его не хранят, клиент перепроверяет копию условным запросом.
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
     private final UserMapper userMapper;
+    private final UserProfileJsonCache userProfileJsonCache;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -80,20 +109,170 @@ public class UserController {
         return userMapper.toResponse(userService.updateUser(userId, request));
     }
 
+    @PatchMapping("/{userId}")
+    @Operation(
+            summary = "Частично обновить профиль пользователя",
+            description = "Обновляет только переданные поля одним запросом; If-Match с ETag включает " +
+                    "оптимистическую блокировку (412 при несовпадении версии)"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable("userId")
+            @NotNull
+            @Positive
+            Long userId,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            String ifMatch,
+
+            @Valid
+            @RequestBody
+            UpdateUserRequest request
+    ) {
+        log.info("Запрос на частичное обновление пользователя: id={}, ifMatch={}", userId, ifMatch);
+        UserResponse response = userService.patchUser(userId, request, UserVersionETag.parseIfMatch(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(UserVersionETag.of(response.version()))
+                .body(response);
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Получить список пользователей",
+            description = "Фильтры по стране, активности и городу; keyset-пагинация по непрозрачному курсору"
+    )
+    @PreAuthorize("@userSecurity.isAdmin(authentication)")
+    public UserPageResponse listUsers(
+            @RequestParam(value = "countryId", required = false)
+            @Positive
+            Long countryId,
+
+            @RequestParam(value = "active", required = false)
+            Boolean active,
+
+            @RequestParam(value = "city", required = false)
+            @Size(max = 64)
+            String city,
+
+            @RequestParam(value = "sort", defaultValue = "id")
+            String sort,
+
+            @RequestParam(value = "cursor", required = false)
+            String cursor,
+
+            @RequestParam(value = "limit", defaultValue = "20")
+            @Min(1)
+            @Max(MAX_PAGE_SIZE)
+            int limit
+    ) {
+        log.info("Запрос списка пользователей: countryId={}, active={}, city={}, sort={}, limit={}",
+                countryId, active, city, sort, limit);
+        var filter = new UserListFilter(countryId, active, city);
+        UserPage page = userService.listUsers(filter, UserListSort.fromValue(sort), cursor, limit);
+
+        return new UserPageResponse(
+                page.users().stream().map(userMapper::toResponse).toList(),
+                page.nextCursor()
+        );
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Найти пользователей",
+            description = "Полнотекстовый поиск по логину, городу и разделу 'О себе', префиксный и нечёткий — " +
+                    "по логину и email; результаты упорядочены по релевантности"
+    )
+    @PreAuthorize("@userSecurity.isAdmin(authentication)")
+    public UserPageResponse searchUsers(
+            @RequestParam("q")
+            @NotBlank
+            @Size(min = 2, max = 100)
+            String query,
+
+            @RequestParam(value = "cursor", required = false)
+            String cursor,
+
+            @RequestParam(value = "limit", defaultValue = "20")
+            @Min(1)
+            @Max(MAX_PAGE_SIZE)
+            int limit
+    ) {
+        log.info("Поиск пользователей: q={}, limit={}", query, limit);
+        UserPage page = userService.searchUsers(query, cursor, limit);
+
+        return new UserPageResponse(
+                page.users().stream().map(userMapper::toResponse).toList(),
+                page.nextCursor()
+        );
+    }
+
     @GetMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
             summary = "Получить профиль пользователя",
-            description = "Возвращает профиль по идентификатору"
+            description = "Возвращает профиль по идентификатору с ETag и Last-Modified; " +
+                    "на совпадающие If-None-Match или If-Modified-Since отвечает 304 без загрузки профиля"
     )
     @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
-    public UserResponse getUserById(
+    @ApiResponse(
+            responseCode = "200",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = UserResponse.class)
+            )
+    )
+    public ResponseEntity<byte[]> getUserById(
             @PathVariable("userId")
             @NotNull
             @Positive
-            Long userId
+            Long userId,
+            WebRequest webRequest
     ) {
         log.info("Запрос на получение пользователя: id={}", userId);
-        return userMapper.toResponse(userService.getUserByIdOrThrow(userId));
+
+        if (isConditional(webRequest)) {
+            UserProfileValidator validator = userService.getUserValidatorOrThrow(userId);
+            String eTag = UserVersionETag.matchIfNoneMatch(
+                    webRequest.getHeader(HttpHeaders.IF_NONE_MATCH), validator.version()
+            );
+            if (webRequest.checkNotModified(eTag, lastModified(validator))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(PROFILE_CACHE_CONTROL)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+
+        // Тело берётся готовыми байтами из кеша по id и версии и пишется в ответ без Jackson.
+        UserResponse response = userService.getUserResponseByIdOrThrow(userId);
+        SerializedUserProfile serialized = userProfileJsonCache.get(response);
+        boolean gzip = serialized.hasGzip() && acceptsGzip(webRequest);
+
+        var builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(UserVersionETag.of(response.version(), gzip))
+                .lastModified(lastModified(UserProfileValidator.of(response)))
+                .cacheControl(PROFILE_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return builder.body(gzip ? serialized.gzip() : serialized.json());
+    }
+
+    private static boolean acceptsGzip(WebRequest webRequest) {
+        return AcceptEncoding.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null ||
+                webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static long lastModified(UserProfileValidator validator) {
+        return validator.updatedAt() == null ? -1 : validator.updatedAt().toInstant().toEpochMilli();
     }
 }
@@ -0,0 +1,76 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import io.github.sergeysenin.userservice.service.user.export.UserExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Tag(
+        name = "Пользователи",
+        description = "CRUD-операции с профилем пользователя"
+)
+public class UserExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserExportService userExportService;
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Выгрузить всех пользователей в CSV",
+            description = "Потоковая выгрузка; при Accept-Encoding: gzip ответ сжимается на лету"
+    )
+    @PreAuthorize("@userSecurity.isAdmin(authentication)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding
+    ) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        log.info("Запрос на выгрузку пользователей в CSV: gzip={}", gzip);
+
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                userExportService.exportCsv(outputStream);
+                return;
+            }
+            var gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            userExportService.exportCsv(gzipStream);
+            gzipStream.finish();
+        };
+
+        var response = ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users.csv")
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import io.github.sergeysenin.userservice.dto.user.UserImportReport;
+import io.github.sergeysenin.userservice.service.user.bulkimport.UserImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Tag(
+        name = "Пользователи",
+        description = "CRUD-операции с профилем пользователя"
+)
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * Тело запроса читается как поток, без multipart и без ограничения {@code max-request-size}.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Импортировать пользователей из CSV",
+            description = "Создаёт пользователей пакетами; ошибки и конфликты уникальности возвращаются по строкам"
+    )
+    @PreAuthorize("@userSecurity.isAdmin(authentication)")
+    public UserImportReport importUsers(InputStream body) {
+        log.info("Запрос на импорт пользователей из CSV");
+        return userImportService.importCsv(body);
+    }
+}
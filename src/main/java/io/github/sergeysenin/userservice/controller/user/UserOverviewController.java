@@ -0,0 +1,54 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import io.github.sergeysenin.userservice.dto.overview.UserOverviewResponse;
+import io.github.sergeysenin.userservice.service.user.overview.UserOverviewService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Tag(
+        name = "Пользователи",
+        description = "CRUD-операции с профилем пользователя"
+)
+public class UserOverviewController {
+
+    private final UserOverviewService userOverviewService;
+
+    @GetMapping("/{userId}/overview")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Получить сводку профиля",
+            description = "Профиль, проекты из project-service и счёт из payment-service одним запросом; " +
+                    "части, не полученные вовремя, равны null и перечислены в unavailable"
+    )
+    @PreAuthorize("@userSecurity.canAccessUserResource(#userId, authentication)")
+    public UserOverviewResponse getUserOverview(
+            @PathVariable("userId")
+            @NotNull
+            @Positive
+            Long userId
+    ) {
+        log.info("Запрос сводки профиля: id={}", userId);
+        return userOverviewService.getOverview(userId);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+
+/**
+ * Сильный ETag профиля — версия в кавычках, например {@code "7"}. Сжатое тело той же версии — отдельное
+ * представление, поэтому получает свой тег {@code "7-gz"}: разделяемые кеши не подменят одно другим.
+ */
+final class UserVersionETag {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String GZIP_SUFFIX = "-gz";
+
+    private UserVersionETag() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(long version, boolean gzip) {
+        return gzip ? "\"" + version + GZIP_SUFFIX + "\"" : of(version);
+    }
+
+    /**
+     * Тег текущей версии, который клиент прислал в {@code If-None-Match}: сжатый или обычный. Без совпадения —
+     * обычный тег, и {@code checkNotModified} ответит полным телом.
+     */
+    static String matchIfNoneMatch(String ifNoneMatch, long version) {
+        String gzipTag = of(version, true);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith(WEAK_PREFIX)) {
+                    tag = tag.substring(WEAK_PREFIX.length());
+                }
+                if (gzipTag.equals(tag)) {
+                    return gzipTag;
+                }
+            }
+        }
+        return of(version);
+    }
+
+    /**
+     * Версия из {@code If-Match} или {@code null}, если заголовок не передан или равен {@code *}.
+     * Слабые ETag не принимаются: If-Match требует сильного сравнения. Тег сжатого тела указывает на ту же версию.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new DataValidationException("If-Match должен содержать сильный ETag профиля: " + ifMatch);
+        }
+
+        String version = value.substring(1, value.length() - 1);
+        if (version.endsWith(GZIP_SUFFIX)) {
+            version = version.substring(0, version.length() - GZIP_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException exception) {
+            throw new DataValidationException("If-Match должен содержать сильный ETag профиля: " + ifMatch, exception);
+        }
+    }
+}
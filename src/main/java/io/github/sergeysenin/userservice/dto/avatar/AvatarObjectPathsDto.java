@@ -2,15 +2,17 @@ package io.github.sergeysenin.userservice.dto.avatar;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.SortedMap;
+
 public record AvatarObjectPathsDto(
 
         @JsonProperty("original")
         String originalPath,
 
-        @JsonProperty("thumbnail")
-        String thumbnailPath,
+        @JsonProperty("renditions")
+        SortedMap<Integer, String> renditionPaths,
 
-        @JsonProperty("profile")
-        String profilePath
+        @JsonProperty("webpRenditions")
+        SortedMap<Integer, String> webpRenditionPaths
 ) {
 }
@@ -0,0 +1,13 @@
+package io.github.sergeysenin.userservice.dto.avatar;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record AvatarPlaceholderDto(
+
+        @JsonProperty("blurHash")
+        String blurHash,
+
+        @JsonProperty("dominantColor")
+        String dominantColor
+) {
+}
@@ -0,0 +1,28 @@
+package io.github.sergeysenin.userservice.dto.avatar;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record AvatarUploadUrlResponse(
+
+        @JsonProperty("userId")
+        Long userId,
+
+        @JsonProperty("uploadId")
+        String uploadId,
+
+        @JsonProperty("method")
+        String method,
+
+        @JsonProperty("url")
+        String url,
+
+        @JsonProperty("headers")
+        Map<String, String> headers,
+
+        @JsonProperty("expiresAt")
+        Instant expiresAt
+) {
+}
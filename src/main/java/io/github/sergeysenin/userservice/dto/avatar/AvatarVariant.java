@@ -0,0 +1,47 @@
+package io.github.sergeysenin.userservice.dto.avatar;
+
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Запрошенная версия аватара: {@code original} или желаемый размер большей стороны в пикселях.
+ * Устаревшие имена {@code thumbnail} и {@code profile} из прежней схемы с двумя версиями принимаются
+ * как их размеры (170 и 1080 пикселей), чтобы старые ссылки клиентов не получали 400.
+ */
+public record AvatarVariant(Integer maxSide) {
+
+    public static final String ORIGINAL = "original";
+
+    private static final Map<String, Integer> LEGACY_MAX_SIDES = Map.of(
+            "thumbnail", 170,
+            "profile", 1080
+    );
+
+    public static AvatarVariant fromValue(String value) {
+        String normalizedValue = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+
+        if (ORIGINAL.equals(normalizedValue)) {
+            return new AvatarVariant(null);
+        }
+        if (LEGACY_MAX_SIDES.containsKey(normalizedValue)) {
+            return new AvatarVariant(LEGACY_MAX_SIDES.get(normalizedValue));
+        }
+
+        try {
+            int maxSide = Integer.parseInt(normalizedValue);
+            if (maxSide > 0) {
+                return new AvatarVariant(maxSide);
+            }
+        } catch (NumberFormatException exception) {
+            throw new DataValidationException("Неизвестная версия аватара: " + value, exception);
+        }
+
+        throw new DataValidationException("Неизвестная версия аватара: " + value);
+    }
+
+    public boolean isOriginal() {
+        return maxSide == null;
+    }
+}
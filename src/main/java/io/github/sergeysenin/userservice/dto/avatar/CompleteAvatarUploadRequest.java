@@ -0,0 +1,15 @@
+package io.github.sergeysenin.userservice.dto.avatar;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CompleteAvatarUploadRequest(
+
+        @JsonProperty("uploadId")
+        @NotBlank(message = "Идентификатор загрузки обязателен")
+        @Size(max = 36, message = "Идентификатор загрузки должен содержать не более 36 символов")
+        String uploadId
+) {
+}
@@ -0,0 +1,22 @@
+package io.github.sergeysenin.userservice.dto.avatar;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record CreateAvatarUploadUrlRequest(
+
+        @JsonProperty("contentType")
+        @NotBlank(message = "MIME-тип файла обязателен")
+        @Size(max = 128, message = "MIME-тип должен содержать не более 128 символов")
+        String contentType,
+
+        @JsonProperty("contentLength")
+        @NotNull(message = "Размер файла обязателен")
+        @Positive(message = "Размер файла должен быть положительным")
+        Long contentLength
+) {
+}
@@ -0,0 +1,15 @@
+package io.github.sergeysenin.userservice.dto.overview;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+public record PaymentAccountDto(
+
+        @JsonProperty("balance")
+        BigDecimal balance,
+
+        @JsonProperty("currency")
+        String currency
+) {
+}
@@ -0,0 +1,16 @@
+package io.github.sergeysenin.userservice.dto.overview;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record ProjectSummaryDto(
+
+        @JsonProperty("id")
+        Long id,
+
+        @JsonProperty("title")
+        String title,
+
+        @JsonProperty("status")
+        String status
+) {
+}
@@ -0,0 +1,27 @@
+package io.github.sergeysenin.userservice.dto.overview;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Сводка для страницы профиля. Часть, которую внешний сервис не вернул вовремя, равна {@code null}
+ * и перечислена в {@code unavailable}; профиль присутствует всегда.
+ */
+public record UserOverviewResponse(
+
+        @JsonProperty("user")
+        UserResponse user,
+
+        @JsonProperty("projects")
+        List<ProjectSummaryDto> projects,
+
+        @JsonProperty("account")
+        PaymentAccountDto account,
+
+        @JsonProperty("unavailable")
+        List<String> unavailable
+) {
+}
@@ -0,0 +1,22 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchGetUsersRequest(
+
+        @JsonProperty("ids")
+        @NotEmpty(message = "Список идентификаторов не может быть пустым")
+        @Size(max = BatchGetUsersRequest.MAX_IDS, message = "Можно запросить не более 500 пользователей за раз")
+        List<@NotNull(message = "Идентификатор не может быть null")
+                @Positive(message = "Идентификатор должен быть положительным") Long> ids
+) {
+
+    public static final int MAX_IDS = 500;
+}
@@ -0,0 +1,38 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Изменение атрибутов пользователя из HR-системы. {@code null} в поле означает «без изменений».
+ */
+public record UserAttributeChange(
+
+        @JsonProperty("userId")
+        Long userId,
+
+        @JsonProperty("active")
+        Boolean active,
+
+        @JsonProperty("city")
+        String city,
+
+        @JsonProperty("countryId")
+        Long countryId
+) {
+
+    /**
+     * Более позднее изменение того же пользователя перекрывает только переданные в нём поля.
+     */
+    public UserAttributeChange mergeWith(UserAttributeChange later) {
+        return new UserAttributeChange(
+                userId,
+                later.active() != null ? later.active() : active,
+                later.city() != null ? later.city() : city,
+                later.countryId() != null ? later.countryId() : countryId
+        );
+    }
+
+    public boolean isEmpty() {
+        return active == null && city == null && countryId == null;
+    }
+}
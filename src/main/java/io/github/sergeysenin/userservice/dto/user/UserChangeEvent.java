@@ -0,0 +1,24 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Сообщение в топик событий пользователя: тип события и полный профиль после изменения.
+ */
+public record UserChangeEvent(
+
+        @JsonProperty("eventType")
+        String eventType,
+
+        @JsonProperty("userId")
+        Long userId,
+
+        @JsonProperty("occurredAt")
+        OffsetDateTime occurredAt,
+
+        @JsonProperty("user")
+        UserResponse user
+) {
+}
@@ -0,0 +1,16 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record UserImportErrorDto(
+
+        @JsonProperty("row")
+        long row,
+
+        @JsonProperty("field")
+        String field,
+
+        @JsonProperty("message")
+        String message
+) {
+}
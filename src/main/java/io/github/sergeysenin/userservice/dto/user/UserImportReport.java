@@ -0,0 +1,24 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record UserImportReport(
+
+        @JsonProperty("totalRows")
+        long totalRows,
+
+        @JsonProperty("importedRows")
+        long importedRows,
+
+        @JsonProperty("failedRows")
+        long failedRows,
+
+        @JsonProperty("errors")
+        List<UserImportErrorDto> errors,
+
+        @JsonProperty("errorsTruncated")
+        boolean errorsTruncated
+) {
+}
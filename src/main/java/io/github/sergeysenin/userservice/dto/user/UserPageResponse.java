@@ -0,0 +1,15 @@
+package io.github.sergeysenin.userservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record UserPageResponse(
+
+        @JsonProperty("items")
+        List<UserResponse> items,
+
+        @JsonProperty("nextCursor")
+        String nextCursor
+) {
+}
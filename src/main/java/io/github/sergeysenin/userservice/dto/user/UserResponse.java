@@ -36,10 +36,19 @@ public record UserResponse(
         @JsonProperty("hasAvatar")
         boolean hasAvatar,
 
+        @JsonProperty("avatarBlurHash")
+        String avatarBlurHash,
+
+        @JsonProperty("avatarDominantColor")
+        String avatarDominantColor,
+
         @JsonProperty("createdAt")
         OffsetDateTime createdAt,
 
         @JsonProperty("updatedAt")
-        OffsetDateTime updatedAt
+        OffsetDateTime updatedAt,
+
+        @JsonProperty("version")
+        long version
 ) {
 }
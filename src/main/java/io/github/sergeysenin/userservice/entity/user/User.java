@@ -13,7 +13,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -35,9 +37,17 @@ import java.time.OffsetDateTime;
 @Setter(AccessLevel.PROTECTED)
 public class User {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Пул из {@value #ID_ALLOCATION_SIZE} идентификаторов на одно обращение к последовательности: в отличие от
+     * IDENTITY id известен до INSERT, поэтому Hibernate может группировать вставки в JDBC-пакеты.
+     * Шаг {@code user_id_seq} в БД обязан совпадать с {@code allocationSize}.
+     */
     @Id
     @Setter(AccessLevel.NONE)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq")
+    @SequenceGenerator(name = "user_id_seq", sequenceName = "user_id_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "username", length = 64, nullable = false, unique = true)
@@ -72,16 +82,37 @@ public class User {
                     column = @Column(name = "avatar_original_path", length = 256)
             ),
             @AttributeOverride(
-                    name = "thumbnailPath",
-                    column = @Column(name = "avatar_thumbnail_path", length = 256)
+                    name = "renditionSizes",
+                    column = @Column(name = "avatar_rendition_sizes")
+            ),
+            @AttributeOverride(
+                    name = "renditionFormat",
+                    column = @Column(name = "avatar_rendition_format", length = 8)
             ),
             @AttributeOverride(
-                    name = "profilePath",
-                    column = @Column(name = "avatar_profile_path", length = 256)
+                    name = "webpRenditions",
+                    column = @Column(name = "avatar_webp_renditions")
+            ),
+            @AttributeOverride(
+                    name = "legacyRenditions",
+                    column = @Column(name = "avatar_legacy_renditions")
+            ),
+            @AttributeOverride(
+                    name = "blurHash",
+                    column = @Column(name = "avatar_blur_hash", length = 64)
+            ),
+            @AttributeOverride(
+                    name = "dominantColor",
+                    column = @Column(name = "avatar_dominant_color", length = 7)
             )
     })
     private UserProfileAvatar userProfileAvatar;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private OffsetDateTime createdAt;
@@ -2,6 +2,9 @@ package io.github.sergeysenin.userservice.entity.user;
 
 import jakarta.persistence.Embeddable;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +14,7 @@ import lombok.Setter;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.List;
 
 @Embeddable
 @NoArgsConstructor
@@ -24,6 +28,16 @@ public class UserProfileAvatar implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private String originalPath;
-    private String thumbnailPath;
-    private String profilePath;
+
+    // Ключи версий выводятся из каталога оригинала: {каталог}/{размер}.{формат}.
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<Integer> renditionSizes;
+
+    private String renditionFormat;
+    private Boolean webpRenditions;
+
+    // Аватар из прежней раскладки: версии называются thumbnail/profile по возрастанию размера.
+    private Boolean legacyRenditions;
+    private String blurHash;
+    private String dominantColor;
 }
@@ -25,8 +25,11 @@ public enum ErrorCode {
     // → AvatarNotFoundException
     AVATAR_NOT_FOUND("USR-2003", HttpStatus.NOT_FOUND, "Аватар не найден"),
 
-    // → org.hibernate.exception.ConstraintViolationException
+    // → UserAlreadyExistsException, org.hibernate.exception.ConstraintViolationException,
+    //   DataIntegrityViolationException
     CONSTRAINT_VIOLATION("USR-3000", HttpStatus.CONFLICT, "Нарушено ограничение целостности данных"),
+    // → UserVersionConflictException, OptimisticLockingFailureException
+    VERSION_CONFLICT("USR-3001", HttpStatus.PRECONDITION_FAILED, "Профиль изменён другим запросом"),
 
     // → AuthenticationEntryPoint
     UNAUTHORIZED("USR-4000", HttpStatus.UNAUTHORIZED, "Требуется аутентификация"),
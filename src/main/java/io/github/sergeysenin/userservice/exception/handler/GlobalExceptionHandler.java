@@ -10,6 +10,8 @@ import jakarta.validation.ConstraintViolationException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
@@ -66,6 +68,18 @@ public class GlobalExceptionHandler {
         return buildResponse(ErrorCode.CONSTRAINT_VIOLATION, null, details.isEmpty() ? null : details);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
+        log.warn("Нарушение ограничений БД: message={}", exception.getMostSpecificCause().getMessage());
+        return buildResponse(ErrorCode.CONSTRAINT_VIOLATION, null, null);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        log.warn("Конфликт версий при сохранении: message={}", exception.getMessage());
+        return buildResponse(ErrorCode.VERSION_CONFLICT, null, null);
+    }
+
     @ExceptionHandler(BindException.class)
     public ResponseEntity<ErrorResponse> handleBindException(BindException exception) {
         Map<String, String> details = extractBindingResultDetails(exception.getBindingResult());
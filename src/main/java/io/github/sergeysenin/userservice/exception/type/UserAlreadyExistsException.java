@@ -0,0 +1,29 @@
+package io.github.sergeysenin.userservice.exception.type;
+
+import io.github.sergeysenin.userservice.exception.code.ErrorCode;
+import io.github.sergeysenin.userservice.exception.type.base.BaseServiceException;
+
+import java.util.Map;
+
+public class UserAlreadyExistsException extends BaseServiceException {
+
+    public UserAlreadyExistsException() {
+        super(ErrorCode.CONSTRAINT_VIOLATION);
+    }
+
+    public UserAlreadyExistsException(String message) {
+        super(ErrorCode.CONSTRAINT_VIOLATION, message);
+    }
+
+    public UserAlreadyExistsException(String message, Map<String, String> details) {
+        super(ErrorCode.CONSTRAINT_VIOLATION, message, details);
+    }
+
+    public UserAlreadyExistsException(String message, Throwable cause) {
+        super(ErrorCode.CONSTRAINT_VIOLATION, message, cause);
+    }
+
+    public UserAlreadyExistsException(String message, Map<String, String> details, Throwable cause) {
+        super(ErrorCode.CONSTRAINT_VIOLATION, message, details, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.sergeysenin.userservice.exception.type;
+
+import io.github.sergeysenin.userservice.exception.code.ErrorCode;
+import io.github.sergeysenin.userservice.exception.type.base.BaseServiceException;
+
+import java.util.Map;
+
+public class UserVersionConflictException extends BaseServiceException {
+
+    public UserVersionConflictException() {
+        super(ErrorCode.VERSION_CONFLICT);
+    }
+
+    public UserVersionConflictException(String message) {
+        super(ErrorCode.VERSION_CONFLICT, message);
+    }
+
+    public UserVersionConflictException(String message, Map<String, String> details) {
+        super(ErrorCode.VERSION_CONFLICT, message, details);
+    }
+
+    public UserVersionConflictException(String message, Throwable cause) {
+        super(ErrorCode.VERSION_CONFLICT, message, cause);
+    }
+
+    public UserVersionConflictException(String message, Map<String, String> details, Throwable cause) {
+        super(ErrorCode.VERSION_CONFLICT, message, details, cause);
+    }
+}
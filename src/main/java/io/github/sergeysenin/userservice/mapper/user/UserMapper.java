@@ -1,18 +1,22 @@
 package io.github.sergeysenin.userservice.mapper.user;
 
-import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
 import io.github.sergeysenin.userservice.dto.user.UserResponse;
 import io.github.sergeysenin.userservice.entity.user.User;
-import io.github.sergeysenin.userservice.entity.user.country.Country;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", unmappedTargetPolicy = org.mapstruct.ReportingPolicy.IGNORE)
+@Mapper(
+        componentModel = "spring",
+        uses = CountryRegistry.class,
+        unmappedTargetPolicy = org.mapstruct.ReportingPolicy.IGNORE
+)
 public interface UserMapper {
 
     @Mapping(target = "hasAvatar", expression = "java(user.hasAvatar())")
+    @Mapping(target = "country", source = "country.id")
+    @Mapping(target = "avatarBlurHash", source = "userProfileAvatar.blurHash")
+    @Mapping(target = "avatarDominantColor", source = "userProfileAvatar.dominantColor")
     UserResponse toResponse(User user);
-
-    CountrySummaryDto toCountrySummary(Country country);
 }
@@ -0,0 +1,55 @@
+package io.github.sergeysenin.userservice.mapper.user;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+/**
+ * JDBC-аналог {@link UserMapper#toResponse}: строка {@code users} сразу превращается в {@link UserResponse}
+ * без сущности и persistence context, страна берётся из справочника в памяти.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserResponseRowMapper implements RowMapper<UserResponse> {
+
+    /**
+     * Колонки, которые ожидает маппер; используется в {@code SELECT} и {@code RETURNING}.
+     */
+    public static final String COLUMNS = "id, username, email, phone, active, about_me, country_id, city, " +
+            "experience, avatar_original_path, avatar_blur_hash, avatar_dominant_color, created_at, updated_at, " +
+            "version";
+
+    private final CountryRegistry countryRegistry;
+
+    @Override
+    public UserResponse mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        short experienceValue = resultSet.getShort("experience");
+        Short experience = resultSet.wasNull() ? null : experienceValue;
+
+        return new UserResponse(
+                resultSet.getLong("id"),
+                resultSet.getString("username"),
+                resultSet.getString("email"),
+                resultSet.getString("phone"),
+                resultSet.getBoolean("active"),
+                resultSet.getString("about_me"),
+                countryRegistry.toCountrySummary(resultSet.getLong("country_id")),
+                resultSet.getString("city"),
+                experience,
+                resultSet.getString("avatar_original_path") != null,
+                resultSet.getString("avatar_blur_hash"),
+                resultSet.getString("avatar_dominant_color"),
+                resultSet.getObject("created_at", OffsetDateTime.class),
+                resultSet.getObject("updated_at", OffsetDateTime.class),
+                resultSet.getLong("version")
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.dto.user.UserAttributeChange;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.mapper.user.UserResponseRowMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Пакетное обновление атрибутов из HR-системы одним {@code UPDATE ... FROM unnest(...)}: непереданные поля
+ * сохраняют текущее значение, строки без фактических изменений не трогаются (версия не растёт),
+ * неизвестные id пропускаются. {@code RETURNING} отдаёт только действительно изменённые профили.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserAttributeRepository {
+
+    private static final String UPDATE_SQL = """
+            UPDATE users
+            SET active = COALESCE(c.new_active, active),
+                city = COALESCE(c.new_city, city),
+                country_id = COALESCE(c.new_country_id, country_id),
+                version = version + 1,
+                updated_at = now()
+            FROM unnest(?::bigint[], ?::boolean[], ?::varchar[], ?::bigint[])
+                    AS c(user_id, new_active, new_city, new_country_id)
+            WHERE id = c.user_id
+              AND (active IS DISTINCT FROM COALESCE(c.new_active, active)
+                   OR city IS DISTINCT FROM COALESCE(c.new_city, city)
+                   OR country_id IS DISTINCT FROM COALESCE(c.new_country_id, country_id))
+            RETURNING %s
+            """.formatted(UserResponseRowMapper.COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserResponseRowMapper userResponseRowMapper;
+
+    /**
+     * В пакете должно быть не больше одного изменения на пользователя: иначе строка обновилась бы
+     * по произвольному из них.
+     */
+    public List<UserResponse> updateAll(List<UserAttributeChange> changes) {
+        return jdbcTemplate.query(connection -> prepareUpdate(connection, changes), userResponseRowMapper);
+    }
+
+    private static PreparedStatement prepareUpdate(Connection connection, List<UserAttributeChange> changes)
+            throws SQLException {
+        int size = changes.size();
+        Long[] userIds = new Long[size];
+        Boolean[] active = new Boolean[size];
+        String[] cities = new String[size];
+        Long[] countryIds = new Long[size];
+
+        for (int i = 0; i < size; i++) {
+            UserAttributeChange change = changes.get(i);
+            userIds[i] = change.userId();
+            active[i] = change.active();
+            cities[i] = change.city();
+            countryIds[i] = change.countryId();
+        }
+
+        PreparedStatement statement = connection.prepareStatement(UPDATE_SQL);
+        statement.setArray(1, connection.createArrayOf("bigint", userIds));
+        statement.setArray(2, connection.createArrayOf("boolean", active));
+        statement.setArray(3, connection.createArrayOf("varchar", cities));
+        statement.setArray(4, connection.createArrayOf("bigint", countryIds));
+        return statement;
+    }
+}
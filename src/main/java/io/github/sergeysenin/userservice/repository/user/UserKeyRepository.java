@@ -0,0 +1,98 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.config.existence.UserExistenceFilterProperties;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Ключи пользователя — id и уникальные поля — без остальных колонок профиля: потоковый проход по таблице
+ * для фильтров существования и точечная проверка занятости логина, email и телефона.
+ */
+@Repository
+public class UserKeyRepository {
+
+    private static final String SCAN_SQL = "SELECT id, username, email, phone FROM users";
+
+    private static final String FIND_TAKEN_SQL = """
+            SELECT username = :username AS username_taken,
+                   email = :email AS email_taken,
+                   phone = :phone AS phone_taken
+            FROM users
+            WHERE username = :username OR email = :email OR phone = :phone
+            """;
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserKeyRepository(
+            DataSource dataSource,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            UserExistenceFilterProperties properties
+    ) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(properties.fetchSize());
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Серверный курсор, как у выгрузки CSV: в памяти не больше одной порции строк. Возвращает число строк.
+     */
+    @Transactional(readOnly = true)
+    public long scan(UserKeyConsumer consumer) {
+        long[] rows = new long[1];
+        cursorJdbcTemplate.query(SCAN_SQL, resultSet -> {
+            consumer.accept(
+                    resultSet.getLong("id"),
+                    resultSet.getString("username"),
+                    resultSet.getString("email"),
+                    resultSet.getString("phone")
+            );
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * Один запрос по трём уникальным индексам; конфликтующих строк не больше трёх.
+     */
+    public Set<UserKey> findTaken(String username, String email, String phone) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("username", username)
+                .addValue("email", email)
+                .addValue("phone", phone);
+
+        Set<UserKey> taken = EnumSet.noneOf(UserKey.class);
+        jdbcTemplate.query(FIND_TAKEN_SQL, parameters, resultSet -> {
+            if (resultSet.getBoolean("username_taken")) {
+                taken.add(UserKey.USERNAME);
+            }
+            if (resultSet.getBoolean("email_taken")) {
+                taken.add(UserKey.EMAIL);
+            }
+            if (resultSet.getBoolean("phone_taken")) {
+                taken.add(UserKey.PHONE);
+            }
+        });
+        return taken;
+    }
+
+    public enum UserKey {
+        USERNAME,
+        EMAIL,
+        PHONE
+    }
+
+    @FunctionalInterface
+    public interface UserKeyConsumer {
+
+        void accept(long userId, String username, String email, String phone);
+    }
+}
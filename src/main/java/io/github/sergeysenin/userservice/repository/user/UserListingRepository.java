@@ -0,0 +1,17 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.repository.user.listing.UserKeyset;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListFilter;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+
+import java.util.List;
+
+public interface UserListingRepository {
+
+    /**
+     * Страница пользователей после {@code after} (или с начала, если {@code null}) без OFFSET:
+     * стоимость не зависит от глубины, индекс сразу позиционируется на ключ.
+     */
+    List<User> findPage(UserListFilter filter, UserListSort sort, UserKeyset after, int limit);
+}
@@ -0,0 +1,70 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.repository.user.listing.UserKeyset;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListFilter;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL собирается только из заданных фильтров: условие вида {@code :p IS NULL OR ...} мешает
+ * планировщику выбрать составной индекс. Флаг {@code active} подставляется литералом, чтобы
+ * частичные индексы {@code WHERE active} применялись и в обобщённом плане prepared statement.
+ */
+class UserListingRepositoryImpl implements UserListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<User> findPage(UserListFilter filter, UserListSort sort, UserKeyset after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.countryId() != null) {
+            conditions.add("u.country_id = :countryId");
+            parameters.put("countryId", filter.countryId());
+        }
+        if (filter.active() != null) {
+            conditions.add(filter.active() ? "u.active" : "NOT u.active");
+        }
+        if (filter.city() != null) {
+            conditions.add("u.city = :city");
+            parameters.put("city", filter.city());
+        }
+        if (after != null) {
+            String comparison = sort.descending() ? "<" : ">";
+            if (sort.byCreatedAt()) {
+                conditions.add("(u.created_at, u.id) " + comparison + " (:afterCreatedAt, :afterId)");
+                parameters.put("afterCreatedAt", after.createdAt());
+            } else {
+                conditions.add("u.id " + comparison + " :afterId");
+            }
+            parameters.put("afterId", after.id());
+        }
+
+        String direction = sort.descending() ? " DESC" : " ASC";
+        String orderBy = sort.byCreatedAt() ?
+                "u.created_at" + direction + ", u.id" + direction :
+                "u.id" + direction;
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        Query query = entityManager.createNativeQuery(
+                "SELECT u.* FROM users u" + where + " ORDER BY " + orderBy + " LIMIT :limit",
+                User.class
+        );
+        parameters.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        return query.getResultList();
+    }
+}
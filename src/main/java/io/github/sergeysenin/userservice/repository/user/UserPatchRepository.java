@@ -0,0 +1,86 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.dto.user.UpdateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.mapper.user.UserResponseRowMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Частичное обновление профиля одним {@code UPDATE ... RETURNING}: в {@code SET} попадают только переданные
+ * поля, страна пишется внешним ключом без чтения {@code countries}, версия растёт в том же выражении.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserPatchRepository {
+
+    private static final String UPDATE_SQL = """
+            UPDATE users
+            SET %s, version = version + 1, updated_at = now()
+            WHERE id = :id%s
+            RETURNING %s
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserResponseRowMapper userResponseRowMapper;
+
+    /**
+     * Пустой результат означает, что пользователя нет или его версия не совпала с {@code expectedVersion}.
+     */
+    public Optional<UserResponse> patch(Long userId, UpdateUserRequest request, Long expectedVersion) {
+        var parameters = new MapSqlParameterSource("id", userId);
+        List<String> assignments = new ArrayList<>();
+
+        addAssignment(assignments, parameters, "username", request.username());
+        addAssignment(assignments, parameters, "email", request.email());
+        addAssignment(assignments, parameters, "phone", request.phone());
+        addAssignment(assignments, parameters, "active", request.active());
+        addAssignment(assignments, parameters, "about_me", request.aboutMe());
+        addAssignment(assignments, parameters, "country_id", request.countryId());
+        addAssignment(assignments, parameters, "city", request.city());
+        addAssignment(assignments, parameters, "experience", request.experience());
+
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("Нет полей для частичного обновления");
+        }
+
+        String versionCondition = "";
+        if (expectedVersion != null) {
+            versionCondition = " AND version = :expectedVersion";
+            parameters.addValue("expectedVersion", expectedVersion);
+        }
+
+        String sql = UPDATE_SQL.formatted(
+                String.join(", ", assignments), versionCondition, UserResponseRowMapper.COLUMNS
+        );
+        return jdbcTemplate.query(sql, parameters, userResponseRowMapper).stream().findFirst();
+    }
+
+    public Optional<Long> findVersion(Long userId) {
+        return jdbcTemplate.query(
+                "SELECT version FROM users WHERE id = :id",
+                new MapSqlParameterSource("id", userId),
+                (resultSet, rowNum) -> resultSet.getLong("version")
+        ).stream().findFirst();
+    }
+
+    private static void addAssignment(
+            List<String> assignments,
+            MapSqlParameterSource parameters,
+            String column,
+            Object value
+    ) {
+        if (value != null) {
+            assignments.add(column + " = :" + column);
+            parameters.addValue(column, value);
+        }
+    }
+}
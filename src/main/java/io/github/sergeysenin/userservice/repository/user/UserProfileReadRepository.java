@@ -0,0 +1,49 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.mapper.user.UserResponseRowMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Путь чтения профиля без Hibernate: один {@code SELECT} ровно тех колонок, что нужны {@link UserResponse},
+ * строка сразу превращается в DTO. Нет persistence context, прокси, снимков для dirty checking и flush.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserProfileReadRepository {
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT " + UserResponseRowMapper.COLUMNS + " FROM users WHERE id = :id";
+    private static final String FIND_VALIDATOR_SQL = "SELECT version, updated_at FROM users WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserResponseRowMapper userResponseRowMapper;
+
+    public Optional<UserResponse> findById(Long userId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, new MapSqlParameterSource("id", userId), userResponseRowMapper)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Обслуживается index-only scan по {@code idx_users_id_validator}: строка профиля не читается.
+     */
+    public Optional<UserProfileValidator> findValidator(Long userId) {
+        return jdbcTemplate.query(
+                FIND_VALIDATOR_SQL,
+                new MapSqlParameterSource("id", userId),
+                (resultSet, rowNum) -> new UserProfileValidator(
+                        resultSet.getLong("version"),
+                        resultSet.getObject("updated_at", OffsetDateTime.class)
+                )
+        ).stream().findFirst();
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.sergeysenin.userservice.repository.user;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Валидаторы профиля для условного GET: версия для ETag и время изменения для Last-Modified.
+ */
+public record UserProfileValidator(long version, OffsetDateTime updatedAt) {
+
+    public static UserProfileValidator of(UserResponse response) {
+        return new UserProfileValidator(response.version(), response.updatedAt());
+    }
+}
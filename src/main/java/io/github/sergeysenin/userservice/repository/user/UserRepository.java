@@ -2,15 +2,17 @@ package io.github.sergeysenin.userservice.repository.user;
 
 import io.github.sergeysenin.userservice.entity.user.User;
 
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserListingRepository {
 
-    @EntityGraph(attributePaths = "country")
-    Optional<User> findWithCountryById(Long userId);
+    @Query("select u from User u where u.id in :ids")
+    List<User> findAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package io.github.sergeysenin.userservice.repository.user.listing;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Ключ последней строки предыдущей страницы; {@code createdAt} заполнен только для сортировки по дате.
+ */
+public record UserKeyset(OffsetDateTime createdAt, long id) {
+}
@@ -0,0 +1,7 @@
+package io.github.sergeysenin.userservice.repository.user.listing;
+
+/**
+ * Необязательные фильтры списка пользователей; {@code null} — фильтр не применяется.
+ */
+public record UserListFilter(Long countryId, Boolean active, String city) {
+}
@@ -0,0 +1,48 @@
+package io.github.sergeysenin.userservice.repository.user.listing;
+
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Порядок выдачи списка пользователей. Ключ всегда уникален: {@code id} или пара {@code (created_at, id)}.
+ */
+public enum UserListSort {
+
+    ID_ASC("id", false, false),
+    ID_DESC("-id", false, true),
+    CREATED_AT_ASC("created_at", true, false),
+    CREATED_AT_DESC("-created_at", true, true);
+
+    private final String value;
+    private final boolean byCreatedAt;
+    private final boolean descending;
+
+    UserListSort(String value, boolean byCreatedAt, boolean descending) {
+        this.value = value;
+        this.byCreatedAt = byCreatedAt;
+        this.descending = descending;
+    }
+
+    public static UserListSort fromValue(String value) {
+        String normalizedValue = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(values())
+                .filter(sort -> sort.value.equals(normalizedValue))
+                .findFirst()
+                .orElseThrow(() -> new DataValidationException("Неизвестная сортировка: " + value));
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public boolean byCreatedAt() {
+        return byCreatedAt;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+}
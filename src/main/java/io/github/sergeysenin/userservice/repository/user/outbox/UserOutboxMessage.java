@@ -0,0 +1,4 @@
+package io.github.sergeysenin.userservice.repository.user.outbox;
+
+public record UserOutboxMessage(long id, long userId, String eventType, String payload) {
+}
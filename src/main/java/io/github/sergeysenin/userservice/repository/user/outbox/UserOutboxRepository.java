@@ -0,0 +1,62 @@
+package io.github.sergeysenin.userservice.repository.user.outbox;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserOutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_outbox (user_id, event_type, payload) VALUES (?, ?, ?::jsonb)";
+
+    private static final String TRY_LOCK_RELAY_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('user_outbox_relay'))";
+
+    private static final String FIND_BATCH_SQL = """
+            SELECT id, user_id, event_type, payload::text AS payload
+            FROM user_outbox
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM user_outbox WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<UserOutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (statement, message) -> {
+            statement.setLong(1, message.userId());
+            statement.setString(2, message.eventType());
+            statement.setString(3, message.payload());
+        });
+    }
+
+    /**
+     * Блокировка до конца транзакции: ретранслирует один узел, иначе события одного пользователя
+     * из соседних пакетов могли бы уйти в Kafka не по порядку.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_RELAY_SQL, Boolean.class));
+    }
+
+    public List<UserOutboxMessage> findBatch(int limit) {
+        return jdbcTemplate.query(FIND_BATCH_SQL, (resultSet, rowNum) -> new UserOutboxMessage(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getString("event_type"),
+                resultSet.getString("payload")
+        ), limit);
+    }
+
+    public void deleteAll(List<Long> ids) {
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(DELETE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+}
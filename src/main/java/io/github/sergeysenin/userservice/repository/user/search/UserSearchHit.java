@@ -0,0 +1,7 @@
+package io.github.sergeysenin.userservice.repository.user.search;
+
+/**
+ * Идентификатор найденного пользователя и его релевантность; пара {@code (score, id)} — ключ пагинации.
+ */
+public record UserSearchHit(long id, float score) {
+}
@@ -0,0 +1,70 @@
+package io.github.sergeysenin.userservice.repository.user.search;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Ранжированный поиск по профилям. Условие объединяет полнотекстовый вектор {@code search_vector} и
+ * триграммные индексы по username/email (префикс через {@code ILIKE}, опечатки через оператор {@code %}),
+ * поэтому планировщик собирает кандидатов через BitmapOr по GIN-индексам, не читая таблицу целиком.
+ * Возвращаются только {@code (id, score)} — сами профили догружаются по первичному ключу.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSearchRepository {
+
+    private static final String SEARCH_SQL = """
+            SELECT ranked.id, ranked.score
+            FROM (
+                SELECT u.id,
+                       (ts_rank_cd(u.search_vector, query.tsquery) +
+                        similarity(u.username, :text) +
+                        CASE WHEN u.username ILIKE :prefix THEN 1 ELSE 0 END)::real AS score
+                FROM users u,
+                     websearch_to_tsquery('simple', :text) AS query(tsquery)
+                WHERE u.search_vector @@ query.tsquery
+                   OR u.username ILIKE :prefix
+                   OR u.email ILIKE :prefix
+                   OR u.username %% :text
+            ) ranked
+            %s
+            ORDER BY ranked.score DESC, ranked.id ASC
+            LIMIT :limit
+            """;
+
+    private static final String AFTER_CONDITION =
+            "WHERE ranked.score < :afterScore OR (ranked.score = :afterScore AND ranked.id > :afterId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<UserSearchHit> search(String text, UserSearchHit after, int limit) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("text", text)
+                .addValue("prefix", escapeLike(text) + "%")
+                .addValue("limit", limit);
+
+        String sql;
+        if (after != null) {
+            sql = SEARCH_SQL.formatted(AFTER_CONDITION);
+            parameters.addValue("afterScore", after.score())
+                    .addValue("afterId", after.id());
+        } else {
+            sql = SEARCH_SQL.formatted("");
+        }
+
+        return jdbcTemplate.query(sql, parameters, (resultSet, rowNum) ->
+                new UserSearchHit(resultSet.getLong("id"), resultSet.getFloat("score"))
+        );
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,6 +1,10 @@
 package io.github.sergeysenin.userservice.service.avatar;
 
 import io.github.sergeysenin.userservice.config.avatar.AvatarProperties;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarUploadUrlResponse;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarVariant;
+import io.github.sergeysenin.userservice.dto.avatar.CompleteAvatarUploadRequest;
+import io.github.sergeysenin.userservice.dto.avatar.CreateAvatarUploadUrlRequest;
 import io.github.sergeysenin.userservice.dto.avatar.GetAvatarResponse;
 import io.github.sergeysenin.userservice.dto.avatar.UploadAvatarResponse;
 import io.github.sergeysenin.userservice.dto.avatar.DeleteAvatarResponse;
@@ -9,11 +13,15 @@ import io.github.sergeysenin.userservice.entity.user.User;
 import io.github.sergeysenin.userservice.entity.user.UserProfileAvatar;
 import io.github.sergeysenin.userservice.exception.type.AvatarNotFoundException;
 import io.github.sergeysenin.userservice.exception.type.AvatarUploadException;
-import io.github.sergeysenin.userservice.mapper.avatar.AvatarMapper;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.service.avatar.cache.HotAvatarCache;
 import io.github.sergeysenin.userservice.service.avatar.generator.AvatarFileNameGenerator;
+import io.github.sergeysenin.userservice.service.resource.ImageRendition;
 import io.github.sergeysenin.userservice.service.resource.ResourceService;
 import io.github.sergeysenin.userservice.service.s3.S3Service;
 import io.github.sergeysenin.userservice.service.user.UserService;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
 import io.github.sergeysenin.userservice.validator.resource.ResourceValidationResult;
 import io.github.sergeysenin.userservice.validator.resource.ResourceValidator;
 
@@ -25,21 +33,33 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
 import java.io.IOException;
-import java.util.stream.Stream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AvatarService {
 
+    private static final String HOST_HEADER = "host";
+    private static final String WEBP_EXTENSION = "webp";
+
     private final UserService userService;
     private final ResourceService resourceService;
     private final S3Service s3Service;
     private final ResourceValidator resourceValidator;
-    private final AvatarMapper avatarMapper;
     private final AvatarProperties avatarProperties;
     private final AvatarFileNameGenerator avatarFileNameGenerator;
+    private final HotKeyTracker hotKeyTracker;
+    private final HotAvatarCache hotAvatarCache;
 
     @Transactional
     public UploadAvatarResponse uploadAvatar(Long userId, MultipartFile file) {
@@ -50,44 +70,99 @@ public class AvatarService {
         var resourceMetadata = resourceValidator.validateResource(file);
         byte[] originalBytes = readFileBytes(file, userId);
 
-        var oldAvatarPaths = avatarMapper.toDto(user.getUserProfileAvatar());
-        var newAvatarPaths = uploadResizedVersions(userId, originalBytes, resourceMetadata);
+        return replaceAvatar(user, originalBytes, resourceMetadata);
+    }
 
-        applyAvatarToUser(user, newAvatarPaths);
+    @Transactional(readOnly = true)
+    public AvatarUploadUrlResponse createUploadUrl(Long userId, CreateAvatarUploadUrlRequest request) {
+        log.debug("Начало выдачи ссылки на загрузку аватара: userId={}", userId);
 
-        var savedUser = userService.save(user);
+        userService.getUserByIdOrThrow(userId);
 
-        if (oldAvatarPaths != null) {
-            try {
-                deleteAvatarObjects(oldAvatarPaths);
-            } catch (Exception exception) {
-                log.warn("Не удалось удалить старые файлы аватара пользователя: userId={}", userId, exception);
-            }
-        }
+        var resourceMetadata = resourceValidator.validateStagedResource(
+                request.contentType(),
+                request.contentLength()
+        );
 
-        log.info("Аватар пользователя успешно загружен: userId={}, files={}", userId, newAvatarPaths);
+        String uploadId = avatarFileNameGenerator.generateUploadId();
+        String stagingPath = avatarFileNameGenerator.generateStagingPath(userId, uploadId);
 
-        return new UploadAvatarResponse(userId, newAvatarPaths, savedUser.getUpdatedAt());
+        var presignedUpload = s3Service.generatePresignedUploadUrl(
+                stagingPath,
+                resourceMetadata.mimeType(),
+                request.contentLength(),
+                avatarProperties.upload().urlExpiration()
+        );
+
+        log.info("Ссылка на загрузку аватара выдана: userId={}, uploadId={}, expiresAt={}",
+                userId, uploadId, presignedUpload.expiration());
+
+        return new AvatarUploadUrlResponse(
+                userId,
+                uploadId,
+                presignedUpload.httpRequest().method().name(),
+                presignedUpload.url().toString(),
+                extractClientHeaders(presignedUpload),
+                presignedUpload.expiration()
+        );
     }
 
-    @Transactional(readOnly = true)
-    public GetAvatarResponse getAvatar(Long userId) {
-        log.debug("Начало получения аватара пользователя: userId={}", userId);
+    @Transactional
+    public UploadAvatarResponse completeUpload(Long userId, CompleteAvatarUploadRequest request) {
+        log.debug("Начало завершения загрузки аватара: userId={}", userId);
 
+        String uploadId = normalizeUploadId(request.uploadId());
+        String stagingPath = avatarFileNameGenerator.generateStagingPath(userId, uploadId);
         var user = userService.getUserByIdOrThrow(userId);
+        var stagedObject = s3Service.findObjectMetadata(stagingPath)
+                .orElseThrow(() -> new AvatarUploadException("Файл аватара не загружен: uploadId=" + uploadId));
+
+        try {
+            var stagedAvatar = loadStagedAvatar(stagingPath, stagedObject);
+            var response = replaceAvatar(user, stagedAvatar.bytes(), stagedAvatar.metadata());
+            removeStagedObject(stagingPath, userId, uploadId);
+
+            return response;
+
+        } catch (DataValidationException | AvatarUploadException exception) {
+            // Отклонённый файл (тип, размер, не декодируется) не станет валидным при повторе: временный объект
+            // удаляется сразу. При сбое хранилища или БД он остаётся, чтобы клиент мог повторить завершение.
+            removeStagedObject(stagingPath, userId, uploadId);
+            throw exception;
+        }
+    }
+
+    public GetAvatarResponse getAvatar(Long userId, boolean preferWebp) {
+        log.debug("Начало получения аватара пользователя: userId={}, preferWebp={}", userId, preferWebp);
+
         var avatar = ensureAvatarExists(
-                user.getUserProfileAvatar(),
+                loadAvatar(userId),
                 userId,
                 "Аватар для пользователя не найден: userId={}"
         );
 
-        var response = buildGetAvatarResponse(userId, avatar);
+        var response = buildGetAvatarResponse(userId, avatar, preferWebp);
 
         log.info("Аватар пользователя успешно получен: userId={}, hasAvatar={}", userId, true);
 
         return response;
     }
 
+    public String getAvatarVariantUrl(Long userId, AvatarVariant variant, boolean preferWebp) {
+        log.debug("Начало получения версии аватара: userId={}, variant={}, preferWebp={}",
+                userId, variant, preferWebp);
+
+        var avatar = ensureAvatarExists(
+                loadAvatar(userId),
+                userId,
+                "Аватар для пользователя не найден: userId={}"
+        );
+
+        String path = selectVariantPath(avatar, variant, preferWebp);
+
+        return s3Service.generatePresignedUrl(path);
+    }
+
     @Transactional
     public DeleteAvatarResponse deleteAvatar(Long userId) {
         log.debug("Начало удаления аватара пользователя: userId={}", userId);
@@ -99,18 +174,93 @@ public class AvatarService {
                 "Попытка удалить отсутствующий аватар пользователя: userId={}"
         );
 
-        var removedPaths = avatarMapper.toDto(avatar);
+        var removedPaths = avatarFileNameGenerator.resolveFilePaths(avatar);
 
-        deleteAvatarObjects(removedPaths);
+        deleteAvatarObjects(avatar);
 
         user.updateAvatar(null);
-        userService.save(user);
+        userService.saveAvatarChange(user);
 
         log.info("Аватар пользователя успешно удален: userId={}", userId);
 
         return new DeleteAvatarResponse(userId, true, removedPaths);
     }
 
+    /**
+     * Чтение без собственной транзакции: у горячего пользователя аватар берётся из локального кеша
+     * и БД не нужна вовсе, промах читается в транзакции {@code getUserByIdOrThrow}.
+     */
+    private UserProfileAvatar loadAvatar(Long userId) {
+        hotKeyTracker.record(HotKeyPath.AVATAR, userId);
+        return hotAvatarCache.get(userId, () -> userService.getUserByIdOrThrow(userId).getUserProfileAvatar());
+    }
+
+    private UploadAvatarResponse replaceAvatar(
+            User user,
+            byte[] originalBytes,
+            ResourceValidationResult resourceMetadata
+    ) {
+        Long userId = user.getId();
+
+        var oldAvatar = user.getUserProfileAvatar();
+        var newAvatar = uploadRenditions(userId, originalBytes, resourceMetadata);
+        var newAvatarPaths = avatarFileNameGenerator.resolveFilePaths(newAvatar);
+
+        user.updateAvatar(newAvatar);
+
+        var savedUser = userService.saveAvatarChange(user);
+
+        if (oldAvatar != null) {
+            try {
+                deleteAvatarObjects(oldAvatar);
+            } catch (Exception exception) {
+                log.warn("Не удалось удалить старые файлы аватара пользователя: userId={}", userId, exception);
+            }
+        }
+
+        log.info("Аватар пользователя успешно загружен: userId={}, files={}", userId, newAvatarPaths);
+
+        return new UploadAvatarResponse(userId, newAvatarPaths, savedUser.getUpdatedAt());
+    }
+
+    private StagedAvatar loadStagedAvatar(String stagingPath, HeadObjectResponse stagedObject) {
+        resourceValidator.validateStagedResource(stagedObject.contentType(), stagedObject.contentLength());
+
+        // Ссылка действует до истечения срока, поэтому объект мог быть перезаписан между HEAD и GET.
+        byte[] originalBytes = s3Service.loadObject(stagingPath);
+        var resourceMetadata = resourceValidator.validateStagedResource(
+                stagedObject.contentType(),
+                originalBytes.length
+        );
+
+        return new StagedAvatar(originalBytes, resourceMetadata);
+    }
+
+    private void removeStagedObject(String stagingPath, Long userId, String uploadId) {
+        try {
+            s3Service.removeObject(stagingPath);
+        } catch (Exception exception) {
+            log.warn("Не удалось удалить временный файл аватара: userId={}, uploadId={}", userId, uploadId, exception);
+        }
+    }
+
+    private String normalizeUploadId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId.trim()).toString();
+        } catch (IllegalArgumentException exception) {
+            throw new DataValidationException("Некорректный идентификатор загрузки: " + uploadId, exception);
+        }
+    }
+
+    private Map<String, String> extractClientHeaders(PresignedPutObjectRequest presignedUpload) {
+        return presignedUpload.signedHeaders().entrySet().stream()
+                .filter(header -> !HOST_HEADER.equals(header.getKey().toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        header -> String.join(",", header.getValue())
+                ));
+    }
+
     private byte[] readFileBytes(MultipartFile file, Long userId) {
         try {
             return file.getBytes();
@@ -121,31 +271,49 @@ public class AvatarService {
         }
     }
 
-    private AvatarObjectPathsDto uploadResizedVersions(
+    private UserProfileAvatar uploadRenditions(
             Long userId,
             byte[] originalBytes,
             ResourceValidationResult resourceMetadata
     ) {
         String extension = resourceMetadata.canonicalExtension();
         String mimeType = resourceMetadata.mimeType();
-        var newAvatarPaths = avatarFileNameGenerator.generateFilePaths(userId, extension);
-
-        int thumbnailMaxSide = avatarProperties.sizes().thumbnail().maxSide();
-        int profileMaxSide = avatarProperties.sizes().profile().maxSide();
-
-        byte[] thumbnailBytes = resourceService.resize(originalBytes, thumbnailMaxSide, extension);
-        byte[] profileBytes = resourceService.resize(originalBytes, profileMaxSide, extension);
+        String avatarDirectory = avatarFileNameGenerator.generateAvatarDirectory(userId);
+
+        // Для WebP-исходника основные версии уже в WebP, дополнительные не нужны.
+        var renditionSet = resourceService.createRenditions(
+                originalBytes,
+                extension,
+                avatarProperties.sizes(),
+                !WEBP_EXTENSION.equals(extension)
+        );
+        byte[] storedOriginalBytes = avatarProperties.stripMetadata() ?
+                resourceService.stripMetadata(originalBytes, extension) :
+                originalBytes;
+
+        boolean webpRenditions = false;
+        for (ImageRendition rendition : renditionSet.renditions()) {
+            boolean webp = !extension.equals(rendition.format());
+            String path = avatarFileNameGenerator.generateRenditionPath(
+                    avatarDirectory, rendition.maxSide(), rendition.format()
+            );
+            s3Service.storeObject(path, rendition.bytes(), webp ? AvatarProperties.MIME_TYPE_WEBP : mimeType);
+            webpRenditions |= webp;
+        }
 
-        s3Service.storeObject(newAvatarPaths.thumbnailPath(), thumbnailBytes, mimeType);
-        s3Service.storeObject(newAvatarPaths.profilePath(), profileBytes, mimeType);
-        s3Service.storeObject(newAvatarPaths.originalPath(), originalBytes, mimeType);
+        String originalPath = avatarFileNameGenerator.generateOriginalPath(avatarDirectory, extension);
+        s3Service.storeObject(originalPath, storedOriginalBytes, mimeType);
 
-        return newAvatarPaths;
-    }
+        var placeholder = renditionSet.placeholder();
 
-    private void applyAvatarToUser(User user, AvatarObjectPathsDto newAvatarPaths) {
-        UserProfileAvatar avatar = avatarMapper.toEntity(newAvatarPaths);
-        user.updateAvatar(avatar);
+        return UserProfileAvatar.builder()
+                .originalPath(originalPath)
+                .renditionSizes(avatarProperties.maxSides())
+                .renditionFormat(extension)
+                .webpRenditions(webpRenditions)
+                .blurHash(placeholder != null ? placeholder.blurHash() : null)
+                .dominantColor(placeholder != null ? placeholder.dominantColor() : null)
+                .build();
     }
 
     private UserProfileAvatar ensureAvatarExists(UserProfileAvatar avatar, Long userId, String logMessage) {
@@ -157,27 +325,53 @@ public class AvatarService {
         return avatar;
     }
 
-    private GetAvatarResponse buildGetAvatarResponse(Long userId, UserProfileAvatar avatar) {
-        String originalUrl = generatePresignedUrl(avatar.getOriginalPath());
-        String thumbnailUrl = generatePresignedUrl(avatar.getThumbnailPath());
-        String profileUrl = generatePresignedUrl(avatar.getProfilePath());
+    private GetAvatarResponse buildGetAvatarResponse(Long userId, UserProfileAvatar avatar, boolean preferWebp) {
+        var paths = avatarFileNameGenerator.resolveFilePaths(avatar);
 
-        var responsePaths = new AvatarObjectPathsDto(originalUrl, thumbnailUrl, profileUrl);
+        SortedMap<Integer, String> renditionUrls = new TreeMap<>();
+        selectRenditions(paths, preferWebp).forEach((maxSide, path) ->
+                renditionUrls.put(maxSide, generatePresignedUrl(path)));
+
+        // Выбранный формат уже подставлен в основные ссылки, отдельные WebP-поля не дублируются.
+        var responsePaths = new AvatarObjectPathsDto(generatePresignedUrl(paths.originalPath()), renditionUrls, null);
 
         return new GetAvatarResponse(userId, responsePaths, true);
     }
 
+    /**
+     * Для запрошенного размера выбирается наименьшая версия не меньше него, иначе самая крупная;
+     * у аватаров без версий отдаётся оригинал.
+     */
+    private String selectVariantPath(UserProfileAvatar avatar, AvatarVariant variant, boolean preferWebp) {
+        var paths = avatarFileNameGenerator.resolveFilePaths(avatar);
+        SortedMap<Integer, String> renditions = selectRenditions(paths, preferWebp);
+
+        if (variant.isOriginal() || renditions.isEmpty()) {
+            return paths.originalPath();
+        }
+
+        SortedMap<Integer, String> fitting = renditions.tailMap(variant.maxSide());
+        return fitting.isEmpty() ? renditions.get(renditions.lastKey()) : fitting.get(fitting.firstKey());
+    }
+
+    private SortedMap<Integer, String> selectRenditions(AvatarObjectPathsDto paths, boolean preferWebp) {
+        return preferWebp && paths.webpRenditionPaths() != null ?
+                paths.webpRenditionPaths() :
+                paths.renditionPaths();
+    }
+
     private String generatePresignedUrl(String path) {
         return StringUtils.hasText(path) ? s3Service.generatePresignedUrl(path) : null;
     }
 
-    private void deleteAvatarObjects(AvatarObjectPathsDto paths) {
-        if (paths == null) {
+    private void deleteAvatarObjects(UserProfileAvatar avatar) {
+        if (avatar == null || !StringUtils.hasText(avatar.getOriginalPath())) {
             return;
         }
 
-        Stream.of(paths.originalPath(), paths.thumbnailPath(), paths.profilePath())
-                .filter(StringUtils::hasText)
-                .forEach(s3Service::removeObject);
+        s3Service.removeObjectsByPrefix(avatarFileNameGenerator.resolveAvatarPrefix(avatar));
+    }
+
+    private record StagedAvatar(byte[] bytes, ResourceValidationResult metadata) {
     }
 }
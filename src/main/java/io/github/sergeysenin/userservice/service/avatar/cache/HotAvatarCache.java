@@ -0,0 +1,83 @@
+package io.github.sergeysenin.userservice.service.avatar.cache;
+
+import io.github.sergeysenin.userservice.config.cache.HotKeyProperties;
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.entity.user.UserProfileAvatar;
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Локальный кеш аватаров только для горячих пользователей узла: остальные читаются из БД как раньше.
+ * Запись удаляется после коммита изменения аватара и по сообщению из канала инвалидации профилей,
+ * поэтому кеш работает только вместе с кешем профилей ({@code user.cache.profile.enabled}).
+ * Срок записи — {@code local-ttl}, как у L1 профилей: потерянное сообщение не оставит старый аватар дольше.
+ */
+@Slf4j
+@Component
+public class HotAvatarCache {
+
+    private static final String METRIC_CACHE_NAME = "hotAvatar";
+    private static final int SLOTS_PER_HOT_KEY = 2;
+
+    private final HotKeyTracker hotKeyTracker;
+    private final boolean enabled;
+    private final Cache<Long, UserProfileAvatar> cache;
+
+    public HotAvatarCache(
+            HotKeyTracker hotKeyTracker,
+            HotKeyProperties hotKeyProperties,
+            UserProfileCacheProperties userProfileCacheProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.enabled = hotKeyProperties.enabled() && userProfileCacheProperties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize((long) hotKeyProperties.topK() * SLOTS_PER_HOT_KEY)
+                .expireAfterWrite(userProfileCacheProperties.localTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_CACHE_NAME);
+    }
+
+    /**
+     * Пользователь без аватара не кешируется: загрузчик вернёт {@code null}.
+     */
+    public UserProfileAvatar get(Long userId, Supplier<UserProfileAvatar> loader) {
+        if (!enabled || !hotKeyTracker.isHot(HotKeyPath.AVATAR, userId)) {
+            return loader.get();
+        }
+        return cache.get(userId, id -> loader.get());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    public void onRemoteInvalidation(byte[] payload) {
+        String userId = new String(payload, StandardCharsets.UTF_8);
+
+        try {
+            cache.invalidate(Long.valueOf(userId));
+        } catch (NumberFormatException exception) {
+            log.warn("Некорректное сообщение инвалидации аватара: payload={}", userId);
+        }
+    }
+}
@@ -2,11 +2,16 @@ package io.github.sergeysenin.userservice.service.avatar.generator;
 
 import io.github.sergeysenin.userservice.config.avatar.AvatarProperties;
 import io.github.sergeysenin.userservice.dto.avatar.AvatarObjectPathsDto;
+import io.github.sergeysenin.userservice.entity.user.UserProfileAvatar;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -15,35 +20,96 @@ import java.util.function.Supplier;
 public class AvatarFileNameGenerator {
 
     private static final String ORIGINAL_VERSION = "original";
-    private static final String THUMBNAIL_VERSION = "thumbnail";
-    private static final String PROFILE_VERSION = "profile";
+    private static final String WEBP_EXTENSION = "webp";
+    private static final List<String> LEGACY_VERSIONS = List.of("thumbnail", "profile");
 
     private final AvatarProperties avatarProperties;
     private final Supplier<UUID> uuidSupplier;
 
-    public AvatarObjectPathsDto generateFilePaths(Long userId, String fileExtension) {
-        String storagePath = avatarProperties.storagePath();
-        String avatarIdentifier = uuidSupplier.get().toString();
+    public String generateAvatarDirectory(Long userId) {
+        return String.join(
+                "/",
+                avatarProperties.storagePath(),
+                String.valueOf(userId),
+                uuidSupplier.get().toString()
+        );
+    }
+
+    public String generateOriginalPath(String avatarDirectory, String fileExtension) {
+        return buildPath(avatarDirectory, ORIGINAL_VERSION, fileExtension);
+    }
 
-        String originalPath = buildPath(storagePath, userId, avatarIdentifier, ORIGINAL_VERSION, fileExtension);
-        String thumbnailPath = buildPath(storagePath, userId, avatarIdentifier, THUMBNAIL_VERSION, fileExtension);
-        String profilePath = buildPath(storagePath, userId, avatarIdentifier, PROFILE_VERSION, fileExtension);
+    public String generateRenditionPath(String avatarDirectory, int maxSide, String fileExtension) {
+        return buildPath(avatarDirectory, String.valueOf(maxSide), fileExtension);
+    }
 
-        return new AvatarObjectPathsDto(originalPath, thumbnailPath, profilePath);
+    /**
+     * Каталог аватара с завершающим слешем — префикс всех его объектов в S3.
+     */
+    public String resolveAvatarPrefix(UserProfileAvatar avatar) {
+        return resolveAvatarDirectory(avatar.getOriginalPath()) + "/";
     }
 
-    private String buildPath(
-            String storagePath,
-            Long userId,
-            String avatarIdentifier,
-            String version, String extension
-    ) {
+    public AvatarObjectPathsDto resolveFilePaths(UserProfileAvatar avatar) {
+        if (avatar == null) {
+            return null;
+        }
+
+        String avatarDirectory = resolveAvatarDirectory(avatar.getOriginalPath());
+        List<Integer> sizes = avatar.getRenditionSizes() == null ? List.of() : avatar.getRenditionSizes();
+        boolean legacy = Boolean.TRUE.equals(avatar.getLegacyRenditions());
+
+        SortedMap<Integer, String> renditionPaths = buildRenditionPaths(
+                avatarDirectory, sizes, avatar.getRenditionFormat(), legacy
+        );
+        SortedMap<Integer, String> webpRenditionPaths = Boolean.TRUE.equals(avatar.getWebpRenditions()) ?
+                buildRenditionPaths(avatarDirectory, sizes, WEBP_EXTENSION, legacy) :
+                null;
+
+        return new AvatarObjectPathsDto(avatar.getOriginalPath(), renditionPaths, webpRenditionPaths);
+    }
+
+    public String generateUploadId() {
+        return uuidSupplier.get().toString();
+    }
+
+    public String generateStagingPath(Long userId, String uploadId) {
         return String.join(
                 "/",
-                storagePath,
+                avatarProperties.storagePath(),
+                avatarProperties.upload().stagingPath(),
                 String.valueOf(userId),
-                avatarIdentifier,
-                version + "." + extension
+                uploadId
         );
     }
+
+    private SortedMap<Integer, String> buildRenditionPaths(
+            String avatarDirectory,
+            Collection<Integer> sizes,
+            String extension,
+            boolean legacy
+    ) {
+        SortedMap<Integer, String> paths = new TreeMap<>();
+        sizes.forEach(maxSide -> paths.put(maxSide, generateRenditionPath(avatarDirectory, maxSide, extension)));
+        if (legacy && paths.size() == LEGACY_VERSIONS.size()) {
+            // Ключи прежней раскладки: меньший размер — thumbnail, больший — profile.
+            int index = 0;
+            for (var entry : paths.entrySet()) {
+                entry.setValue(buildPath(avatarDirectory, LEGACY_VERSIONS.get(index++), extension));
+            }
+        }
+        return paths;
+    }
+
+    private static String resolveAvatarDirectory(String originalPath) {
+        int separatorIndex = originalPath.lastIndexOf('/');
+        if (separatorIndex <= 0) {
+            throw new IllegalStateException("Некорректный ключ оригинала аватара: " + originalPath);
+        }
+        return originalPath.substring(0, separatorIndex);
+    }
+
+    private static String buildPath(String avatarDirectory, String version, String extension) {
+        return avatarDirectory + "/" + version + "." + extension;
+    }
 }
@@ -0,0 +1,57 @@
+package io.github.sergeysenin.userservice.service.avatar.negotiation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Component
+public class AvatarFormatNegotiator {
+
+    public static final String FORMAT_WEBP = "webp";
+    public static final String FORMAT_ORIGINAL = "original";
+
+    private static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+
+    /**
+     * Явная подсказка клиента ({@code format=webp|original}) приоритетнее заголовка {@code Accept}.
+     * Подстановочные {@code image/*} и {@code *}{@code /*} поддержку WebP не подтверждают.
+     */
+    public boolean prefersWebp(String acceptHeader, String formatHint) {
+        if (StringUtils.hasText(formatHint)) {
+            String normalizedHint = formatHint.trim().toLowerCase(Locale.ROOT);
+            if (FORMAT_WEBP.equals(normalizedHint)) {
+                return true;
+            }
+            if (FORMAT_ORIGINAL.equals(normalizedHint)) {
+                return false;
+            }
+            log.debug("Неизвестная подсказка формата аватара проигнорирована: format={}", formatHint);
+        }
+
+        return acceptsWebp(acceptHeader);
+    }
+
+    private boolean acceptsWebp(String acceptHeader) {
+        if (!StringUtils.hasText(acceptHeader)) {
+            return false;
+        }
+
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(acceptHeader);
+            return mediaTypes.stream()
+                    .anyMatch(mediaType -> !mediaType.isWildcardSubtype() &&
+                            IMAGE_WEBP.isCompatibleWith(mediaType) &&
+                            mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException exception) {
+            log.debug("Некорректный заголовок Accept проигнорирован: accept={}", acceptHeader);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package io.github.sergeysenin.userservice.service.resource;
+
+public record ImageRendition(int maxSide, String format, byte[] bytes) {
+}
@@ -0,0 +1,8 @@
+package io.github.sergeysenin.userservice.service.resource;
+
+import io.github.sergeysenin.userservice.dto.avatar.AvatarPlaceholderDto;
+
+import java.util.List;
+
+public record ImageRenditionSet(List<ImageRendition> renditions, AvatarPlaceholderDto placeholder) {
+}
@@ -1,6 +1,11 @@
 package io.github.sergeysenin.userservice.service.resource;
 
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarSizeProperties;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarPlaceholderDto;
 import io.github.sergeysenin.userservice.exception.type.AvatarUploadException;
+import io.github.sergeysenin.userservice.service.resource.encoder.ImageEncoder;
+import io.github.sergeysenin.userservice.service.resource.metadata.ImageMetadataStripper;
+import io.github.sergeysenin.userservice.service.resource.placeholder.ImagePlaceholderGenerator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,36 +14,123 @@ import net.coobird.thumbnailator.Thumbnails;
 
 import org.springframework.stereotype.Service;
 
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageResourceService implements ResourceService {
 
+    private static final String WEBP_FORMAT = "webp";
+
+    private final ImageEncoder imageEncoder;
+    private final ImageMetadataStripper imageMetadataStripper;
+    private final ImagePlaceholderGenerator imagePlaceholderGenerator;
+
+    /**
+     * Исходник декодируется один раз сразу в самую крупную версию (с учётом EXIF-ориентации),
+     * меньшие версии и кодирование строятся из неё параллельно. WebP-версии необязательны:
+     * при сбое кодировщика набор возвращается без них целиком.
+     */
     @Override
-    public byte[] resize(byte[] originalBytes, int maxSide, String format) {
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(originalBytes);
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    public ImageRenditionSet createRenditions(
+            byte[] originalBytes,
+            String format,
+            List<AvatarSizeProperties> sizes,
+            boolean includeWebp
+    ) {
+        List<AvatarSizeProperties> orderedSizes = sizes.stream()
+                .sorted(Comparator.comparingInt(AvatarSizeProperties::maxSide))
+                .toList();
+        AvatarSizeProperties largestSize = orderedSizes.get(orderedSizes.size() - 1);
 
-            Thumbnails.of(inputStream)
-                    .size(maxSide, maxSide)
-                    .outputFormat(format)
-                    .toOutputStream(outputStream);
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(originalBytes)) {
+
+            BufferedImage largest = Thumbnails.of(inputStream)
+                    .size(largestSize.maxSide(), largestSize.maxSide())
+                    .asBufferedImage();
+
+            List<BufferedImage> resized = orderedSizes.parallelStream()
+                    .map(size -> size == largestSize ? largest : downscale(largest, size.maxSide()))
+                    .toList();
+
+            List<ImageRendition> renditions = new ArrayList<>(encodeAll(resized, orderedSizes, format));
+            if (includeWebp) {
+                encodeWebp(resized, orderedSizes).ifPresent(renditions::addAll);
+            }
 
-            byte[] result = outputStream.toByteArray();
+            AvatarPlaceholderDto placeholder = createPlaceholder(resized.get(0));
 
-            log.debug("Изменён размер изображения: maxSide={}, format={}, in={} bytes, out={} bytes",
-                    maxSide, format, originalBytes.length, result.length);
+            log.debug("Сформированы версии изображения: sizes={}, format={}, webp={}, in={} bytes",
+                    orderedSizes.size(), format, includeWebp, originalBytes.length);
 
-            return result;
+            return new ImageRenditionSet(List.copyOf(renditions), placeholder);
 
         } catch (IOException | RuntimeException exception) {
-            log.error("Ошибка изменения размера изображения: maxSide={}, format={}, in={} bytes",
-                    maxSide, format, originalBytes != null ? originalBytes.length : 0, exception);
+            log.error("Ошибка формирования версий изображения: sizes={}, format={}, in={} bytes",
+                    orderedSizes.size(), format, originalBytes != null ? originalBytes.length : 0, exception);
             throw new AvatarUploadException("Не удалось изменить размер изображения", exception);
         }
     }
+
+    @Override
+    public byte[] stripMetadata(byte[] originalBytes, String format) {
+        return imageMetadataStripper.strip(originalBytes, format);
+    }
+
+    private List<ImageRendition> encodeAll(
+            List<BufferedImage> resized,
+            List<AvatarSizeProperties> sizes,
+            String format
+    ) {
+        return IntStream.range(0, sizes.size())
+                .parallel()
+                .mapToObj(index -> encode(resized.get(index), sizes.get(index), format))
+                .toList();
+    }
+
+    private Optional<List<ImageRendition>> encodeWebp(List<BufferedImage> resized, List<AvatarSizeProperties> sizes) {
+        try {
+            return Optional.of(encodeAll(resized, sizes, WEBP_FORMAT));
+        } catch (RuntimeException exception) {
+            log.warn("Не удалось сформировать WebP-версии изображения", exception);
+            return Optional.empty();
+        }
+    }
+
+    private ImageRendition encode(BufferedImage image, AvatarSizeProperties size, String format) {
+        try {
+            byte[] bytes = imageEncoder.encode(image, format, size.encoding());
+            return new ImageRendition(size.maxSide(), format, bytes);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private AvatarPlaceholderDto createPlaceholder(BufferedImage smallest) {
+        try {
+            return imagePlaceholderGenerator.generate(smallest);
+        } catch (RuntimeException exception) {
+            log.warn("Не удалось сформировать плейсхолдер изображения", exception);
+            return null;
+        }
+    }
+
+    private static BufferedImage downscale(BufferedImage source, int maxSide) {
+        try {
+            return Thumbnails.of(source)
+                    .size(maxSide, maxSide)
+                    .asBufferedImage();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
 }
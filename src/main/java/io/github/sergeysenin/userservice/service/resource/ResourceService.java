@@ -1,6 +1,17 @@
 package io.github.sergeysenin.userservice.service.resource;
 
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarSizeProperties;
+
+import java.util.List;
+
 public interface ResourceService {
 
-    byte[] resize(byte[] originalBytes, int maxSide, String format);
+    ImageRenditionSet createRenditions(
+            byte[] originalBytes,
+            String format,
+            List<AvatarSizeProperties> sizes,
+            boolean includeWebp
+    );
+
+    byte[] stripMetadata(byte[] originalBytes, String format);
 }
@@ -0,0 +1,174 @@
+package io.github.sergeysenin.userservice.service.resource.encoder;
+
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarEncodingProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class ImageEncoder {
+
+    private static final int MAX_PALETTE_SIZE = 256;
+    private static final float PNG_MAX_COMPRESSION = 0.0f;
+    private static final String WEBP_LOSSY_COMPRESSION = "Lossy";
+
+    public byte[] encode(BufferedImage image, String format, AvatarEncodingProperties encoding) throws IOException {
+        String normalizedFormat = format.trim().toLowerCase(Locale.ROOT);
+
+        return switch (normalizedFormat) {
+            case "jpg", "jpeg" -> write(toOpaque(image), "jpeg", param -> configureJpeg(param, encoding));
+            case "png" -> write(toPaletteIfPossible(image, encoding), "png", ImageEncoder::configurePng);
+            case "webp" -> write(image, "webp", param -> configureWebp(param, encoding));
+            default -> write(image, normalizedFormat, param -> {});
+        };
+    }
+
+    private static void configureJpeg(ImageWriteParam param, AvatarEncodingProperties encoding) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(encoding.jpegQuality());
+
+        if (encoding.jpegProgressive()) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+        if (param instanceof JPEGImageWriteParam jpegParam) {
+            jpegParam.setOptimizeHuffmanTables(true);
+        }
+    }
+
+    private static void configurePng(ImageWriteParam param) {
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(PNG_MAX_COMPRESSION);
+        }
+    }
+
+    private static void configureWebp(ImageWriteParam param, AvatarEncodingProperties encoding) {
+        if (!param.canWriteCompressed()) {
+            return;
+        }
+
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        String[] compressionTypes = param.getCompressionTypes();
+        if (compressionTypes != null && Arrays.asList(compressionTypes).contains(WEBP_LOSSY_COMPRESSION)) {
+            param.setCompressionType(WEBP_LOSSY_COMPRESSION);
+        }
+        param.setCompressionQuality(encoding.webpQuality());
+    }
+
+    private static byte[] write(
+            BufferedImage image,
+            String formatName,
+            Consumer<ImageWriteParam> paramConfigurer
+    ) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            throw new IOException("Не найден ImageWriter для формата: " + formatName);
+        }
+
+        ImageWriter writer = writers.next();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+             ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            paramConfigurer.accept(param);
+
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+            imageOutputStream.flush();
+
+            return outputStream.toByteArray();
+
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage toOpaque(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+
+        BufferedImage opaque = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = opaque.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return opaque;
+    }
+
+    // Палитра строится только без потерь: если уникальных цветов больше 256, изображение пишется как есть.
+    private static BufferedImage toPaletteIfPossible(BufferedImage image, AvatarEncodingProperties encoding) {
+        if (!encoding.pngPalette() || image.getColorModel() instanceof IndexColorModel) {
+            return image;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        Map<Integer, Integer> paletteIndexes = new HashMap<>();
+        int[] indexedPixels = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            int argb = (pixels[i] >>> 24) == 0 ? 0 : pixels[i];
+            Integer index = paletteIndexes.get(argb);
+            if (index == null) {
+                if (paletteIndexes.size() == MAX_PALETTE_SIZE) {
+                    return image;
+                }
+                index = paletteIndexes.size();
+                paletteIndexes.put(argb, index);
+            }
+            indexedPixels[i] = index;
+        }
+
+        IndexColorModel colorModel = buildColorModel(paletteIndexes);
+        BufferedImage indexed = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+        WritableRaster raster = indexed.getRaster();
+        raster.setPixels(0, 0, width, height, indexedPixels);
+
+        log.debug("Изображение переведено в палитру: colors={}, size={}x{}", paletteIndexes.size(), width, height);
+
+        return indexed;
+    }
+
+    private static IndexColorModel buildColorModel(Map<Integer, Integer> paletteIndexes) {
+        int size = paletteIndexes.size();
+        byte[] reds = new byte[size];
+        byte[] greens = new byte[size];
+        byte[] blues = new byte[size];
+        byte[] alphas = new byte[size];
+
+        paletteIndexes.forEach((argb, index) -> {
+            alphas[index] = (byte) (argb >>> 24);
+            reds[index] = (byte) (argb >>> 16);
+            greens[index] = (byte) (argb >>> 8);
+            blues[index] = (byte) argb.intValue();
+        });
+
+        return new IndexColorModel(8, size, reds, greens, blues, alphas);
+    }
+}
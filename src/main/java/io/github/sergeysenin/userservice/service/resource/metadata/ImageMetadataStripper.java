@@ -0,0 +1,242 @@
+package io.github.sergeysenin.userservice.service.resource.metadata;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class ImageMetadataStripper {
+
+    private static final int JPEG_MARKER_PREFIX = 0xFF;
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP1 = 0xE1;
+    private static final int JPEG_COM = 0xFE;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+    private static final int EXIF_DEFAULT_ORIENTATION = 1;
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final int EXIF_SHORT_TYPE = 3;
+    private static final int TIFF_HEADER_LENGTH = 8;
+    private static final int TIFF_IFD_ENTRY_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "eXIf", "tIME");
+
+    private static final int WEBP_HEADER_LENGTH = 12;
+    private static final int WEBP_VP8X_FLAGS_OFFSET = WEBP_HEADER_LENGTH + 8;
+    private static final int WEBP_EXIF_FLAG = 0x08;
+    private static final int WEBP_XMP_FLAG = 0x04;
+    private static final Set<String> WEBP_METADATA_CHUNKS = Set.of("EXIF", "XMP ");
+
+    public byte[] strip(byte[] imageBytes, String format) {
+        String normalizedFormat = format.trim().toLowerCase(Locale.ROOT);
+
+        try {
+            byte[] stripped = switch (normalizedFormat) {
+                case "jpg", "jpeg" -> stripJpeg(imageBytes);
+                case "png" -> stripPng(imageBytes);
+                case "webp" -> stripWebp(imageBytes);
+                default -> imageBytes;
+            };
+
+            log.debug("Метаданные изображения удалены: format={}, in={} bytes, out={} bytes",
+                    normalizedFormat, imageBytes.length, stripped.length);
+
+            return stripped;
+
+        } catch (RuntimeException exception) {
+            // Разбор структуры не удался — сохраняем файл как есть, валидность изображения проверяет ресайз.
+            log.warn("Не удалось удалить метаданные изображения: format={}, size={} bytes",
+                    normalizedFormat, imageBytes.length, exception);
+            return imageBytes;
+        }
+    }
+
+    // Сохраняются APP0 (JFIF), APP2 (ICC-профиль) и APP14 (Adobe): они влияют на отображение цвета.
+    private static byte[] stripJpeg(byte[] bytes) {
+        if (bytes.length < 4 || unsigned(bytes[0]) != JPEG_MARKER_PREFIX || unsigned(bytes[1]) != JPEG_SOI) {
+            throw new IllegalArgumentException("Некорректная сигнатура JPEG");
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+        output.write(bytes, 0, 2);
+
+        int position = 2;
+        while (position < bytes.length) {
+            if (unsigned(bytes[position]) != JPEG_MARKER_PREFIX) {
+                throw new IllegalArgumentException("Ожидался маркер JPEG на позиции " + position);
+            }
+
+            int marker = unsigned(bytes[position + 1]);
+            if (marker == JPEG_MARKER_PREFIX) {
+                position++;
+                continue;
+            }
+            if (marker == JPEG_SOS) {
+                output.write(bytes, position, bytes.length - position);
+                break;
+            }
+            if (isStandaloneJpegMarker(marker)) {
+                output.write(bytes, position, 2);
+                position += 2;
+                continue;
+            }
+
+            int segmentLength = ((unsigned(bytes[position + 2]) << 8) | unsigned(bytes[position + 3])) + 2;
+            if (segmentLength < 4 || position + segmentLength > bytes.length) {
+                throw new IllegalArgumentException("Некорректная длина сегмента JPEG на позиции " + position);
+            }
+
+            if (marker == JPEG_APP1) {
+                // Из EXIF переносим только нестандартную ориентацию, иначе оригинал отобразится повёрнутым;
+                // GPS, серийные номера и миниатюра уходят вместе с исходным сегментом.
+                int orientation = exifOrientation(bytes, position + 4, segmentLength - 4);
+                if (orientation != EXIF_DEFAULT_ORIENTATION) {
+                    output.writeBytes(orientationOnlyExifSegment(orientation));
+                }
+            } else if (!isRemovableJpegSegment(marker)) {
+                output.write(bytes, position, segmentLength);
+            }
+            position += segmentLength;
+        }
+
+        return output.toByteArray();
+    }
+
+    private static boolean isStandaloneJpegMarker(int marker) {
+        return marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8);
+    }
+
+    private static boolean isRemovableJpegSegment(int marker) {
+        boolean removableApplicationSegment = (marker >= 0xE3 && marker <= 0xED) || marker == 0xEF;
+        return removableApplicationSegment || marker == JPEG_COM;
+    }
+
+    private static int exifOrientation(byte[] bytes, int offset, int length) {
+        if (length < EXIF_HEADER.length + TIFF_HEADER_LENGTH ||
+                !Arrays.equals(bytes, offset, offset + EXIF_HEADER.length, EXIF_HEADER, 0, EXIF_HEADER.length)) {
+            return EXIF_DEFAULT_ORIENTATION;
+        }
+
+        int tiffStart = offset + EXIF_HEADER.length;
+        ByteBuffer tiff = ByteBuffer.wrap(bytes, tiffStart, length - EXIF_HEADER.length).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifdOffset = tiff.getInt(4);
+        if (ifdOffset < TIFF_HEADER_LENGTH || ifdOffset + 2 > tiff.limit()) {
+            return EXIF_DEFAULT_ORIENTATION;
+        }
+
+        int entries = Short.toUnsignedInt(tiff.getShort(ifdOffset));
+        for (int entry = 0; entry < entries; entry++) {
+            int entryOffset = ifdOffset + 2 + entry * TIFF_IFD_ENTRY_LENGTH;
+            if (entryOffset + TIFF_IFD_ENTRY_LENGTH > tiff.limit()) {
+                return EXIF_DEFAULT_ORIENTATION;
+            }
+            if (Short.toUnsignedInt(tiff.getShort(entryOffset)) == EXIF_ORIENTATION_TAG) {
+                int orientation = Short.toUnsignedInt(tiff.getShort(entryOffset + 8));
+                return orientation >= 2 && orientation <= 8 ? orientation : EXIF_DEFAULT_ORIENTATION;
+            }
+        }
+        return EXIF_DEFAULT_ORIENTATION;
+    }
+
+    // Минимальный APP1: заголовок Exif, TIFF little-endian и IFD0 с единственным тегом Orientation.
+    private static byte[] orientationOnlyExifSegment(int orientation) {
+        int tiffLength = TIFF_HEADER_LENGTH + 2 + TIFF_IFD_ENTRY_LENGTH + 4;
+        int payloadLength = EXIF_HEADER.length + tiffLength;
+
+        ByteBuffer tiff = ByteBuffer.allocate(tiffLength).order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(TIFF_HEADER_LENGTH)
+                .putShort((short) 1)
+                .putShort((short) EXIF_ORIENTATION_TAG).putShort((short) EXIF_SHORT_TYPE).putInt(1)
+                .putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+
+        return ByteBuffer.allocate(4 + payloadLength)
+                .put((byte) JPEG_MARKER_PREFIX).put((byte) JPEG_APP1)
+                .putShort((short) (payloadLength + 2))
+                .put(EXIF_HEADER)
+                .put(tiff.array())
+                .array();
+    }
+
+    private static byte[] stripPng(byte[] bytes) {
+        if (bytes.length < PNG_SIGNATURE.length ||
+                !Arrays.equals(bytes, 0, PNG_SIGNATURE.length, PNG_SIGNATURE, 0, PNG_SIGNATURE.length)) {
+            throw new IllegalArgumentException("Некорректная сигнатура PNG");
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+        output.write(bytes, 0, PNG_SIGNATURE.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int position = PNG_SIGNATURE.length;
+        while (position < bytes.length) {
+            // Длина (4) + тип (4) + данные + CRC (4).
+            int chunkLength = buffer.getInt(position) + 12;
+            if (chunkLength < 12 || position + chunkLength > bytes.length) {
+                throw new IllegalArgumentException("Некорректная длина чанка PNG на позиции " + position);
+            }
+
+            String chunkType = new String(bytes, position + 4, 4, StandardCharsets.ISO_8859_1);
+            if (!PNG_METADATA_CHUNKS.contains(chunkType)) {
+                output.write(bytes, position, chunkLength);
+            }
+            position += chunkLength;
+        }
+
+        return output.toByteArray();
+    }
+
+    private static byte[] stripWebp(byte[] bytes) {
+        if (bytes.length < WEBP_HEADER_LENGTH ||
+                !"RIFF".equals(new String(bytes, 0, 4, StandardCharsets.ISO_8859_1)) ||
+                !"WEBP".equals(new String(bytes, 8, 4, StandardCharsets.ISO_8859_1))) {
+            throw new IllegalArgumentException("Некорректная сигнатура WebP");
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+        output.write(bytes, 0, WEBP_HEADER_LENGTH);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int position = WEBP_HEADER_LENGTH;
+        while (position + 8 <= bytes.length) {
+            String chunkType = new String(bytes, position, 4, StandardCharsets.ISO_8859_1);
+            int payloadLength = buffer.getInt(position + 4);
+            // Заголовок чанка (8) + данные, выровненные до чётной длины.
+            int chunkLength = 8 + payloadLength + (payloadLength & 1);
+            if (payloadLength < 0 || position + chunkLength > bytes.length) {
+                throw new IllegalArgumentException("Некорректная длина чанка WebP на позиции " + position);
+            }
+
+            if (!WEBP_METADATA_CHUNKS.contains(chunkType)) {
+                output.write(bytes, position, chunkLength);
+            }
+            position += chunkLength;
+        }
+
+        byte[] stripped = output.toByteArray();
+        ByteBuffer.wrap(stripped).order(ByteOrder.LITTLE_ENDIAN).putInt(4, stripped.length - 8);
+
+        // В расширенном формате VP8X всегда идёт первым чанком; флаги EXIF/XMP должны совпадать с содержимым.
+        if ("VP8X".equals(new String(stripped, WEBP_HEADER_LENGTH, 4, StandardCharsets.ISO_8859_1))) {
+            int flags = stripped[WEBP_VP8X_FLAGS_OFFSET] & ~(WEBP_EXIF_FLAG | WEBP_XMP_FLAG);
+            stripped[WEBP_VP8X_FLAGS_OFFSET] = (byte) flags;
+        }
+        return stripped;
+    }
+
+    private static int unsigned(byte value) {
+        return value & 0xFF;
+    }
+}
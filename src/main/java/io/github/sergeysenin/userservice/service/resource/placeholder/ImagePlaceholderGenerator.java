@@ -0,0 +1,213 @@
+package io.github.sergeysenin.userservice.service.resource.placeholder;
+
+import io.github.sergeysenin.userservice.dto.avatar.AvatarPlaceholderDto;
+
+import org.springframework.stereotype.Component;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * Строит BlurHash (https://blurha.sh) и доминирующий цвет по уменьшенной копии изображения.
+ * Прозрачные пиксели для BlurHash накладываются на белый фон и не учитываются в доминирующем цвете.
+ */
+@Component
+public class ImagePlaceholderGenerator {
+
+    private static final int COMPONENTS_X = 4;
+    private static final int COMPONENTS_Y = 3;
+    private static final int SAMPLE_SIDE = 32;
+
+    private static final String BASE83_ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+    private static final int BASE83 = 83;
+    private static final int MAX_QUANTISED_AC = 82;
+    private static final double AC_QUANTISATION_STEP = 166.0;
+    private static final int AC_LEVELS = 19;
+
+    private static final int COLOR_BUCKET_SHIFT = 4;
+    private static final int OPAQUE_ALPHA_THRESHOLD = 128;
+    private static final int CHANNEL_MAX = 255;
+
+    private static final double[] SRGB_TO_LINEAR = buildSrgbToLinearTable();
+
+    public AvatarPlaceholderDto generate(BufferedImage image) {
+        BufferedImage sample = downscale(image);
+        int width = sample.getWidth();
+        int height = sample.getHeight();
+        int[] argb = sample.getRGB(0, 0, width, height, null, 0, width);
+
+        String blurHash = encodeBlurHash(argb, width, height);
+        String dominantColor = findDominantColor(argb);
+
+        return new AvatarPlaceholderDto(blurHash, dominantColor);
+    }
+
+    private static BufferedImage downscale(BufferedImage image) {
+        double scale = Math.min(1.0, (double) SAMPLE_SIDE / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage sample = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = sample.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return sample;
+    }
+
+    private static String encodeBlurHash(int[] argb, int width, int height) {
+        double[][] factors = new double[COMPONENTS_X * COMPONENTS_Y][];
+        double[][] cosX = cosineTable(COMPONENTS_X, width);
+        double[][] cosY = cosineTable(COMPONENTS_Y, height);
+
+        for (int j = 0; j < COMPONENTS_Y; j++) {
+            for (int i = 0; i < COMPONENTS_X; i++) {
+                double normalisation = i == 0 && j == 0 ? 1.0 : 2.0;
+                double red = 0;
+                double green = 0;
+                double blue = 0;
+
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        double basis = cosX[i][x] * cosY[j][y];
+                        int pixel = argb[y * width + x];
+                        red += basis * SRGB_TO_LINEAR[composeOnWhite(pixel >> 16, pixel)];
+                        green += basis * SRGB_TO_LINEAR[composeOnWhite(pixel >> 8, pixel)];
+                        blue += basis * SRGB_TO_LINEAR[composeOnWhite(pixel, pixel)];
+                    }
+                }
+
+                double scale = normalisation / (width * height);
+                factors[j * COMPONENTS_X + i] = new double[]{red * scale, green * scale, blue * scale};
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encodeBase83((COMPONENTS_X - 1) + (COMPONENTS_Y - 1) * 9, 1, hash);
+
+        double maximumValue = 0;
+        for (int index = 1; index < factors.length; index++) {
+            for (double channel : factors[index]) {
+                maximumValue = Math.max(maximumValue, Math.abs(channel));
+            }
+        }
+        int quantisedMaximum = clamp((int) Math.floor(maximumValue * AC_QUANTISATION_STEP - 0.5), 0, MAX_QUANTISED_AC);
+        double acScale = (quantisedMaximum + 1) / AC_QUANTISATION_STEP;
+        encodeBase83(quantisedMaximum, 1, hash);
+
+        double[] dc = factors[0];
+        encodeBase83((linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4, hash);
+
+        for (int index = 1; index < factors.length; index++) {
+            double[] ac = factors[index];
+            int value = quantiseAc(ac[0], acScale) * AC_LEVELS * AC_LEVELS +
+                    quantiseAc(ac[1], acScale) * AC_LEVELS +
+                    quantiseAc(ac[2], acScale);
+            encodeBase83(value, 2, hash);
+        }
+
+        return hash.toString();
+    }
+
+    /**
+     * Доминирующий цвет — средний цвет самой населённой ячейки гистограммы 16×16×16,
+     * а не среднее по всему изображению, которое для контрастных аватаров даёт «грязный» серый.
+     */
+    private static String findDominantColor(int[] argb) {
+        int bucketCount = 1 << (3 * (8 - COLOR_BUCKET_SHIFT));
+        int[] counts = new int[bucketCount];
+        long[] sums = new long[bucketCount * 3];
+
+        for (int pixel : argb) {
+            if ((pixel >>> 24) < OPAQUE_ALPHA_THRESHOLD) {
+                continue;
+            }
+            int red = (pixel >> 16) & CHANNEL_MAX;
+            int green = (pixel >> 8) & CHANNEL_MAX;
+            int blue = pixel & CHANNEL_MAX;
+            int bucketBits = 8 - COLOR_BUCKET_SHIFT;
+            int bucket = ((red >> COLOR_BUCKET_SHIFT) << (2 * bucketBits)) |
+                    ((green >> COLOR_BUCKET_SHIFT) << bucketBits) |
+                    (blue >> COLOR_BUCKET_SHIFT);
+
+            counts[bucket]++;
+            sums[bucket * 3] += red;
+            sums[bucket * 3 + 1] += green;
+            sums[bucket * 3 + 2] += blue;
+        }
+
+        int dominantBucket = 0;
+        for (int bucket = 1; bucket < bucketCount; bucket++) {
+            if (counts[bucket] > counts[dominantBucket]) {
+                dominantBucket = bucket;
+            }
+        }
+
+        int count = counts[dominantBucket];
+        if (count == 0) {
+            return null;
+        }
+
+        return String.format(Locale.ROOT, "#%02x%02x%02x",
+                sums[dominantBucket * 3] / count,
+                sums[dominantBucket * 3 + 1] / count,
+                sums[dominantBucket * 3 + 2] / count);
+    }
+
+    private static double[][] cosineTable(int components, int size) {
+        double[][] table = new double[components][size];
+        for (int component = 0; component < components; component++) {
+            for (int position = 0; position < size; position++) {
+                table[component][position] = Math.cos(Math.PI * component * position / size);
+            }
+        }
+        return table;
+    }
+
+    private static int composeOnWhite(int shiftedChannel, int pixel) {
+        int channel = shiftedChannel & CHANNEL_MAX;
+        int alpha = pixel >>> 24;
+        return (channel * alpha + CHANNEL_MAX * (CHANNEL_MAX - alpha) + CHANNEL_MAX / 2) / CHANNEL_MAX;
+    }
+
+    private static int quantiseAc(double value, double acScale) {
+        double normalized = value / acScale;
+        double signedRoot = Math.copySign(Math.sqrt(Math.abs(normalized)), normalized);
+        return clamp((int) Math.floor(signedRoot * 9 + 9.5), 0, AC_LEVELS - 1);
+    }
+
+    private static int linearToSrgb(double value) {
+        double clamped = Math.max(0, Math.min(1, value));
+        if (clamped <= 0.0031308) {
+            return (int) (clamped * 12.92 * CHANNEL_MAX + 0.5);
+        }
+        return (int) ((1.055 * Math.pow(clamped, 1 / 2.4) - 0.055) * CHANNEL_MAX + 0.5);
+    }
+
+    private static double[] buildSrgbToLinearTable() {
+        double[] table = new double[CHANNEL_MAX + 1];
+        for (int channel = 0; channel <= CHANNEL_MAX; channel++) {
+            double value = channel / (double) CHANNEL_MAX;
+            table[channel] = value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+        }
+        return table;
+    }
+
+    private static void encodeBase83(int value, int length, StringBuilder target) {
+        for (int position = 1; position <= length; position++) {
+            int divisor = (int) Math.pow(BASE83, length - position);
+            target.append(BASE83_ALPHABET.charAt((value / divisor) % BASE83));
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -11,19 +11,34 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3Service {
 
+    private static final int NOT_FOUND_STATUS = 404;
+
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     private final S3Properties s3Properties;
@@ -64,6 +79,49 @@ public class S3Service {
         }
     }
 
+    /**
+     * Удаляет все объекты с префиксом: страница листинга (до 1000 ключей) удаляется одним DeleteObjects.
+     */
+    public int removeObjectsByPrefix(String prefix) {
+        requireKey(prefix);
+
+        try {
+            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                    .bucket(s3Properties.bucketName())
+                    .prefix(prefix)
+                    .build();
+
+            int removed = 0;
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(listRequest)) {
+                List<ObjectIdentifier> objects = page.contents().stream()
+                        .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+                        .toList();
+                if (objects.isEmpty()) {
+                    continue;
+                }
+
+                DeleteObjectsResponse response = s3Client.deleteObjects(
+                        buildDeleteObjectsRequest(s3Properties.bucketName(), objects)
+                );
+                if (response.hasErrors() && !response.errors().isEmpty()) {
+                    throw new FileStorageException("Не удалось удалить файлы из хранилища: " + prefix +
+                            ", errors=" + response.errors().size());
+                }
+                removed += objects.size();
+            }
+
+            log.debug("S3 объекты удалены по префиксу: bucket={}, prefix={}, count={}",
+                    s3Properties.bucketName(), prefix, removed);
+
+            return removed;
+
+        } catch (SdkException exception) {
+            log.error("Сбой удаления объектов из S3 по префиксу: bucket={}, prefix={}",
+                    s3Properties.bucketName(), prefix, exception);
+            throw new FileStorageException("Не удалось удалить файлы из хранилища: " + prefix, exception);
+        }
+    }
+
     public String generatePresignedUrl(String s3ObjectKey) {
         requireKey(s3ObjectKey);
 
@@ -85,6 +143,87 @@ public class S3Service {
         }
     }
 
+    public PresignedPutObjectRequest generatePresignedUploadUrl(
+            String s3ObjectKey,
+            String contentType,
+            long contentLength,
+            Duration expiration
+    ) {
+        requireKey(s3ObjectKey);
+        requireContentType(contentType);
+
+        try {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(s3Properties.bucketName())
+                    .key(s3ObjectKey)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+            PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                    .signatureDuration(expiration)
+                    .putObjectRequest(request)
+                    .build();
+
+            var presignedPutObject = s3Presigner.presignPutObject(presignRequest);
+
+            log.debug("S3 presigned URL на загрузку создан: bucket={}, key={}, size={} bytes, expiresAt={}",
+                    s3Properties.bucketName(), s3ObjectKey, contentLength, presignedPutObject.expiration());
+
+            return presignedPutObject;
+
+        } catch (SdkException exception) {
+            log.error("Сбой генерации presigned URL на загрузку: bucket={}, key={}",
+                    s3Properties.bucketName(), s3ObjectKey, exception);
+            throw new FileStorageException("Не удалось сгенерировать ссылку на загрузку: " + s3ObjectKey, exception);
+        }
+    }
+
+    public Optional<HeadObjectResponse> findObjectMetadata(String s3ObjectKey) {
+        requireKey(s3ObjectKey);
+
+        try {
+            HeadObjectRequest request = HeadObjectRequest.builder()
+                    .bucket(s3Properties.bucketName())
+                    .key(s3ObjectKey)
+                    .build();
+
+            return Optional.of(s3Client.headObject(request));
+
+        } catch (S3Exception exception) {
+            if (exception.statusCode() == NOT_FOUND_STATUS) {
+                log.debug("S3 объект не найден: bucket={}, key={}", s3Properties.bucketName(), s3ObjectKey);
+                return Optional.empty();
+            }
+            log.error("Сбой чтения метаданных объекта S3: bucket={}, key={}",
+                    s3Properties.bucketName(), s3ObjectKey, exception);
+            throw new FileStorageException("Не удалось прочитать метаданные файла: " + s3ObjectKey, exception);
+
+        } catch (SdkException exception) {
+            log.error("Сбой чтения метаданных объекта S3: bucket={}, key={}",
+                    s3Properties.bucketName(), s3ObjectKey, exception);
+            throw new FileStorageException("Не удалось прочитать метаданные файла: " + s3ObjectKey, exception);
+        }
+    }
+
+    public byte[] loadObject(String s3ObjectKey) {
+        requireKey(s3ObjectKey);
+
+        try {
+            GetObjectRequest request = buildGetObjectRequest(s3Properties.bucketName(), s3ObjectKey);
+            byte[] objectData = s3Client.getObjectAsBytes(request).asByteArray();
+
+            log.debug("S3 объект прочитан: bucket={}, key={}, size={} bytes",
+                    s3Properties.bucketName(), s3ObjectKey, objectData.length);
+
+            return objectData;
+
+        } catch (SdkException exception) {
+            log.error("Сбой чтения объекта из S3: bucket={}, key={}",
+                    s3Properties.bucketName(), s3ObjectKey, exception);
+            throw new FileStorageException("Не удалось прочитать файл из хранилища: " + s3ObjectKey, exception);
+        }
+    }
+
     private PutObjectRequest buildPutObjectRequest(String bucket, String key, String contentType) {
         return PutObjectRequest.builder()
                 .bucket(bucket)
@@ -100,6 +239,16 @@ public class S3Service {
                 .build();
     }
 
+    private DeleteObjectsRequest buildDeleteObjectsRequest(String bucket, List<ObjectIdentifier> objects) {
+        return DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(Delete.builder()
+                        .objects(objects)
+                        .quiet(true)
+                        .build())
+                .build();
+    }
+
     private GetObjectRequest buildGetObjectRequest(String bucket, String key) {
         return GetObjectRequest.builder()
                 .bucket(bucket)
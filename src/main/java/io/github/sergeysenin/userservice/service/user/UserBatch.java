@@ -0,0 +1,11 @@
+package io.github.sergeysenin.userservice.service.user;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+
+import java.util.List;
+
+/**
+ * Результат пакетного чтения: найденные пользователи и отсутствующие идентификаторы в порядке запроса.
+ */
+public record UserBatch(List<User> found, List<Long> missing) {
+}
@@ -0,0 +1,11 @@
+package io.github.sergeysenin.userservice.service.user;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+
+import java.util.List;
+
+/**
+ * Страница списка пользователей; {@code nextCursor} равен {@code null} на последней странице.
+ */
+public record UserPage(List<User> users, String nextCursor) {
+}
@@ -1,30 +1,85 @@
 package io.github.sergeysenin.userservice.service.user;
 
+import io.github.sergeysenin.userservice.config.datasource.DataSourceRoutingContext;
 import io.github.sergeysenin.userservice.dto.user.CreateUserRequest;
 import io.github.sergeysenin.userservice.dto.user.UpdateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
 import io.github.sergeysenin.userservice.entity.user.User;
 import io.github.sergeysenin.userservice.entity.user.country.Country;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.exception.type.UserAlreadyExistsException;
 import io.github.sergeysenin.userservice.exception.type.UserNotFoundException;
+import io.github.sergeysenin.userservice.exception.type.UserVersionConflictException;
+import io.github.sergeysenin.userservice.mapper.user.UserMapper;
+import io.github.sergeysenin.userservice.repository.user.UserKeyRepository;
+import io.github.sergeysenin.userservice.repository.user.UserKeyRepository.UserKey;
+import io.github.sergeysenin.userservice.repository.user.UserPatchRepository;
+import io.github.sergeysenin.userservice.repository.user.UserProfileReadRepository;
+import io.github.sergeysenin.userservice.repository.user.UserProfileValidator;
 import io.github.sergeysenin.userservice.repository.user.UserRepository;
-
+import io.github.sergeysenin.userservice.repository.user.listing.UserKeyset;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListFilter;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+import io.github.sergeysenin.userservice.repository.user.search.UserSearchHit;
+import io.github.sergeysenin.userservice.repository.user.search.UserSearchRepository;
+import io.github.sergeysenin.userservice.service.user.cache.SingleFlight;
+import io.github.sergeysenin.userservice.service.user.cache.UserProfileCache;
 import io.github.sergeysenin.userservice.service.user.country.CountryService;
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+import io.github.sergeysenin.userservice.service.user.existence.UserExistenceFilter;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+import io.github.sergeysenin.userservice.service.user.listing.UserListCursor;
+import io.github.sergeysenin.userservice.service.user.outbox.UserEventType;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+import io.github.sergeysenin.userservice.service.user.search.UserSearchCursor;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserSearchRepository userSearchRepository;
+    private final UserPatchRepository userPatchRepository;
+    private final UserProfileReadRepository userProfileReadRepository;
+    private final UserKeyRepository userKeyRepository;
     private final CountryService countryService;
+    private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+    private final SingleFlight<Long, UserResponse> userProfileLoads;
+    private final HotKeyTracker hotKeyTracker;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserOutbox userOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Занятые логин, email или телефон дают 409 с перечнем полей до {@code INSERT}. Проверка пропускается,
+     * если фильтр существования точно знает, что все три значения свободны; гонку двух созданий
+     * по-прежнему разрешают уникальные ограничения БД.
+     */
     @Transactional
     public User createUser(CreateUserRequest request) {
         Country country = countryService.getCountryOrThrow(request.countryId());
+        checkUniqueKeysAvailable(request);
 
         var user = User.builder()
                 .username(request.username())
@@ -38,7 +93,7 @@ public class UserService {
                 .userProfileAvatar(null)
                 .build();
 
-        return userRepository.save(user);
+        return saveAndPublish(user, UserEventType.USER_CREATED);
     }
 
     @Transactional
@@ -59,17 +114,205 @@ public class UserService {
                 request.experience()
         );
 
-        return userRepository.save(user);
+        return saveAndPublish(user, UserEventType.USER_UPDATED);
+    }
+
+    /**
+     * Частичное обновление за один запрос к БД. При {@code expectedVersion} обновление выполняется, только если
+     * версия профиля не изменилась; второй запрос нужен лишь для диагностики неуспешного обновления.
+     */
+    @Transactional
+    public UserResponse patchUser(Long userId, UpdateUserRequest request, Long expectedVersion) {
+        if (isEmpty(request)) {
+            throw new DataValidationException("Не передано ни одного поля для обновления");
+        }
+        if (request.countryId() != null) {
+            countryService.checkCountryExists(request.countryId());
+        }
+
+        UserResponse updated = userPatchRepository.patch(userId, request, expectedVersion)
+                .orElseThrow(() -> patchFailure(userId, expectedVersion));
+
+        userExistenceFilter.put(userId, updated.username(), updated.email(), updated.phone());
+        userOutbox.append(UserEventType.USER_UPDATED, updated);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
+        return updated;
     }
 
     @Transactional(readOnly = true)
     public User getUserByIdOrThrow(Long userId) {
-        return userRepository.findWithCountryById(userId)
+        return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден: id=" + userId));
     }
 
+    /**
+     * Один запрос {@code IN} на весь пакет; дубликаты идентификаторов схлопываются, порядок запроса сохраняется.
+     */
+    @Transactional(readOnly = true)
+    public UserBatch getUsersByIds(Collection<Long> userIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(userIds);
+        Map<Long, User> usersById = userRepository.findAllByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<User> found = new ArrayList<>(usersById.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : requestedIds) {
+            User user = usersById.get(userId);
+            if (user != null) {
+                found.add(user);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        log.debug("Пакетное чтение пользователей: requested={}, found={}", requestedIds.size(), found.size());
+        return new UserBatch(found, missing);
+    }
+
+    /**
+     * Keyset-пагинация: запрашивается на одну строку больше лимита, чтобы понять, есть ли следующая страница.
+     */
+    @Transactional(readOnly = true)
+    public UserPage listUsers(UserListFilter filter, UserListSort sort, String cursor, int limit) {
+        UserKeyset after = cursor != null ? UserListCursor.decode(cursor, sort) : null;
+        List<User> rows = userRepository.findPage(filter, sort, after, limit + 1);
+
+        if (rows.size() <= limit) {
+            return new UserPage(rows, null);
+        }
+
+        List<User> users = rows.subList(0, limit);
+        return new UserPage(users, UserListCursor.encode(sort, users.get(limit - 1)));
+    }
+
+    /**
+     * Ранжированный поиск: репозиторий отдаёт страницу {@code (id, score)}, профили догружаются одним
+     * запросом по первичному ключу и выстраиваются в порядке релевантности.
+     */
+    @Transactional(readOnly = true)
+    public UserPage searchUsers(String text, String cursor, int limit) {
+        String normalizedText = text.trim();
+        UserSearchHit after = cursor != null ? UserSearchCursor.decode(cursor, normalizedText) : null;
+        List<UserSearchHit> hits = userSearchRepository.search(normalizedText, after, limit + 1);
+
+        boolean hasNext = hits.size() > limit;
+        List<UserSearchHit> pageHits = hasNext ? hits.subList(0, limit) : hits;
+
+        Map<Long, User> usersById = userRepository.findAllByIdIn(pageHits.stream().map(UserSearchHit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> users = pageHits.stream()
+                .map(hit -> usersById.get(hit.id()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        String nextCursor = hasNext ? UserSearchCursor.encode(normalizedText, pageHits.get(limit - 1)) : null;
+        return new UserPage(users, nextCursor);
+    }
+
+    /**
+     * Профиль для API: читается через кеш, в БД идёт только промах или раннее обновление записи.
+     * Промах читается проекцией JDBC без сущности и из основной БД: профиль с отстающей реплики
+     * прожил бы в кеше весь TTL. Одновременные промахи одного id (истёкшая горячая запись, холодный старт,
+     * выключенный кеш) ждут один запрос к БД. Чтение учитывается в частоте ключей: горячие профили
+     * дольше живут в локальном кеше. Id, которого нет в фильтре существования, получает 404 без кеша и загрузки
+     * профиля; в БД проверяется лишь ограниченная бюджетом доля таких промахов.
+     */
+    public UserResponse getUserResponseByIdOrThrow(Long userId) {
+        ensureMayExist(userId);
+        hotKeyTracker.record(HotKeyPath.PROFILE, userId);
+        return userProfileCache.get(userId, () -> userProfileLoads.load(userId, () -> loadProfile(userId)));
+    }
+
+    /**
+     * Валидаторы для условного GET берутся из кеша, а при промахе — index-only запросом; профиль не загружается.
+     */
+    public UserProfileValidator getUserValidatorOrThrow(Long userId) {
+        ensureMayExist(userId);
+        return userProfileCache.getIfPresent(userId)
+                .map(UserProfileValidator::of)
+                .orElseGet(() -> userProfileReadRepository.findValidator(userId)
+                        .orElseThrow(() -> new UserNotFoundException("Пользователь не найден: id=" + userId)));
+    }
+
     @Transactional
-    public User save(User user) {
-        return userRepository.save(user);
+    public User saveAvatarChange(User user) {
+        return saveAndPublish(user, UserEventType.AVATAR_CHANGED);
+    }
+
+    /**
+     * Пока узел не получил сообщение о создании (потеряно или ещё в пути), фильтр не знает о новом пользователе,
+     * поэтому промах в пределах бюджета проверяется index-only запросом в основной БД, а найденный id дописывается
+     * в фильтр. Сверх бюджета — перебор id — 404 отдаётся сразу, без запросов к БД.
+     */
+    private void ensureMayExist(Long userId) {
+        if (!userExistenceFilter.definitelyMissing(userId)) {
+            return;
+        }
+        if (!userExistenceFilter.tryAcquireConfirmation() ||
+                DataSourceRoutingContext.onPrimary(() -> userProfileReadRepository.findValidator(userId)).isEmpty()) {
+            throw new UserNotFoundException("Пользователь не найден: id=" + userId);
+        }
+
+        log.debug("Пользователь отсутствует в фильтре существования, id добавлен: id={}", userId);
+        userExistenceFilter.putId(userId);
+    }
+
+    private void checkUniqueKeysAvailable(CreateUserRequest request) {
+        if (userExistenceFilter.definitelyFree(request.username(), request.email(), request.phone())) {
+            return;
+        }
+
+        Set<UserKey> taken = userKeyRepository.findTaken(request.username(), request.email(), request.phone());
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> details = new LinkedHashMap<>();
+        if (taken.contains(UserKey.USERNAME)) {
+            details.put("username", "Логин уже занят");
+        }
+        if (taken.contains(UserKey.EMAIL)) {
+            details.put("email", "Email уже занят");
+        }
+        if (taken.contains(UserKey.PHONE)) {
+            details.put("phone", "Телефон уже занят");
+        }
+        throw new UserAlreadyExistsException("Пользователь с такими данными уже существует", details);
+    }
+
+    private UserResponse loadProfile(Long userId) {
+        return DataSourceRoutingContext.onPrimary(() -> userProfileReadRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Пользователь не найден: id=" + userId)));
+    }
+
+    private RuntimeException patchFailure(Long userId, Long expectedVersion) {
+        return userPatchRepository.findVersion(userId)
+                .<RuntimeException>map(currentVersion -> new UserVersionConflictException(
+                        "Версия профиля не совпадает: ожидалась " + expectedVersion + ", текущая " + currentVersion
+                ))
+                .orElseGet(() -> new UserNotFoundException("Пользователь не найден: id=" + userId));
+    }
+
+    private static boolean isEmpty(UpdateUserRequest request) {
+        return request.username() == null &&
+                request.email() == null &&
+                request.phone() == null &&
+                request.active() == null &&
+                request.aboutMe() == null &&
+                request.countryId() == null &&
+                request.city() == null &&
+                request.experience() == null;
+    }
+
+    /**
+     * Сброс до записи в outbox: событие должно нести итоговые версию, id и временные метки из БД.
+     */
+    private User saveAndPublish(User user, UserEventType eventType) {
+        var savedUser = userRepository.saveAndFlush(user);
+        userExistenceFilter.put(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(), savedUser.getPhone());
+        userOutbox.append(eventType, userMapper.toResponse(savedUser));
+        eventPublisher.publishEvent(new UserProfileChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 }
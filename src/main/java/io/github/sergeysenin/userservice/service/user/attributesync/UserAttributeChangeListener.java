@@ -0,0 +1,90 @@
+package io.github.sergeysenin.userservice.service.user.attributesync;
+
+import io.github.sergeysenin.userservice.config.attributesync.UserAttributeSyncConfig;
+import io.github.sergeysenin.userservice.dto.user.UserAttributeChange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Пакетный потребитель изменений атрибутов из HR-системы. Смещения пакета фиксируются только после того,
+ * как метод вернул управление, то есть после коммита транзакции БД; при ошибке пакет читается повторно.
+ * Повтор безопасен: уже применённые значения не меняют строку.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.attribute-sync", name = "enabled", havingValue = "true")
+public class UserAttributeChangeListener {
+
+    private final UserAttributeSyncService userAttributeSyncService;
+    private final ObjectReader changeReader;
+    private final Counter receivedCounter;
+    private final Counter rejectedCounter;
+    private final Counter appliedCounter;
+
+    public UserAttributeChangeListener(
+            UserAttributeSyncService userAttributeSyncService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.userAttributeSyncService = userAttributeSyncService;
+        this.changeReader = objectMapper.readerFor(UserAttributeChange.class);
+        this.receivedCounter = Counter.builder("user.attribute-sync.received")
+                .description("Прочитанные изменения атрибутов из HR-системы")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("user.attribute-sync.rejected")
+                .description("Нечитаемые сообщения с изменениями атрибутов")
+                .register(meterRegistry);
+        this.appliedCounter = Counter.builder("user.attribute-sync.applied")
+                .description("Профили, изменённые синхронизацией атрибутов")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "${user.attribute-sync.topic}",
+            groupId = "${user.attribute-sync.group-id}",
+            containerFactory = UserAttributeSyncConfig.CONTAINER_FACTORY
+    )
+    public void onChanges(List<ConsumerRecord<String, String>> records) {
+        List<UserAttributeChange> changes = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            UserAttributeChange change = parse(record);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+
+        receivedCounter.increment(records.size());
+        appliedCounter.increment(userAttributeSyncService.applyChanges(changes));
+    }
+
+    private UserAttributeChange parse(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            rejectedCounter.increment();
+            return null;
+        }
+        try {
+            return changeReader.readValue(record.value());
+        } catch (JsonProcessingException exception) {
+            // Повтор не поможет: сообщение пропускается, чтобы не блокировать партицию.
+            rejectedCounter.increment();
+            log.warn("Нечитаемое изменение атрибутов пропущено: partition={}, offset={}",
+                    record.partition(), record.offset(), exception);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.sergeysenin.userservice.service.user.attributesync;
+
+import io.github.sergeysenin.userservice.dto.user.UserAttributeChange;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.repository.user.UserAttributeRepository;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+import io.github.sergeysenin.userservice.service.user.outbox.UserEventType;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Применение пакета изменений атрибутов из HR-системы: изменения одного пользователя схлопываются в одно
+ * (побеждают более поздние поля), затем весь пакет пишется одним запросом. События {@code UserUpdated}
+ * попадают в outbox в той же транзакции, кеш профиля инвалидируется после коммита.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAttributeSyncService {
+
+    private static final int MAX_CITY_LENGTH = 64;
+
+    private final UserAttributeRepository userAttributeRepository;
+    private final CountryRegistry countryRegistry;
+    private final UserOutbox userOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Изменения передаются в порядке чтения из партиции. Возвращает число фактически изменённых профилей.
+     */
+    @Transactional
+    public int applyChanges(List<UserAttributeChange> changes) {
+        List<UserAttributeChange> coalesced = coalesce(changes);
+        if (coalesced.isEmpty()) {
+            return 0;
+        }
+
+        List<UserResponse> updated = userAttributeRepository.updateAll(coalesced);
+        userOutbox.appendAll(UserEventType.USER_UPDATED, updated);
+        updated.forEach(user -> eventPublisher.publishEvent(new UserProfileChangedEvent(user.id())));
+
+        log.debug("Применены изменения атрибутов: received={}, coalesced={}, updated={}",
+                changes.size(), coalesced.size(), updated.size());
+        return updated.size();
+    }
+
+    private List<UserAttributeChange> coalesce(List<UserAttributeChange> changes) {
+        Map<Long, UserAttributeChange> byUserId = new HashMap<>();
+        for (UserAttributeChange change : changes) {
+            UserAttributeChange sanitized = sanitize(change);
+            if (sanitized != null) {
+                byUserId.merge(sanitized.userId(), sanitized, UserAttributeChange::mergeWith);
+            }
+        }
+        return byUserId.values().stream()
+                .sorted(Comparator.comparing(UserAttributeChange::userId))
+                .toList();
+    }
+
+    /**
+     * Недопустимое поле отбрасывается, остальные применяются: одно неверное значение из HR-системы
+     * не должно останавливать разбор партиции.
+     */
+    private UserAttributeChange sanitize(UserAttributeChange change) {
+        if (change.userId() == null) {
+            log.warn("Изменение атрибутов без userId пропущено");
+            return null;
+        }
+
+        String city = change.city();
+        if (city != null && (city.isBlank() || city.length() > MAX_CITY_LENGTH)) {
+            log.warn("Недопустимый город пропущен: userId={}, length={}", change.userId(), city.length());
+            city = null;
+        }
+        Long countryId = change.countryId();
+        if (countryId != null && countryRegistry.find(countryId).isEmpty()) {
+            log.warn("Неизвестная страна пропущена: userId={}, countryId={}", change.userId(), countryId);
+            countryId = null;
+        }
+
+        var sanitized = new UserAttributeChange(change.userId(), change.active(), city, countryId);
+        return sanitized.isEmpty() ? null : sanitized;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.sergeysenin.userservice.service.user.bulkimport;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Строка CSV как есть: числа и флаги разбираются вручную, чтобы ошибка формата попала в отчёт по строке.
+ * Лишние колонки игнорируются — файл выгрузки {@code GET /users/export} импортируется без правок.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserImportRow(
+
+        @JsonProperty("username")
+        String username,
+
+        @JsonProperty("email")
+        String email,
+
+        @JsonProperty("phone")
+        String phone,
+
+        @JsonProperty("active")
+        String active,
+
+        @JsonProperty("country_id")
+        String countryId,
+
+        @JsonProperty("city")
+        String city,
+
+        @JsonProperty("experience")
+        String experience,
+
+        @JsonProperty("about_me")
+        String aboutMe
+) {
+}
@@ -0,0 +1,438 @@
+package io.github.sergeysenin.userservice.service.user.bulkimport;
+
+import io.github.sergeysenin.userservice.config.bulkimport.UserImportProperties;
+import io.github.sergeysenin.userservice.dto.user.CreateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UserImportErrorDto;
+import io.github.sergeysenin.userservice.dto.user.UserImportReport;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.mapper.user.UserResponseRowMapper;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+import io.github.sergeysenin.userservice.service.user.existence.UserExistenceFilter;
+import io.github.sergeysenin.userservice.service.user.outbox.UserEventType;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Массовый импорт пользователей из CSV. Файл читается потоково и обрабатывается пакетами по
+ * {@code user.import.batch-size} строк: пакет валидируется параллельно, затем вставляется одним
+ * {@code INSERT ... SELECT FROM unnest(...)} с {@code ON CONFLICT DO NOTHING}. Строки, не попавшие в
+ * {@code RETURNING}, упёрлись в уникальность; занятые поля уточняются одним запросом на пакет.
+ * Id раздаются локально из блоков {@code user_id_seq}: один {@code nextval} на {@value User#ID_ALLOCATION_SIZE} строк
+ * вместо DEFAULT, который при шаге последовательности 50 сжигал бы 50 id на каждую строку.
+ * Ошибка строки не прерывает импорт — она попадает в отчёт.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO users (id, username, email, phone, active, about_me, country_id, city, experience)
+            SELECT * FROM unnest(
+                    ?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::boolean[],
+                    ?::varchar[], ?::bigint[], ?::varchar[], ?::smallint[]
+            )
+            ON CONFLICT DO NOTHING
+            RETURNING %s
+            """.formatted(UserResponseRowMapper.COLUMNS);
+
+    // Каждый nextval резервирует блок из User.ID_ALLOCATION_SIZE id, как пул Hibernate: (значение - 50, значение].
+    private static final String ID_BLOCKS_SQL = "SELECT nextval('user_id_seq') FROM generate_series(1, ?)";
+
+    private static final String TAKEN_VALUES_SQL = """
+            SELECT username, email, phone
+            FROM users
+            WHERE username = ANY(?) OR email = ANY(?) OR phone = ANY(?)
+            """;
+
+    private static final Map<String, String> CSV_COLUMNS = Map.of(
+            "countryId", "country_id",
+            "aboutMe", "about_me"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserResponseRowMapper userResponseRowMapper;
+    private final UserOutbox userOutbox;
+    private final ObjectReader rowReader;
+    private final Validator validator;
+    private final CountryRegistry countryRegistry;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserImportProperties properties;
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            UserResponseRowMapper userResponseRowMapper,
+            UserOutbox userOutbox,
+            Validator validator,
+            CountryRegistry countryRegistry,
+            UserExistenceFilter userExistenceFilter,
+            UserImportProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userResponseRowMapper = userResponseRowMapper;
+        this.userOutbox = userOutbox;
+        // Собственный экземпляр, а не бин: CsvMapper — это ObjectMapper и вытеснил бы JSON-маппер Spring Boot.
+        this.rowReader = new CsvMapper().readerFor(UserImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.TRIM_SPACES)
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES);
+        this.validator = validator;
+        this.countryRegistry = countryRegistry;
+        this.userExistenceFilter = userExistenceFilter;
+        this.properties = properties;
+    }
+
+    /**
+     * Номер строки в отчёте — порядковый номер записи данных (заголовок не считается).
+     */
+    public UserImportReport importCsv(InputStream inputStream) {
+        long startedAt = System.nanoTime();
+        var report = new ReportBuilder(properties.maxReportedErrors());
+        List<NumberedRow> chunk = new ArrayList<>(properties.batchSize());
+        long rowNumber = 0;
+
+        try (MappingIterator<UserImportRow> rows = rowReader.readValues(inputStream)) {
+            while (rows.hasNextValue()) {
+                chunk.add(new NumberedRow(++rowNumber, rows.nextValue()));
+                if (chunk.size() == properties.batchSize()) {
+                    processChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException exception) {
+            throw new DataValidationException(
+                    "Некорректный CSV после строки " + rowNumber + ", импортировано строк: " + report.imported,
+                    exception
+            );
+        }
+        processChunk(chunk, report);
+
+        UserImportReport result = report.build(rowNumber);
+        log.info("Импорт пользователей завершён: total={}, imported={}, failed={}, elapsedMs={}",
+                result.totalRows(), result.importedRows(), result.failedRows(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return result;
+    }
+
+    private void processChunk(List<NumberedRow> chunk, ReportBuilder report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(this::validate)
+                .toList();
+
+        List<UserImportErrorDto> errors = new ArrayList<>();
+        List<ValidatedRow> valid = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.errors().isEmpty()) {
+                valid.add(row);
+            } else {
+                errors.addAll(row.errors());
+                report.failed++;
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<ValidatedRow> conflicted = insert(valid);
+            report.imported += valid.size() - conflicted.size();
+            report.failed += conflicted.size();
+            errors.addAll(describeConflicts(conflicted));
+        }
+
+        errors.sort(Comparator.comparingLong(UserImportErrorDto::row));
+        report.addErrors(errors);
+    }
+
+    private ValidatedRow validate(NumberedRow numberedRow) {
+        UserImportRow row = numberedRow.row();
+        long rowNumber = numberedRow.number();
+        List<UserImportErrorDto> errors = new ArrayList<>();
+
+        Boolean active = parseBoolean(rowNumber, "active", row.active(), errors);
+        Long countryId = parseNumber(rowNumber, "country_id", row.countryId(), Long::valueOf, errors);
+        Short experience = parseNumber(rowNumber, "experience", row.experience(), Short::valueOf, errors);
+
+        var request = new CreateUserRequest(
+                blankToNull(row.username()),
+                blankToNull(row.email()),
+                blankToNull(row.phone()),
+                active,
+                blankToNull(row.aboutMe()),
+                countryId,
+                blankToNull(row.city()),
+                experience
+        );
+
+        for (ConstraintViolation<CreateUserRequest> violation : validator.validate(request)) {
+            String property = violation.getPropertyPath().toString();
+            errors.add(new UserImportErrorDto(
+                    rowNumber, CSV_COLUMNS.getOrDefault(property, property), violation.getMessage()
+            ));
+        }
+        if (countryId != null && countryRegistry.find(countryId).isEmpty()) {
+            errors.add(new UserImportErrorDto(rowNumber, "country_id", "Страна не найдена: id=" + countryId));
+        }
+
+        return new ValidatedRow(rowNumber, request, errors);
+    }
+
+    /**
+     * Возвращает строки, которые не были вставлены из-за конфликта уникальности.
+     * Дубликаты внутри пакета учитываются по кратности: вставляется только первая из одинаковых строк.
+     * События {@code UserCreated} пишутся в outbox в одной транзакции со вставкой пакета. Новые id после коммита
+     * добавляются в фильтр существования и рассылаются остальным узлам одним сообщением на пакет.
+     */
+    private List<ValidatedRow> insert(List<ValidatedRow> rows) {
+        Long[] ids = allocateIds(rows.size());
+        List<UserResponse> inserted = transactionTemplate.execute(status -> {
+            List<UserResponse> created = jdbcTemplate.query(
+                    connection -> prepareInsert(connection, ids, rows), userResponseRowMapper
+            );
+            userOutbox.appendAll(UserEventType.USER_CREATED, created);
+            return created;
+        });
+        Objects.requireNonNull(inserted).forEach(user ->
+                userExistenceFilter.put(user.id(), user.username(), user.email(), user.phone())
+        );
+        userExistenceFilter.announce(inserted.stream().map(UserResponse::id).toList());
+
+        Map<UserKey, Integer> remaining = new HashMap<>();
+        inserted.forEach(user -> remaining.merge(
+                new UserKey(user.username(), user.email(), user.phone()), 1, Integer::sum
+        ));
+
+        List<ValidatedRow> conflicted = new ArrayList<>();
+        for (ValidatedRow row : rows) {
+            UserKey key = UserKey.of(row.request());
+            Integer count = remaining.get(key);
+            if (count != null && count > 0) {
+                remaining.put(key, count - 1);
+            } else {
+                conflicted.add(row);
+            }
+        }
+        return conflicted;
+    }
+
+    /**
+     * Id строк, упёршихся в уникальность, не переиспользуются — как и у DEFAULT, последовательность допускает пропуски.
+     */
+    private Long[] allocateIds(int count) {
+        int blocks = (count + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+        List<Long> blockEnds = jdbcTemplate.queryForList(ID_BLOCKS_SQL, Long.class, blocks);
+
+        Long[] ids = new Long[count];
+        int index = 0;
+        for (Long blockEnd : blockEnds) {
+            for (long id = blockEnd - User.ID_ALLOCATION_SIZE + 1; id <= blockEnd && index < count; id++) {
+                ids[index++] = id;
+            }
+        }
+        if (index < count) {
+            throw new IllegalStateException("Последовательность user_id_seq выдала меньше блоков, чем запрошено");
+        }
+        return ids;
+    }
+
+    private PreparedStatement prepareInsert(Connection connection, Long[] ids, List<ValidatedRow> rows)
+            throws SQLException {
+        int size = rows.size();
+        String[] usernames = new String[size];
+        String[] emails = new String[size];
+        String[] phones = new String[size];
+        Boolean[] active = new Boolean[size];
+        String[] aboutMe = new String[size];
+        Long[] countryIds = new Long[size];
+        String[] cities = new String[size];
+        Short[] experience = new Short[size];
+
+        for (int i = 0; i < size; i++) {
+            CreateUserRequest request = rows.get(i).request();
+            usernames[i] = request.username();
+            emails[i] = request.email();
+            phones[i] = request.phone();
+            active[i] = request.active() != null ? request.active() : Boolean.TRUE;
+            aboutMe[i] = request.aboutMe();
+            countryIds[i] = request.countryId();
+            cities[i] = request.city();
+            experience[i] = request.experience();
+        }
+
+        PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+        statement.setArray(1, connection.createArrayOf("bigint", ids));
+        statement.setArray(2, connection.createArrayOf("varchar", usernames));
+        statement.setArray(3, connection.createArrayOf("varchar", emails));
+        statement.setArray(4, connection.createArrayOf("varchar", phones));
+        statement.setArray(5, connection.createArrayOf("boolean", active));
+        statement.setArray(6, connection.createArrayOf("varchar", aboutMe));
+        statement.setArray(7, connection.createArrayOf("bigint", countryIds));
+        statement.setArray(8, connection.createArrayOf("varchar", cities));
+        statement.setArray(9, connection.createArrayOf("smallint", experience));
+        return statement;
+    }
+
+    private List<UserImportErrorDto> describeConflicts(List<ValidatedRow> conflicted) {
+        if (conflicted.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        jdbcTemplate.query(
+                connection -> prepareTakenValuesQuery(connection, conflicted),
+                resultSet -> {
+                    takenUsernames.add(resultSet.getString("username"));
+                    takenEmails.add(resultSet.getString("email"));
+                    takenPhones.add(resultSet.getString("phone"));
+                }
+        );
+
+        List<UserImportErrorDto> errors = new ArrayList<>();
+        for (ValidatedRow row : conflicted) {
+            CreateUserRequest request = row.request();
+            int before = errors.size();
+            if (takenUsernames.contains(request.username())) {
+                errors.add(new UserImportErrorDto(row.number(), "username", "Логин уже занят"));
+            }
+            if (takenEmails.contains(request.email())) {
+                errors.add(new UserImportErrorDto(row.number(), "email", "Email уже занят"));
+            }
+            if (takenPhones.contains(request.phone())) {
+                errors.add(new UserImportErrorDto(row.number(), "phone", "Телефон уже занят"));
+            }
+            if (errors.size() == before) {
+                errors.add(new UserImportErrorDto(row.number(), null, "Нарушено ограничение уникальности"));
+            }
+        }
+        return errors;
+    }
+
+    private PreparedStatement prepareTakenValuesQuery(Connection connection, List<ValidatedRow> rows)
+            throws SQLException {
+        String[] usernames = rows.stream().map(row -> row.request().username()).toArray(String[]::new);
+        String[] emails = rows.stream().map(row -> row.request().email()).toArray(String[]::new);
+        String[] phones = rows.stream().map(row -> row.request().phone()).toArray(String[]::new);
+
+        PreparedStatement statement = connection.prepareStatement(TAKEN_VALUES_SQL);
+        statement.setArray(1, connection.createArrayOf("varchar", usernames));
+        statement.setArray(2, connection.createArrayOf("varchar", emails));
+        statement.setArray(3, connection.createArrayOf("varchar", phones));
+        return statement;
+    }
+
+    private static Boolean parseBoolean(long row, String column, String value, List<UserImportErrorDto> errors) {
+        String normalized = blankToNull(value);
+        if (normalized == null) {
+            return null;
+        }
+        return switch (normalized.toLowerCase(Locale.ROOT)) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> {
+                errors.add(new UserImportErrorDto(row, column, "Ожидается true или false: " + value));
+                yield null;
+            }
+        };
+    }
+
+    private static <T> T parseNumber(
+            long row,
+            String column,
+            String value,
+            Function<String, T> parser,
+            List<UserImportErrorDto> errors
+    ) {
+        String normalized = blankToNull(value);
+        if (normalized == null) {
+            return null;
+        }
+        try {
+            return parser.apply(normalized);
+        } catch (NumberFormatException exception) {
+            errors.add(new UserImportErrorDto(row, column, "Некорректное число: " + value));
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private record NumberedRow(long number, UserImportRow row) {
+    }
+
+    private record ValidatedRow(long number, CreateUserRequest request, List<UserImportErrorDto> errors) {
+    }
+
+    private record UserKey(String username, String email, String phone) {
+
+        static UserKey of(CreateUserRequest request) {
+            return new UserKey(request.username(), request.email(), request.phone());
+        }
+    }
+
+    private static final class ReportBuilder {
+
+        private final int maxReportedErrors;
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private boolean truncated;
+
+        ReportBuilder(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void addErrors(List<UserImportErrorDto> chunkErrors) {
+            for (UserImportErrorDto error : chunkErrors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(error);
+                } else {
+                    truncated = true;
+                    return;
+                }
+            }
+        }
+
+        UserImportReport build(long totalRows) {
+            return new UserImportReport(totalRows, imported, failed, List.copyOf(errors), truncated);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Запись кеша: кроме профиля хранит время его вычисления и момент истечения
+ * для вероятностного раннего обновления (XFetch).
+ */
+record CachedUserProfile(
+
+        @JsonProperty("value")
+        UserResponse value,
+
+        @JsonProperty("computeMillis")
+        long computeMillis,
+
+        @JsonProperty("expiresAtMillis")
+        long expiresAtMillis
+) {
+}
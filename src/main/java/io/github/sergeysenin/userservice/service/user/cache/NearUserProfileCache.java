@@ -0,0 +1,141 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.HotKeyProperties;
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Двухуровневый кеш профилей: ограниченный локальный L1 (Caffeine, W-TinyLFU) перед Redis L2.
+ * Изменение профиля рассылается всем узлам через Redis pub/sub; если сообщение потеряно,
+ * устаревшая запись L1 живёт не дольше короткого {@code local-ttl}.
+ * В L1 лежит неизменяемый {@link UserResponse}, а не управляемая сущность: её используют пути записи.
+ * Горячие профили узла (см. {@link HotKeyTracker}) живут в L1 до {@code user.hot-keys.hot-ttl}, но после
+ * {@code local-ttl} перечитываются из L2 в фоне: потерянная инвалидация по-прежнему стареет не дольше
+ * {@code local-ttl} (плюс одно чтение, обслуженное до обновления), а промахов L1 у горячих ключей нет.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "user.cache.profile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NearUserProfileCache implements UserProfileCache {
+
+    private static final String METRIC_CACHE_NAME = "userProfileL1";
+
+    private final RedisUserProfileCache redisUserProfileCache;
+    private final StringRedisTemplate redisTemplate;
+    private final UserProfileCacheProperties properties;
+    private final Cache<Long, UserResponse> localCache;
+
+    public NearUserProfileCache(
+            RedisUserProfileCache redisUserProfileCache,
+            StringRedisTemplate redisTemplate,
+            UserProfileCacheProperties properties,
+            HotKeyTracker hotKeyTracker,
+            HotKeyProperties hotKeyProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisUserProfileCache = redisUserProfileCache;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.localMaxSize())
+                .expireAfter(Expiry.creating((Long userId, UserResponse profile) ->
+                        hotKeyTracker.isHot(HotKeyPath.PROFILE, userId) ?
+                                hotKeyProperties.hotTtl() :
+                                properties.localTtl()))
+                .refreshAfterWrite(properties.localTtl())
+                .recordStats()
+                .build(new HotProfileReloader(redisUserProfileCache, hotKeyTracker));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, METRIC_CACHE_NAME);
+    }
+
+    /**
+     * Промах L1 вычисляется атомарно для ключа: параллельные запросы одного узла ждут одну загрузку из L2.
+     */
+    @Override
+    public UserResponse get(Long userId, Supplier<UserResponse> loader) {
+        return localCache.get(userId, id -> redisUserProfileCache.get(id, loader));
+    }
+
+    /**
+     * Промах L1 проверяется в L2, но в L1 не переносится: проверка валидатора не должна вытеснять горячие записи.
+     */
+    @Override
+    public Optional<UserResponse> getIfPresent(Long userId) {
+        UserResponse local = localCache.getIfPresent(userId);
+        return local != null ? Optional.of(local) : redisUserProfileCache.getIfPresent(userId);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        localCache.invalidate(userId);
+        redisUserProfileCache.evict(userId);
+
+        try {
+            redisTemplate.convertAndSend(properties.invalidationChannel(), String.valueOf(userId));
+        } catch (DataAccessException exception) {
+            log.warn("Не удалось разослать инвалидацию профиля, остальные узлы обновятся по TTL: userId={}",
+                    userId, exception);
+        }
+    }
+
+    public void onRemoteInvalidation(byte[] payload) {
+        String userId = new String(payload, StandardCharsets.UTF_8);
+
+        try {
+            localCache.invalidate(Long.valueOf(userId));
+            log.debug("Локальный кеш профиля инвалидирован по сообщению: userId={}", userId);
+        } catch (NumberFormatException exception) {
+            log.warn("Некорректное сообщение инвалидации профиля: payload={}", userId);
+        }
+    }
+
+    /**
+     * Обновление записи L1 после {@code local-ttl}. Горячий профиль перечитывается из L2 — изменение удаляет его
+     * оттуда синхронно, так что пропущенное сообщение инвалидации не продлевает устаревшее значение. Остывший
+     * ключ и отсутствие записи в L2 удаляют запись L1: следующее чтение пройдёт обычный путь с загрузкой из БД.
+     */
+    static final class HotProfileReloader implements CacheLoader<Long, UserResponse> {
+
+        private final RedisUserProfileCache redisUserProfileCache;
+        private final HotKeyTracker hotKeyTracker;
+
+        HotProfileReloader(RedisUserProfileCache redisUserProfileCache, HotKeyTracker hotKeyTracker) {
+            this.redisUserProfileCache = redisUserProfileCache;
+            this.hotKeyTracker = hotKeyTracker;
+        }
+
+        @Override
+        public UserResponse load(Long userId) {
+            return redisUserProfileCache.getIfPresent(userId).orElse(null);
+        }
+
+        @Override
+        public UserResponse reload(Long userId, UserResponse oldValue) {
+            return hotKeyTracker.isHot(HotKeyPath.PROFILE, userId) ? load(userId) : null;
+        }
+    }
+}
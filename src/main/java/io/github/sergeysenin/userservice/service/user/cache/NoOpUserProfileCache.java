@@ -0,0 +1,29 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(prefix = "user.cache.profile", name = "enabled", havingValue = "false")
+public class NoOpUserProfileCache implements UserProfileCache {
+
+    @Override
+    public UserResponse get(Long userId, Supplier<UserResponse> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public Optional<UserResponse> getIfPresent(Long userId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void evict(Long userId) {
+        // Кеш отключён — инвалидировать нечего.
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through кеш сериализованного {@link UserResponse} в Redis.
+ * От «стада» при истечении ключа защищает XFetch: запрос досрочно пересчитывает запись с вероятностью,
+ * растущей по мере приближения к истечению и пропорциональной времени её вычисления.
+ * Запись не откатывает профиль назад: Lua-скрипт не перезаписывает более новую версию и метку инвалидации,
+ * которую {@link #evict} оставляет на {@code eviction-tombstone-ttl} вместо удалённой записи. Без метки загрузка,
+ * начатая до изменения и завершившаяся после инвалидации, вернула бы в кеш старый профиль на весь TTL.
+ * Любой сбой Redis деградирует до чтения из БД, а не до ошибки запроса.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.cache.profile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RedisUserProfileCache implements UserProfileCache {
+
+    private static final String METRIC_NAME = "user.profile.cache";
+    private static final String RESULT_TAG = "result";
+    private static final String TOMBSTONE = "evicted";
+
+    // ARGV: профиль, его версия, метка инвалидации, TTL в миллисекундах; 0 — запись отклонена как устаревшая.
+    private static final RedisScript<Long> WRITE_IF_NEWER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current == ARGV[3] then
+                return 0
+            end
+            if current then
+                local ok, cached = pcall(cjson.decode, current)
+                if ok and type(cached) == 'table' and type(cached.value) == 'table' and
+                        tonumber(cached.value.version) and tonumber(cached.value.version) > tonumber(ARGV[2]) then
+                    return 0
+                end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserProfileCacheProperties properties;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter earlyRefreshCounter;
+    private final Counter errorCounter;
+    private final Counter staleWriteCounter;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    public RedisUserProfileCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            UserProfileCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        this.hitCounter = resultCounter(meterRegistry, "hit");
+        this.missCounter = resultCounter(meterRegistry, "miss");
+        this.earlyRefreshCounter = resultCounter(meterRegistry, "early_refresh");
+        this.errorCounter = resultCounter(meterRegistry, "error");
+        this.staleWriteCounter = resultCounter(meterRegistry, "stale_write");
+        Gauge.builder(METRIC_NAME + ".hit.ratio", this, RedisUserProfileCache::hitRatio)
+                .description("Доля обращений к профилю, обслуженных из кеша")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserResponse get(Long userId, Supplier<UserResponse> loader) {
+        String key = key(userId);
+        lookups.incrementAndGet();
+
+        CachedUserProfile cached = read(key);
+        if (cached != null) {
+            if (!shouldRefreshEarly(cached)) {
+                hits.incrementAndGet();
+                hitCounter.increment();
+                return cached.value();
+            }
+            earlyRefreshCounter.increment();
+            log.debug("Раннее обновление кеша профиля: userId={}", userId);
+        } else {
+            missCounter.increment();
+        }
+
+        long startedAt = System.currentTimeMillis();
+        UserResponse value = loader.get();
+        long computeMillis = Math.max(1, System.currentTimeMillis() - startedAt);
+
+        write(key, value, computeMillis);
+
+        return value;
+    }
+
+    @Override
+    public Optional<UserResponse> getIfPresent(Long userId) {
+        return Optional.ofNullable(read(key(userId))).map(CachedUserProfile::value);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        try {
+            redisTemplate.opsForValue().set(key(userId), TOMBSTONE, properties.evictionTombstoneTtl());
+        } catch (DataAccessException exception) {
+            errorCounter.increment();
+            log.warn("Не удалось инвалидировать кеш профиля: userId={}", userId, exception);
+        }
+    }
+
+    private CachedUserProfile read(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null || TOMBSTONE.equals(json) ?
+                    null :
+                    objectMapper.readValue(json, CachedUserProfile.class);
+        } catch (DataAccessException | JsonProcessingException exception) {
+            errorCounter.increment();
+            log.warn("Не удалось прочитать профиль из кеша: key={}", key, exception);
+            return null;
+        }
+    }
+
+    private void write(String key, UserResponse value, long computeMillis) {
+        long expiresAtMillis = System.currentTimeMillis() + properties.ttl().toMillis();
+
+        try {
+            String json = objectMapper.writeValueAsString(new CachedUserProfile(value, computeMillis, expiresAtMillis));
+            Long written = redisTemplate.execute(
+                    WRITE_IF_NEWER, List.of(key), json, String.valueOf(value.version()), TOMBSTONE,
+                    String.valueOf(properties.ttl().toMillis())
+            );
+            if (written != null && written == 0) {
+                staleWriteCounter.increment();
+                log.debug("Устаревший профиль не записан в кеш: key={}, version={}", key, value.version());
+            }
+        } catch (DataAccessException | JsonProcessingException exception) {
+            errorCounter.increment();
+            log.warn("Не удалось записать профиль в кеш: key={}", key, exception);
+        }
+    }
+
+    /**
+     * XFetch: {@code now - computeMillis * beta * ln(random) >= expiresAt}, где {@code ln(random) <= 0}.
+     */
+    private boolean shouldRefreshEarly(CachedUserProfile cached) {
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = -cached.computeMillis() * properties.earlyRefreshBeta() * Math.log(random);
+        return System.currentTimeMillis() + gap >= cached.expiresAtMillis();
+    }
+
+    private String key(Long userId) {
+        return properties.keyPrefix() + userId;
+    }
+
+    private double hitRatio() {
+        long total = lookups.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Обращения к кешу профилей пользователей")
+                .tag(RESULT_TAG, result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+/**
+ * Готовый к записи в ответ JSON профиля и, если профиль достаточно велик, его gzip-версия.
+ */
+public record SerializedUserProfile(byte[] json, byte[] gzip) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    int weight() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
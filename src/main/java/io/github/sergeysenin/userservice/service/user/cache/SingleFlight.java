@@ -0,0 +1,81 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Схлопывание одновременных загрузок одного ключа: первый вызов выполняет загрузку в своём потоке,
+ * остальные ждут его результат не дольше {@code timeout}. Ошибка загрузки достаётся всем ожидающим.
+ * Результат не запоминается: после завершения следующий вызов загружает заново, хранение — дело кеша.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Duration timeout;
+
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        var own = new CompletableFuture<V>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            waiters.incrementAndGet();
+            try {
+                return await(key, existing);
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            own.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Вызовы, присоединившиеся к чужой загрузке и ждущие её результат.
+     */
+    int waiterCount() {
+        return waiters.get();
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание загрузки прервано: key=" + key, exception);
+        } catch (TimeoutException exception) {
+            throw new IllegalStateException("Загрузка не завершилась за " + timeout + ": key=" + key, exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Загрузка завершилась ошибкой: key=" + key, exception.getCause());
+        }
+    }
+}
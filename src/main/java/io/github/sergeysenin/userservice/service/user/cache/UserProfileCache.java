@@ -0,0 +1,18 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface UserProfileCache {
+
+    UserResponse get(Long userId, Supplier<UserResponse> loader);
+
+    /**
+     * Профиль, если он уже в кеше; загрузка не выполняется.
+     */
+    Optional<UserResponse> getIfPresent(Long userId);
+
+    void evict(Long userId);
+}
@@ -0,0 +1,28 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileCacheEvictionListener {
+
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * Инвалидация после коммита: при удалении до коммита параллельное чтение успело бы
+     * вернуть в кеш ещё не изменённый профиль.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        log.debug("Инвалидация кеша профиля: userId={}", event.userId());
+        userProfileCache.evict(event.userId());
+    }
+}
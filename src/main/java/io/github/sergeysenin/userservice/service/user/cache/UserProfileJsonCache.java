@@ -0,0 +1,91 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileJsonCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Кеш сериализованных профилей: JSON (и gzip) строится один раз на версию и дальше пишется в ответ как есть.
+ * Ключ — id и версия профиля, поэтому инвалидация не нужна: изменение даёт новый ключ, старый вытесняется
+ * по размеру или TTL. Вес записи — её размер в байтах.
+ */
+@Component
+public class UserProfileJsonCache {
+
+    private static final String METRIC_CACHE_NAME = "userProfileJson";
+
+    private final ObjectMapper objectMapper;
+    private final UserProfileJsonCacheProperties properties;
+    private final Cache<ProfileVersion, SerializedUserProfile> cache;
+
+    public UserProfileJsonCache(
+            ObjectMapper objectMapper,
+            UserProfileJsonCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((ProfileVersion key, SerializedUserProfile value) -> value.weight())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_CACHE_NAME);
+    }
+
+    /**
+     * При выключенном кеше профиль сериализуется на каждый запрос и не сжимается — прежнее поведение.
+     */
+    public SerializedUserProfile get(UserResponse profile) {
+        if (!properties.enabled()) {
+            return new SerializedUserProfile(toJson(profile), null);
+        }
+        return cache.get(new ProfileVersion(profile.id(), profile.version()), key -> serialize(profile));
+    }
+
+    private SerializedUserProfile serialize(UserResponse profile) {
+        byte[] json = toJson(profile);
+        if (json.length < properties.gzipMinSize().toBytes()) {
+            return new SerializedUserProfile(json, null);
+        }
+        byte[] gzip = gzip(json);
+        return new SerializedUserProfile(json, gzip.length < json.length ? gzip : null);
+    }
+
+    private byte[] toJson(UserResponse profile) {
+        try {
+            return objectMapper.writeValueAsBytes(profile);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Не удалось сериализовать профиль: id=" + profile.id(), exception);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var buffer = new ByteArrayOutputStream(json.length);
+        try (var gzipStream = new GZIPOutputStream(buffer)) {
+            gzipStream.write(json);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record ProfileVersion(long id, long version) {
+    }
+}
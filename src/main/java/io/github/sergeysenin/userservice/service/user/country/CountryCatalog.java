@@ -0,0 +1,11 @@
+package io.github.sergeysenin.userservice.service.user.country;
+
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+
+import java.util.List;
+
+/**
+ * Согласованный снимок справочника: список стран и сильный ETag, вычисленный по его содержимому.
+ */
+public record CountryCatalog(List<CountrySummaryDto> countries, String etag) {
+}
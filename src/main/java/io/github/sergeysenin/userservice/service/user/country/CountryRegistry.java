@@ -0,0 +1,119 @@
+package io.github.sergeysenin.userservice.service.user.country;
+
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.entity.user.country.Country;
+import io.github.sergeysenin.userservice.repository.user.country.CountryRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Неизменяемый справочник стран в памяти: отсортированный {@code long[]} ключей и параллельный массив значений,
+ * поиск — бинарный, без упаковки ключа. Снимок целиком заменяется при обновлении, читатели не блокируются.
+ * Справочник загружается при старте и перечитывается по расписанию: в сервисе нет записи в таблицу стран,
+ * она меняется только миграциями.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountryRegistry {
+
+    private static final Snapshot EMPTY = Snapshot.of(List.of());
+
+    private final CountryRepository countryRepository;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    @PostConstruct
+    void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${user.country.registry.refresh-interval:PT10M}",
+            fixedDelayString = "${user.country.registry.refresh-interval:PT10M}"
+    )
+    public void refresh() {
+        try {
+            List<CountrySummaryDto> countries = countryRepository.findAll(Sort.by("id")).stream()
+                    .map(CountryRegistry::toSummary)
+                    .toList();
+
+            Snapshot loaded = Snapshot.of(countries);
+            if (!loaded.etag().equals(snapshot.etag())) {
+                snapshot = loaded;
+                log.info("Справочник стран обновлён: size={}, etag={}", countries.size(), loaded.etag());
+            }
+        } catch (DataAccessException exception) {
+            // Остаётся прежний снимок; следующая попытка — по расписанию.
+            log.error("Не удалось загрузить справочник стран: size={}", snapshot.ids().length, exception);
+        }
+    }
+
+    public Optional<CountrySummaryDto> find(long countryId) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids(), countryId);
+        return index >= 0 ? Optional.of(current.values()[index]) : Optional.empty();
+    }
+
+    /**
+     * Используется {@code UserMapper}: страна пользователя определяется по внешнему ключу без обращения
+     * к ленивой связи. Если страны ещё нет в снимке, возвращается только идентификатор.
+     */
+    public CountrySummaryDto toCountrySummary(Long countryId) {
+        if (countryId == null) {
+            return null;
+        }
+        return find(countryId).orElseGet(() -> new CountrySummaryDto(countryId, null));
+    }
+
+    public CountryCatalog getCatalog() {
+        Snapshot current = snapshot;
+        return new CountryCatalog(current.list(), current.etag());
+    }
+
+    private static CountrySummaryDto toSummary(Country country) {
+        return new CountrySummaryDto(country.getId(), country.getTitle());
+    }
+
+    private record Snapshot(long[] ids, CountrySummaryDto[] values, List<CountrySummaryDto> list, String etag) {
+
+        static Snapshot of(List<CountrySummaryDto> sortedCountries) {
+            long[] ids = new long[sortedCountries.size()];
+            CountrySummaryDto[] values = new CountrySummaryDto[sortedCountries.size()];
+            MessageDigest digest = sha256();
+
+            for (int i = 0; i < values.length; i++) {
+                CountrySummaryDto country = sortedCountries.get(i);
+                ids[i] = country.id();
+                values[i] = country;
+                digest.update((country.id() + "\t" + country.title() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+
+            return new Snapshot(ids, values, List.copyOf(sortedCountries), HexFormat.of().formatHex(digest.digest()));
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("SHA-256 недоступен", exception);
+            }
+        }
+    }
+}
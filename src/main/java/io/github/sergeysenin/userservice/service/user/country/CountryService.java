@@ -8,18 +8,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CountryService {
 
+    private final CountryRegistry countryRegistry;
     private final CountryRepository countryRepository;
 
-    @Transactional(readOnly = true)
+    /**
+     * Существование проверяется по справочнику в памяти, а для связи возвращается прокси
+     * {@code getReferenceById} — запрос к БД не выполняется.
+     */
     public Country getCountryOrThrow(Long countryId) {
-        return countryRepository.findById(countryId)
-                .orElseThrow(() -> new CountryNotFoundException("Страна не найдена: id=" + countryId));
+        checkCountryExists(countryId);
+        return countryRepository.getReferenceById(countryId);
+    }
+
+    public void checkCountryExists(Long countryId) {
+        if (countryRegistry.find(countryId).isEmpty()) {
+            throw new CountryNotFoundException("Страна не найдена: id=" + countryId);
+        }
     }
 }
@@ -0,0 +1,4 @@
+package io.github.sergeysenin.userservice.service.user.event;
+
+public record UserProfileChangedEvent(Long userId) {
+}
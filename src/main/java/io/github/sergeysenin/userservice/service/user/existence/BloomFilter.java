@@ -0,0 +1,90 @@
+package io.github.sergeysenin.userservice.service.user.existence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума над 64-битными хешами: биты в {@link AtomicLongArray}, добавление и проверка без блокировок.
+ * Индексы — двойное хеширование {@code h1 + i * h2} (Kirsch–Mitzenmacher). Отрицательный ответ точный,
+ * положительный ошибочен с заданной при создании вероятностью, пока число элементов не превысило расчётное.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bits, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Оптимальные размер и число хешей: {@code m = -n ln p / ln²2}, {@code k = m / n · ln 2}.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long bits = Math.max(Long.SIZE, (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2)
+        ));
+        int hashCount = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(bits, hashCount);
+    }
+
+    void put(long hash) {
+        long secondHash = mix(hash + SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash + i * secondHash, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long secondHash = mix(hash + SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash + i * secondHash, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    static long hash(long value) {
+        return mix(value);
+    }
+
+    /**
+     * FNV-1a по UTF-16 и перемешивание: строка сравнивается так же, как уникальный индекс, — без нормализации.
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
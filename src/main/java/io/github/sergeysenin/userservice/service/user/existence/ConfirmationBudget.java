@@ -0,0 +1,36 @@
+package io.github.sergeysenin.userservice.service.user.existence;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Ведро токенов для проверки промахов фильтра в БД: не больше {@code permitsPerSecond} проверок в секунду
+ * с запасом на одну секунду. Поток промахов сверх бюджета (перебор id ботами) получает 404 без запросов к БД.
+ */
+final class ConfirmationBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double permitsPerSecond;
+    private final LongSupplier nanoTime;
+    private double available;
+    private long refilledAt;
+
+    ConfirmationBudget(int permitsPerSecond, LongSupplier nanoTime) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoTime = nanoTime;
+        this.available = permitsPerSecond;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    synchronized boolean tryAcquire() {
+        long now = nanoTime.getAsLong();
+        available = Math.min(permitsPerSecond, available + (now - refilledAt) / NANOS_PER_SECOND * permitsPerSecond);
+        refilledAt = now;
+
+        if (available < 1) {
+            return false;
+        }
+        available--;
+        return true;
+    }
+}
@@ -0,0 +1,252 @@
+package io.github.sergeysenin.userservice.service.user.existence;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.config.datasource.DataSourceRoutingContext;
+import io.github.sergeysenin.userservice.config.existence.UserExistenceFilterProperties;
+import io.github.sergeysenin.userservice.repository.user.UserKeyRepository;
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Фильтры Блума узла по id пользователей и по хешам логина, email и телефона. Строятся при старте потоковым
+ * проходом по таблице, перестраиваются по расписанию (удалённые значения и рост таблицы) и пополняются
+ * при записи. Пока фильтры не построены или выключены, все проверки отвечают «возможно есть».
+ * <p>
+ * О чужих созданиях узел узнаёт через канал инвалидации профилей и канал {@code user.existence-filter.channel}
+ * (пакеты импорта). Сообщение может потеряться, поэтому часть промахов по id вызывающий подтверждает запросом
+ * по первичному ключу — в пределах бюджета {@code confirmations-per-second} ({@link #tryAcquireConfirmation}),
+ * а найденный id возвращает через {@link #putId}. Промахи сверх бюджета сразу получают 404. Проверка id
+ * включается только вместе с кешем профилей ({@code user.cache.profile.enabled}).
+ * Уникальные поля такой гарантии не требуют: при устаревшем фильтре конфликт поймает ограничение БД.
+ */
+@Slf4j
+@Component
+public class UserExistenceFilter {
+
+    private static final double GROWTH_FACTOR = 1.5;
+    private static final String METRIC_NAME = "user.existence-filter.short-circuit";
+
+    private final UserKeyRepository userKeyRepository;
+    private final UserExistenceFilterProperties properties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final boolean idCheckEnabled;
+    private final Counter skippedLookups;
+    private final Counter skippedUniqueChecks;
+    private final ConfirmationBudget confirmationBudget;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private volatile long lastScannedRows;
+
+    public UserExistenceFilter(
+            UserKeyRepository userKeyRepository,
+            UserExistenceFilterProperties properties,
+            UserProfileCacheProperties userProfileCacheProperties,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.userKeyRepository = userKeyRepository;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.idCheckEnabled = properties.enabled() && userProfileCacheProperties.enabled();
+        this.confirmationBudget = new ConfirmationBudget(properties.confirmationsPerSecond(), System::nanoTime);
+        this.skippedLookups = Counter.builder(METRIC_NAME)
+                .description("Проверки, сокращённые фильтром существования")
+                .tag("check", "id")
+                .register(meterRegistry);
+        this.skippedUniqueChecks = Counter.builder(METRIC_NAME)
+                .description("Проверки, сокращённые фильтром существования")
+                .tag("check", "unique")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Новый набор фильтров строится рядом с текущим: записи во время прохода попадают в оба, читатели
+     * до замены пользуются прежним. Размер берётся с запасом от числа строк прошлого прохода.
+     */
+    @Scheduled(
+            initialDelayString = "${user.existence-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${user.existence-filter.rebuild-interval:PT1H}"
+    )
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        long expected = Math.max(properties.expectedInsertions(), (long) (lastScannedRows * GROWTH_FACTOR));
+        Filters next = Filters.create(expected, properties.falsePositiveRate());
+        building = next;
+
+        try {
+            // Отстающая реплика потеряла бы id, которые узел уже получил по каналу и не увидит до следующего прохода.
+            long rows = DataSourceRoutingContext.onPrimary(() -> userKeyRepository.scan(next::put));
+            current = next;
+            lastScannedRows = rows;
+            log.info("Фильтры существования пользователей построены: rows={}, expected={}, sizeBytes={}, elapsedMs={}",
+                    rows, expected, next.sizeInBytes(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (DataAccessException exception) {
+            log.error("Не удалось построить фильтры существования, остаются прежние: ready={}",
+                    current != null, exception);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * {@code true} — узел не знает о пользователе с таким id: кеш и загрузку профиля можно пропустить.
+     */
+    public boolean definitelyMissing(long userId) {
+        Filters filters = current;
+        if (!idCheckEnabled || filters == null || filters.ids().mightContain(BloomFilter.hash(userId))) {
+            return false;
+        }
+        skippedLookups.increment();
+        return true;
+    }
+
+    /**
+     * {@code true} — промах можно проверить в БД, не выходя за бюджет узла.
+     */
+    public boolean tryAcquireConfirmation() {
+        return confirmationBudget.tryAcquire();
+    }
+
+    /**
+     * {@code true} — ни логин, ни email, ни телефон точно не заняты и предварительная проверка не нужна.
+     */
+    public boolean definitelyFree(String username, String email, String phone) {
+        Filters filters = current;
+        if (filters == null ||
+                filters.usernames().mightContain(BloomFilter.hash(username)) ||
+                filters.emails().mightContain(BloomFilter.hash(email)) ||
+                filters.phones().mightContain(BloomFilter.hash(phone))) {
+            return false;
+        }
+        skippedUniqueChecks.increment();
+        return true;
+    }
+
+    /**
+     * Допустим вызов до коммита записи: если транзакция откатится, останется лишь ложное срабатывание.
+     */
+    public void put(long userId, String username, String email, String phone) {
+        // Сначала building, затем current: current заменяется раньше, чем обнуляется building.
+        Filters pending = building;
+        Filters filters = current;
+        if (pending != null) {
+            pending.put(userId, username, email, phone);
+        }
+        if (filters != null && filters != pending) {
+            filters.put(userId, username, email, phone);
+        }
+    }
+
+    /**
+     * Рассылает id созданных в обход {@code UserProfileChangedEvent} пользователей (импорт) остальным узлам.
+     */
+    public void announce(Collection<Long> userIds) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (!idCheckEnabled || template == null || userIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            template.convertAndSend(
+                    properties.channel(),
+                    userIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+            );
+        } catch (DataAccessException exception) {
+            log.warn("Не удалось разослать id новых пользователей, узлы узнают о них при перестроении: count={}",
+                    userIds.size(), exception);
+        }
+    }
+
+    /**
+     * Повторное добавление id после коммита: запись, закоммиченная после начала прохода, не попала бы
+     * в новый фильтр, если её {@link #put} случился до начала перестроения.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        putId(event.userId());
+    }
+
+    /**
+     * Сообщение канала инвалидации профилей (один id) или канала фильтра (id через запятую).
+     */
+    public void onRemoteUserIds(byte[] payload) {
+        String message = new String(payload, StandardCharsets.UTF_8);
+
+        try {
+            for (String userId : message.split(",")) {
+                putId(Long.parseLong(userId.trim()));
+            }
+        } catch (NumberFormatException exception) {
+            log.warn("Некорректное сообщение с id пользователей: payload={}", message);
+        }
+    }
+
+    /**
+     * Id пользователя, найденного в БД после промаха фильтра: следующее чтение не повторит проверку.
+     */
+    public void putId(long userId) {
+        Filters pending = building;
+        Filters filters = current;
+        if (pending != null) {
+            pending.putId(userId);
+        }
+        if (filters != null && filters != pending) {
+            filters.putId(userId);
+        }
+    }
+
+    private record Filters(BloomFilter ids, BloomFilter usernames, BloomFilter emails, BloomFilter phones) {
+
+        static Filters create(long expectedInsertions, double falsePositiveRate) {
+            return new Filters(
+                    BloomFilter.create(expectedInsertions, falsePositiveRate),
+                    BloomFilter.create(expectedInsertions, falsePositiveRate),
+                    BloomFilter.create(expectedInsertions, falsePositiveRate),
+                    BloomFilter.create(expectedInsertions, falsePositiveRate)
+            );
+        }
+
+        void put(long userId, String username, String email, String phone) {
+            ids.put(BloomFilter.hash(userId));
+            usernames.put(BloomFilter.hash(username));
+            emails.put(BloomFilter.hash(email));
+            phones.put(BloomFilter.hash(phone));
+        }
+
+        void putId(long userId) {
+            ids.put(BloomFilter.hash(userId));
+        }
+
+        long sizeInBytes() {
+            return ids.sizeInBytes() + usernames.sizeInBytes() + emails.sizeInBytes() + phones.sizeInBytes();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.sergeysenin.userservice.service.user.export;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.OffsetDateTime;
+
+@JsonPropertyOrder({
+        "id", "username", "email", "phone", "active", "country_id", "country", "city", "experience",
+        "about_me", "created_at", "updated_at"
+})
+public record UserCsvRow(
+
+        @JsonProperty("id")
+        long id,
+
+        @JsonProperty("username")
+        String username,
+
+        @JsonProperty("email")
+        String email,
+
+        @JsonProperty("phone")
+        String phone,
+
+        @JsonProperty("active")
+        boolean active,
+
+        @JsonProperty("country_id")
+        long countryId,
+
+        @JsonProperty("country")
+        String country,
+
+        @JsonProperty("city")
+        String city,
+
+        @JsonProperty("experience")
+        Short experience,
+
+        @JsonProperty("about_me")
+        String aboutMe,
+
+        @JsonProperty("created_at")
+        OffsetDateTime createdAt,
+
+        @JsonProperty("updated_at")
+        OffsetDateTime updatedAt
+) {
+}
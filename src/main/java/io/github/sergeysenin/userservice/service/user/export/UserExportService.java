@@ -0,0 +1,120 @@
+package io.github.sergeysenin.userservice.service.user.export;
+
+import io.github.sergeysenin.userservice.config.export.UserExportProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Полная выгрузка пользователей в CSV. Строки читаются серверным курсором PostgreSQL: драйвер включает его
+ * только при {@code autocommit=false} (открытая транзакция) и ненулевом fetch size, поэтому в памяти
+ * одновременно находится не больше одной порции, а каждая строка сразу уходит в поток ответа.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT id, username, email, phone, active, country_id, city, experience, about_me, created_at, updated_at
+            FROM users
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final CsvMapper csvMapper;
+    private final CsvSchema schema;
+    private final CountryRegistry countryRegistry;
+
+    public UserExportService(
+            DataSource dataSource,
+            CountryRegistry countryRegistry,
+            UserExportProperties properties
+    ) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(properties.fetchSize());
+        // Собственный экземпляр, а не бин: CsvMapper — это ObjectMapper и вытеснил бы JSON-маппер Spring Boot.
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.schema = csvMapper.schemaFor(UserCsvRow.class).withHeader();
+        this.countryRegistry = countryRegistry;
+    }
+
+    /**
+     * Пишет CSV в {@code outputStream}, не закрывая его; возвращает число выгруженных строк.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream outputStream) throws IOException {
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+
+        try (SequenceWriter writer = csvMapper.writer(schema)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(outputStream)) {
+            RowCallbackHandler handler = resultSet -> {
+                write(writer, toRow(resultSet));
+                rows.incrementAndGet();
+            };
+            cursorJdbcTemplate.query(EXPORT_SQL, handler);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        log.info("Выгрузка пользователей завершена: rows={}, elapsedMs={}",
+                rows.get(), (System.nanoTime() - startedAt) / 1_000_000);
+        return rows.get();
+    }
+
+    private UserCsvRow toRow(ResultSet resultSet) throws SQLException {
+        long countryId = resultSet.getLong("country_id");
+        short experienceValue = resultSet.getShort("experience");
+        Short experience = resultSet.wasNull() ? null : experienceValue;
+
+        return new UserCsvRow(
+                resultSet.getLong("id"),
+                resultSet.getString("username"),
+                resultSet.getString("email"),
+                resultSet.getString("phone"),
+                resultSet.getBoolean("active"),
+                countryId,
+                countryRegistry.find(countryId).map(CountrySummaryDto::title).orElse(null),
+                resultSet.getString("city"),
+                experience,
+                resultSet.getString("about_me"),
+                resultSet.getObject("created_at", OffsetDateTime.class),
+                resultSet.getObject("updated_at", OffsetDateTime.class)
+        );
+    }
+
+    private static void write(SequenceWriter writer, UserCsvRow row) {
+        try {
+            writer.write(row);
+        } catch (IOException exception) {
+            // Клиент закрыл соединение — прерываем чтение курсора.
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch для ключей {@code long}: {@value #DEPTH} строки счётчиков в одном {@link AtomicLongArray},
+ * обновление — атомарный инкремент без блокировок. Оценка частоты не меньше истинной и завышена
+ * не больше чем на долю общего потока, обратную ширине.
+ */
+final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int mask;
+
+    CountMinSketch(int width) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Ширина скетча должна быть положительной степенью двойки: " + width);
+        }
+        this.counters = new AtomicLongArray(DEPTH * width);
+        this.width = width;
+        this.mask = width - 1;
+    }
+
+    /**
+     * Учитывает обращение и возвращает новую оценку частоты ключа.
+     */
+    long increment(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, key)));
+        }
+        return estimate;
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Старение: все счётчики делятся пополам, поэтому прошлые окна весят всё меньше и набор горячих
+     * ключей успевает смениться в течение дня.
+     */
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(int row, long key) {
+        long hash = (key + 1) * SEEDS[row];
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 32;
+        return row * width + (int) (hash & mask);
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый top-K поверх {@link CountMinSketch}. Обращение — инкремент скетча и, если оценка дошла
+ * до {@code minHits}, добавление ключа в ограниченный набор кандидатов; блокировок на пути чтения нет.
+ * В конце окна кандидаты ранжируются по оценке, лучшие {@code topK} публикуются неизменяемым снимком,
+ * скетч стареет вдвое, а в кандидатах остаются только текущие горячие ключи.
+ */
+final class HeavyHitters {
+
+    private static final int CANDIDATES_PER_SLOT = 4;
+
+    private final CountMinSketch sketch;
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+    private final int topK;
+    private final long minHits;
+    private final int maxCandidates;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Set.of());
+
+    HeavyHitters(int sketchWidth, int topK, long minHits) {
+        this.sketch = new CountMinSketch(sketchWidth);
+        this.topK = topK;
+        this.minHits = minHits;
+        this.maxCandidates = topK * CANDIDATES_PER_SLOT;
+    }
+
+    void record(long key) {
+        long estimate = sketch.increment(key);
+        // Размер набора проверяется без блокировки: в конце окна он может немного превысить предел.
+        if (estimate >= minHits && (candidates.size() < maxCandidates || candidates.contains(key))) {
+            candidates.add(key);
+        }
+    }
+
+    boolean isHot(long key) {
+        return snapshot.keys().contains(key);
+    }
+
+    List<HotKey> topK() {
+        return snapshot.top();
+    }
+
+    /**
+     * Вызывается одним потоком планировщика в конце окна.
+     */
+    void rotate() {
+        List<HotKey> top = candidates.stream()
+                .map(key -> new HotKey(key, sketch.estimate(key)))
+                .filter(hotKey -> hotKey.estimate() >= minHits)
+                .sorted(Comparator.comparingLong(HotKey::estimate).reversed())
+                .limit(topK)
+                .toList();
+        Set<Long> keys = top.stream().map(HotKey::userId).collect(Collectors.toUnmodifiableSet());
+
+        snapshot = new Snapshot(top, keys);
+        sketch.halve();
+        candidates.retainAll(keys);
+    }
+
+    private record Snapshot(List<HotKey> top, Set<Long> keys) {
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Горячий ключ и оценка его частоты с учётом старения (примерно удвоенное число обращений за окно).
+ */
+public record HotKey(
+
+        @JsonProperty("userId")
+        long userId,
+
+        @JsonProperty("estimate")
+        long estimate
+) {
+}
@@ -0,0 +1,13 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import java.util.Locale;
+
+public enum HotKeyPath {
+
+    PROFILE,
+    AVATAR;
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import io.github.sergeysenin.userservice.config.cache.HotKeyProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Учёт частоты чтений по id пользователя отдельно для профиля и аватара. Горячие ключи узла
+ * закрепляются в локальных кешах ({@code user.hot-keys.hot-ttl}) с фоновым обновлением: их чтения не доходят
+ * до Redis и PostgreSQL синхронно, и нагрузка на один ключ распределяется по узлам, а не ложится на один шард.
+ */
+@Slf4j
+@Component
+public class HotKeyTracker {
+
+    private final HotKeyProperties properties;
+    private final Map<HotKeyPath, HeavyHitters> heavyHitters = new EnumMap<>(HotKeyPath.class);
+
+    public HotKeyTracker(HotKeyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (HotKeyPath path : HotKeyPath.values()) {
+            HeavyHitters hitters = new HeavyHitters(properties.sketchWidth(), properties.topK(), properties.minHits());
+            heavyHitters.put(path, hitters);
+            Gauge.builder("user.hot-keys.count", hitters, value -> value.topK().size())
+                    .description("Число горячих ключей узла в текущем окне")
+                    .tag("path", path.value())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void record(HotKeyPath path, long userId) {
+        if (properties.enabled()) {
+            heavyHitters.get(path).record(userId);
+        }
+    }
+
+    public boolean isHot(HotKeyPath path, long userId) {
+        return properties.enabled() && heavyHitters.get(path).isHot(userId);
+    }
+
+    public List<HotKey> topK(HotKeyPath path) {
+        return heavyHitters.get(path).topK();
+    }
+
+    @Scheduled(
+            initialDelayString = "${user.hot-keys.window:PT1M}",
+            fixedDelayString = "${user.hot-keys.window:PT1M}"
+    )
+    public void rotate() {
+        if (!properties.enabled()) {
+            return;
+        }
+        heavyHitters.forEach((path, hitters) -> {
+            hitters.rotate();
+            log.debug("Горячие ключи обновлены: path={}, count={}", path.value(), hitters.topK().size());
+        });
+    }
+}
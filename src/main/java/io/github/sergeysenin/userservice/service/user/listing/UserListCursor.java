@@ -0,0 +1,59 @@
+package io.github.sergeysenin.userservice.service.user.listing;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.repository.user.listing.UserKeyset;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор списка: base64url от {@code v1|<sort>|<created_at>|<id>}. Сортировка зашита в курсор,
+ * чтобы его нельзя было применить к выдаче с другим ключом.
+ */
+public final class UserListCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 4;
+
+    private UserListCursor() {
+    }
+
+    public static String encode(UserListSort sort, User lastUser) {
+        String createdAt = sort.byCreatedAt() ? lastUser.getCreatedAt().toInstant().toString() : "";
+        String raw = String.join(SEPARATOR, VERSION, sort.value(), createdAt, String.valueOf(lastUser.getId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserKeyset decode(String cursor, UserListSort sort) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException exception) {
+            throw new DataValidationException("Некорректный курсор", exception);
+        }
+
+        if (parts.length != PARTS || !VERSION.equals(parts[0])) {
+            throw new DataValidationException("Некорректный курсор");
+        }
+        if (!sort.value().equals(parts[1])) {
+            throw new DataValidationException("Курсор получен для другой сортировки: " + parts[1]);
+        }
+
+        try {
+            OffsetDateTime createdAt = sort.byCreatedAt() ?
+                    OffsetDateTime.ofInstant(Instant.parse(parts[2]), ZoneOffset.UTC) :
+                    null;
+            return new UserKeyset(createdAt, Long.parseLong(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new DataValidationException("Некорректный курсор", exception);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.sergeysenin.userservice.service.user.outbox;
+
+public enum UserEventType {
+
+    USER_CREATED("UserCreated"),
+    USER_UPDATED("UserUpdated"),
+    AVATAR_CHANGED("AvatarChanged");
+
+    private final String eventName;
+
+    UserEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String eventName() {
+        return eventName;
+    }
+}
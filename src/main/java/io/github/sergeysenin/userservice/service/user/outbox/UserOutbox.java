@@ -0,0 +1,60 @@
+package io.github.sergeysenin.userservice.service.user.outbox;
+
+import io.github.sergeysenin.userservice.dto.user.UserChangeEvent;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxMessage;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Запись событий пользователя в outbox. Вызывается только внутри транзакции изменения:
+ * событие фиксируется вместе с данными или не фиксируется вовсе.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserOutbox {
+
+    private final UserOutboxRepository userOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UserEventType eventType, UserResponse user) {
+        appendAll(eventType, List.of(user));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(UserEventType eventType, List<UserResponse> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime occurredAt = OffsetDateTime.now(ZoneOffset.UTC);
+        List<UserOutboxMessage> messages = users.stream()
+                .map(user -> new UserOutboxMessage(0, user.id(), eventType.eventName(), payload(
+                        new UserChangeEvent(eventType.eventName(), user.id(), occurredAt, user)
+                )))
+                .toList();
+        userOutboxRepository.insertAll(messages);
+    }
+
+    private String payload(UserChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Не удалось сериализовать событие пользователя: id=" + event.userId(),
+                    exception);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.sergeysenin.userservice.service.user.outbox;
+
+import io.github.sergeysenin.userservice.config.outbox.UserOutboxProperties;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxMessage;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ретранслятор outbox: пакетами читает события по порядку id, отправляет их в Kafka с ключом userId
+ * (события пользователя попадают в одну партицию и сохраняют порядок) и удаляет отправленные строки в той же
+ * транзакции. Если отправка не подтверждена, транзакция откатывается и пакет уйдёт повторно: доставка
+ * «хотя бы один раз», потребители отсеивают повторы по заголовку {@code event-id}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.outbox", name = "relay-enabled", havingValue = "true")
+public class UserOutboxRelay {
+
+    static final String EVENT_ID_HEADER = "event-id";
+    static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final UserOutboxRepository userOutboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserOutboxProperties properties;
+    private final Counter publishedCounter;
+
+    public UserOutboxRelay(
+            UserOutboxRepository userOutboxRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            UserOutboxProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.userOutboxRepository = userOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.publishedCounter = Counter.builder("user.outbox.published")
+                .description("События пользователя, опубликованные из outbox в Kafka")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Очередь разбирается до конца за один запуск: следующий пакет читается, пока предыдущий был полным.
+     */
+    @Scheduled(
+            initialDelayString = "${user.outbox.poll-interval:PT1S}",
+            fixedDelayString = "${user.outbox.poll-interval:PT1S}"
+    )
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == properties.batchSize());
+        } catch (RuntimeException exception) {
+            log.warn("Не удалось опубликовать события outbox, пакет будет отправлен повторно", exception);
+        }
+    }
+
+    int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!userOutboxRepository.tryLockRelay()) {
+                return 0;
+            }
+
+            List<UserOutboxMessage> batch = userOutboxRepository.findBatch(properties.batchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            // Отправки не ждут друг друга: продьюсер собирает их в сжатые пакеты, подтверждение ждём разом.
+            CompletableFuture<?>[] sends = batch.stream()
+                    .map(message -> kafkaTemplate.send(toRecord(message)))
+                    .toArray(CompletableFuture[]::new);
+            kafkaTemplate.flush();
+            await(CompletableFuture.allOf(sends));
+
+            userOutboxRepository.deleteAll(batch.stream().map(UserOutboxMessage::id).toList());
+            return batch.size();
+        });
+
+        int count = published == null ? 0 : published;
+        if (count > 0) {
+            publishedCounter.increment(count);
+            log.debug("Опубликованы события outbox: count={}", count);
+        }
+        return count;
+    }
+
+    private ProducerRecord<String, String> toRecord(UserOutboxMessage message) {
+        var record = new ProducerRecord<>(properties.topic(), String.valueOf(message.userId()), message.payload());
+        record.headers()
+                .add(EVENT_ID_HEADER, String.valueOf(message.id()).getBytes(StandardCharsets.UTF_8))
+                .add(EVENT_TYPE_HEADER, message.eventType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void await(CompletableFuture<Void> sends) {
+        try {
+            sends.get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Отправка событий outbox прервана", exception);
+        } catch (ExecutionException | TimeoutException exception) {
+            throw new IllegalStateException("Kafka не подтвердила отправку событий outbox", exception);
+        }
+    }
+}
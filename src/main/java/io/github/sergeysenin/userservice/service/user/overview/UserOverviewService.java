@@ -0,0 +1,164 @@
+package io.github.sergeysenin.userservice.service.user.overview;
+
+import io.github.sergeysenin.userservice.client.payment.PaymentServiceClient;
+import io.github.sergeysenin.userservice.client.project.ProjectServiceClient;
+import io.github.sergeysenin.userservice.config.client.UserOverviewProperties;
+import io.github.sergeysenin.userservice.dto.overview.PaymentAccountDto;
+import io.github.sergeysenin.userservice.dto.overview.ProjectSummaryDto;
+import io.github.sergeysenin.userservice.dto.overview.UserOverviewResponse;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.UserService;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.FeignException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Сводка профиля: внешние части запрашиваются параллельно, пока профиль читается из своего кеша.
+ * Ответы внешних сервисов кешируются на {@code cache-ttl}; одновременные запросы одного пользователя
+ * ждут один и тот же вызов. Часть, не успевшая за {@code timeout} от начала запроса или завершившаяся
+ * ошибкой, отдаётся как недоступная; незавершённый вызов продолжается и заполнит кеш для следующего запроса.
+ */
+@Slf4j
+@Service
+public class UserOverviewService {
+
+    static final String PROJECTS = "projects";
+    static final String ACCOUNT = "account";
+
+    private final UserService userService;
+    private final ProjectServiceClient projectServiceClient;
+    private final PaymentServiceClient paymentServiceClient;
+    private final UserOverviewProperties properties;
+    private final ExecutorService executor;
+    private final AsyncCache<Long, List<ProjectSummaryDto>> projectsCache;
+    private final AsyncCache<Long, Optional<PaymentAccountDto>> accountCache;
+    private final MeterRegistry meterRegistry;
+
+    public UserOverviewService(
+            UserService userService,
+            ProjectServiceClient projectServiceClient,
+            PaymentServiceClient paymentServiceClient,
+            UserOverviewProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.userService = userService;
+        this.projectServiceClient = projectServiceClient;
+        this.paymentServiceClient = paymentServiceClient;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(
+                properties.threads(), new CustomizableThreadFactory("user-overview-")
+        );
+        this.projectsCache = buildCache();
+        this.accountCache = buildCache();
+        this.meterRegistry = meterRegistry;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, projectsCache, "userOverviewProjects");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountCache, "userOverviewAccount");
+    }
+
+    public UserOverviewResponse getOverview(Long userId) {
+        long deadline = System.nanoTime() + properties.timeout().toNanos();
+        CompletableFuture<List<ProjectSummaryDto>> projects = projectsCache.get(userId, (id, cacheExecutor) ->
+                CompletableFuture.supplyAsync(() -> loadProjects(id), cacheExecutor));
+        CompletableFuture<Optional<PaymentAccountDto>> account = accountCache.get(userId, (id, cacheExecutor) ->
+                CompletableFuture.supplyAsync(() -> loadAccount(id), cacheExecutor));
+
+        UserResponse user = userService.getUserResponseByIdOrThrow(userId);
+
+        List<String> unavailable = new ArrayList<>(2);
+        List<ProjectSummaryDto> projectsValue = await(userId, PROJECTS, projects, deadline, unavailable);
+        Optional<PaymentAccountDto> accountValue = await(userId, ACCOUNT, account, deadline, unavailable);
+
+        return new UserOverviewResponse(
+                user,
+                projectsValue,
+                accountValue == null ? null : accountValue.orElse(null),
+                List.copyOf(unavailable)
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<ProjectSummaryDto> loadProjects(Long userId) {
+        return notFoundAs(List.of(), () -> projectServiceClient.getUserProjects(userId));
+    }
+
+    private Optional<PaymentAccountDto> loadAccount(Long userId) {
+        // Отсутствие счёта — нормальный ответ, он тоже кешируется.
+        return notFoundAs(Optional.empty(), () -> Optional.ofNullable(paymentServiceClient.getUserAccount(userId)));
+    }
+
+    private <T> T await(
+            Long userId,
+            String part,
+            CompletableFuture<T> future,
+            long deadline,
+            List<String> unavailable
+    ) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("Ожидание части сводки прервано: userId={}, part={}", userId, part);
+        } catch (TimeoutException exception) {
+            log.warn("Часть сводки не получена за {}: userId={}, part={}", properties.timeout(), userId, part);
+        } catch (ExecutionException exception) {
+            log.warn("Часть сводки недоступна: userId={}, part={}", userId, part, exception.getCause());
+        }
+
+        unavailable.add(part);
+        degradedCounter(part).increment();
+        return null;
+    }
+
+    private Counter degradedCounter(String part) {
+        return Counter.builder("user.overview.degraded")
+                .description("Сводки профиля, отданные без части внешних данных")
+                .tag("part", part)
+                .register(meterRegistry);
+    }
+
+    private <K, V> AsyncCache<K, V> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaxSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    private static <T> T notFoundAs(T fallback, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (FeignException.NotFound exception) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.sergeysenin.userservice.service.user.search;
+
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.repository.user.search.UserSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор поиска: base64url от {@code s1|<hash запроса>|<score>|<id>}. Хеш запроса не даёт
+ * продолжить выдачу курсором от другой поисковой строки.
+ */
+public final class UserSearchCursor {
+
+    private static final String VERSION = "s1";
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 4;
+
+    private UserSearchCursor() {
+    }
+
+    public static String encode(String text, UserSearchHit lastHit) {
+        String raw = String.join(SEPARATOR,
+                VERSION, fingerprint(text), Float.toString(lastHit.score()), String.valueOf(lastHit.id()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserSearchHit decode(String cursor, String text) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException exception) {
+            throw new DataValidationException("Некорректный курсор", exception);
+        }
+
+        if (parts.length != PARTS || !VERSION.equals(parts[0])) {
+            throw new DataValidationException("Некорректный курсор");
+        }
+        if (!fingerprint(text).equals(parts[1])) {
+            throw new DataValidationException("Курсор получен для другого поискового запроса");
+        }
+
+        try {
+            return new UserSearchHit(Long.parseLong(parts[3]), Float.parseFloat(parts[2]));
+        } catch (NumberFormatException exception) {
+            throw new DataValidationException("Некорректный курсор", exception);
+        }
+    }
+
+    private static String fingerprint(String text) {
+        return Integer.toHexString(text.hashCode());
+    }
+}
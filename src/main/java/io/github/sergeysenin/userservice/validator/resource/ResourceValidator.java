@@ -49,25 +49,7 @@ public class ResourceValidator {
             throw new DataValidationException("Не указано имя файла");
         }
 
-        String contentType = file.getContentType();
-        if (!StringUtils.hasText(contentType)) {
-            throw new DataValidationException("Не удалось определить MIME-тип файла");
-        }
-
-        String normalizedContentType = contentType.trim().toLowerCase(Locale.ROOT);
-        int slashIndex = normalizedContentType.indexOf('/');
-        if (slashIndex <= 0 || slashIndex == normalizedContentType.length() - 1) {
-            throw new DataValidationException("Некорректный MIME-тип файла");
-        }
-
-        if (!normalizedContentType.startsWith("image/")) {
-            throw new DataValidationException("Ожидался MIME-тип изображения");
-        }
-
-        Set<String> allowedMimeTypes = Set.copyOf(avatarProperties.allowedMimeTypes());
-        if (allowedMimeTypes.isEmpty() || !allowedMimeTypes.contains(normalizedContentType)) {
-            throw new DataValidationException("Недопустимый MIME-тип файла");
-        }
+        String normalizedContentType = validateContentType(file.getContentType());
 
         String extension = StringUtils.getFilenameExtension(originalFilename);
         if (!StringUtils.hasText(extension)) {
@@ -82,7 +64,7 @@ public class ResourceValidator {
 
         String mimeBasedExtension = Objects.requireNonNullElse(
                 MIME_TYPE_TO_EXTENSION.get(normalizedContentType),
-                normalizedContentType.substring(slashIndex + 1)
+                normalizedContentType.substring(normalizedContentType.indexOf('/') + 1)
         );
 
         String canonicalMimeExtension = EXTENSION_NORMALIZATION.getOrDefault(mimeBasedExtension, mimeBasedExtension);
@@ -92,4 +74,46 @@ public class ResourceValidator {
 
         return new ResourceValidationResult(canonicalExtension, normalizedContentType);
     }
+
+    public ResourceValidationResult validateStagedResource(String contentType, long contentLength) {
+        if (contentLength <= 0) {
+            throw new DataValidationException("Файл пустой");
+        }
+
+        long maxFileSize = avatarProperties.upload().maxFileSize().toBytes();
+        if (contentLength > maxFileSize) {
+            throw new DataValidationException("Размер файла превышает допустимый: " + maxFileSize + " байт");
+        }
+
+        String normalizedContentType = validateContentType(contentType);
+        String canonicalExtension = MIME_TYPE_TO_EXTENSION.get(normalizedContentType);
+        if (canonicalExtension == null) {
+            throw new DataValidationException("Неподдерживаемый MIME-тип файла");
+        }
+
+        return new ResourceValidationResult(canonicalExtension, normalizedContentType);
+    }
+
+    private String validateContentType(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            throw new DataValidationException("Не удалось определить MIME-тип файла");
+        }
+
+        String normalizedContentType = contentType.trim().toLowerCase(Locale.ROOT);
+        int slashIndex = normalizedContentType.indexOf('/');
+        if (slashIndex <= 0 || slashIndex == normalizedContentType.length() - 1) {
+            throw new DataValidationException("Некорректный MIME-тип файла");
+        }
+
+        if (!normalizedContentType.startsWith("image/")) {
+            throw new DataValidationException("Ожидался MIME-тип изображения");
+        }
+
+        Set<String> allowedMimeTypes = Set.copyOf(avatarProperties.allowedMimeTypes());
+        if (allowedMimeTypes.isEmpty() || !allowedMimeTypes.contains(normalizedContentType)) {
+            throw new DataValidationException("Недопустимый MIME-тип файла");
+        }
+
+        return normalizedContentType;
+    }
 }
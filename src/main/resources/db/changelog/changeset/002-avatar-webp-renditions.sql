@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset app:avatar-webp-renditions
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS avatar_thumbnail_webp_path VARCHAR(256),
+    ADD COLUMN IF NOT EXISTS avatar_profile_webp_path VARCHAR(256);
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset app:avatar-placeholder
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS avatar_blur_hash VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS avatar_dominant_color VARCHAR(7);
@@ -0,0 +1,29 @@
+-- liquibase formatted sql
+
+-- Расширение схемы под список размеров аватара. Прежние колонки путей удаляет changeset 011
+-- после переноса данных, чтобы старые аватары не теряли версии при обновлении.
+
+-- changeset app:avatar-rendition-sizes
+-- validCheckSum: ANY
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS avatar_rendition_sizes INTEGER[],
+    ADD COLUMN IF NOT EXISTS avatar_rendition_format VARCHAR(8),
+    ADD COLUMN IF NOT EXISTS avatar_webp_renditions BOOLEAN;
+
+-- changeset app:avatar-legacy-renditions
+ALTER TABLE users ADD COLUMN IF NOT EXISTS avatar_legacy_renditions BOOLEAN;
+
+-- changeset app:avatar-rendition-sizes-backfill
+-- preconditions onFail:MARK_RAN
+-- precondition-sql-check expectedResult:1 SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = 'users' AND column_name = 'avatar_thumbnail_path'
+-- Прежние версии лежат в том же каталоге под именами thumbnail.{ext} и profile.{ext};
+-- размеры — значения по умолчанию прежней конфигурации (170 и 1080).
+UPDATE users
+SET avatar_rendition_sizes = ARRAY[170, 1080],
+    avatar_rendition_format = substring(avatar_thumbnail_path FROM '\.([a-z0-9]+)$'),
+    avatar_webp_renditions = avatar_thumbnail_webp_path IS NOT NULL AND avatar_profile_webp_path IS NOT NULL,
+    avatar_legacy_renditions = TRUE
+WHERE avatar_original_path IS NOT NULL
+  AND avatar_thumbnail_path IS NOT NULL
+  AND avatar_profile_path IS NOT NULL
+  AND avatar_rendition_sizes IS NULL;
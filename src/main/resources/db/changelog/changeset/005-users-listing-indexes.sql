@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- Индексы под keyset-пагинацию GET /users: ведущая колонка — фильтр, за ней ключ сортировки.
+-- Частичные индексы покрывают самый частый запрос — только активные пользователи.
+
+-- changeset app:users-listing-indexes runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_country_id_id ON users (country_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_country_id_created_at_id ON users (country_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_city_id ON users (city, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_id ON users (id) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_created_at_id ON users (created_at, id) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_country_id_id ON users (country_id, id) WHERE active;
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- Переход users.id с IDENTITY на последовательность с шагом 50 (= allocationSize в User):
+-- Hibernate резервирует 50 id одним nextval и может пакетировать INSERT.
+-- DEFAULT nextval оставлен для SQL-вставок в обход Hibernate (импорт CSV, демо-данные).
+
+-- changeset app:users-id-pooled-sequence
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS user_id_seq INCREMENT BY 50 OWNED BY users.id;
+-- Следующий nextval отдаёт верхнюю границу первого блока: блок начнётся сразу после max(id).
+SELECT setval('user_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users), false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('user_id_seq');
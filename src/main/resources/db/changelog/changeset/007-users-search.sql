@@ -0,0 +1,72 @@
+-- liquibase formatted sql
+
+-- Поиск GET /users/search: полнотекстовый вектор по username (вес A), city (B) и about_me (C)
+-- плюс триграммы для префиксного и нечёткого поиска по username и email.
+-- Конфигурация 'simple' без стемминга: тексты профилей смешивают русский и английский.
+-- Вектор — обычная колонка под триггером, а не GENERATED ... STORED: добавление генерируемой колонки
+-- переписывает всю таблицу под ACCESS EXCLUSIVE, а пустая колонка добавляется только в каталог.
+-- Существующие строки заполняются пакетами с коммитом после каждого.
+
+-- changeset app:users-search-pg-trgm
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- changeset app:users-search-vector
+-- validCheckSum: ANY
+ALTER TABLE users ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- changeset app:users-search-vector-drop-expression
+-- preconditions onFail:MARK_RAN
+-- precondition-sql-check expectedResult:1 SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = 'users' AND column_name = 'search_vector' AND is_generated = 'ALWAYS'
+-- Базы, где колонка уже создана генерируемой: DROP EXPRESSION меняет только каталог, значения остаются.
+ALTER TABLE users ALTER COLUMN search_vector DROP EXPRESSION;
+
+-- changeset app:users-search-vector-trigger splitStatements:false
+CREATE OR REPLACE FUNCTION users_search_vector(username VARCHAR, city VARCHAR, about_me VARCHAR)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(username, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(city, '')), 'B') ||
+           setweight(to_tsvector('simple', coalesce(about_me, '')), 'C')
+$$;
+
+CREATE OR REPLACE FUNCTION users_search_vector_refresh()
+    RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.search_vector := users_search_vector(NEW.username, NEW.city, NEW.about_me);
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_users_search_vector ON users;
+CREATE TRIGGER trg_users_search_vector
+    BEFORE INSERT OR UPDATE OF username, city, about_me ON users
+    FOR EACH ROW EXECUTE FUNCTION users_search_vector_refresh();
+
+-- changeset app:users-search-vector-backfill runInTransaction:false splitStatements:false
+-- Пакеты по диапазону id: каждая транзакция блокирует не больше 10 000 строк и только на запись.
+DO $$
+DECLARE
+    batch_start BIGINT := 0;
+    max_id BIGINT;
+BEGIN
+    SELECT coalesce(max(id), 0) INTO max_id FROM users;
+    WHILE batch_start < max_id LOOP
+        UPDATE users
+        SET search_vector = users_search_vector(username, city, about_me)
+        WHERE id > batch_start
+          AND id <= batch_start + 10000
+          AND search_vector IS NULL;
+        batch_start := batch_start + 10000;
+        COMMIT;
+    END LOOP;
+END
+$$;
+
+-- changeset app:users-search-indexes runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_vector ON users USING gin (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_trgm ON users USING gin (username gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm ON users USING gin (email gin_trgm_ops);
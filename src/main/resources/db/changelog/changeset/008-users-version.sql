@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- Версия профиля для оптимистической блокировки (JPA @Version и If-Match у PATCH /users/{id}).
+
+-- changeset app:users-version
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+
+-- Покрывающий индекс для условного GET /users/{id}: версия и время изменения читаются index-only scan,
+-- строка таблицы не загружается.
+
+-- changeset app:users-validator-index runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_id_validator ON users (id) INCLUDE (version, updated_at);
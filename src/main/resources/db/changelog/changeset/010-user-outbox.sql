@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- Transactional outbox событий пользователя: строка пишется в транзакции изменения профиля,
+-- ретранслятор публикует её в Kafka и удаляет. Внешнего ключа нет — событие переживает любые изменения users.
+
+-- changeset app:user-outbox
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
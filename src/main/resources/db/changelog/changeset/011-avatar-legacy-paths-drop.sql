@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+
+-- Сжатие схемы после changeset 004: пути прежних версий перенесены в avatar_rendition_sizes
+-- и avatar_legacy_renditions, приложение их больше не читает.
+
+-- changeset app:avatar-legacy-paths-drop
+ALTER TABLE users
+    DROP COLUMN IF EXISTS avatar_thumbnail_path,
+    DROP COLUMN IF EXISTS avatar_profile_path,
+    DROP COLUMN IF EXISTS avatar_thumbnail_webp_path,
+    DROP COLUMN IF EXISTS avatar_profile_webp_path;
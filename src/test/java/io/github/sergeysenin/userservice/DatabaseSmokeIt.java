@@ -1,5 +1,8 @@
 package io.github.sergeysenin.userservice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -15,9 +18,11 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import javax.sql.DataSource;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -50,6 +55,9 @@ class DatabaseSmokeIt {
     @Autowired
     DataSource dataSource;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @Test
     @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
     @DisplayName("должен выполнять 'select 1' при корректной конфигурации DataSource")
@@ -67,4 +75,13 @@ class DatabaseSmokeIt {
             );
         }
     }
+
+    @Test
+    @DisplayName("должен оставлять JSON-маппер Spring Boot единственным ObjectMapper в контексте")
+    void shouldKeepBootJsonObjectMapper() throws Exception {
+        assertAll("ObjectMapper контекста должен писать JSON",
+                () -> assertFalse(objectMapper instanceof CsvMapper, "CSV-маппер не должен быть бином"),
+                () -> assertEquals("{\"id\":7}", objectMapper.writeValueAsString(Map.of("id", 7)))
+        );
+    }
 }
@@ -0,0 +1,158 @@
+package io.github.sergeysenin.userservice.benchmark;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.entity.user.country.Country;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнивает массовое создание пользователей до и после перехода на пул id из последовательности.
+ * «До» воспроизводит поведение IDENTITY: один {@code INSERT ... RETURNING id} на строку. «После» —
+ * {@code persist} через Hibernate с {@code jdbc.batch_size}. Запуск: {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("UserBulkCreateBenchmarkIt: построчные INSERT против пакетных")
+class UserBulkCreateBenchmarkIt {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBulkCreateBenchmarkIt.class);
+
+    private static final DockerImageName POSTGRES_DOCKER_IMAGE = DockerImageName.parse("postgres:18.0");
+    private static final int WARMUP_USERS = 500;
+    private static final int MEASURED_USERS = 5_000;
+    private static final long COUNTRY_ID = 1L;
+
+    private static final String ROW_BY_ROW_INSERT_SQL = """
+            INSERT INTO users (username, email, phone, active, country_id)
+            VALUES (?, ?, ?, true, ?)
+            RETURNING id
+            """;
+
+    @Container
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> POSTGRESQL_CONTAINER = new PostgreSQLContainer<>(POSTGRES_DOCKER_IMAGE)
+            .withDatabaseName("user_service")
+            .withUsername("user")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry dynamicPropertyRegistry) {
+        dynamicPropertyRegistry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl);
+        dynamicPropertyRegistry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername);
+        dynamicPropertyRegistry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword);
+        dynamicPropertyRegistry.add("spring.liquibase.enabled", () -> "true");
+        dynamicPropertyRegistry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("должен вставлять пользователей пакетами и быстрее построчной вставки")
+    void shouldBatchInsertsWithPooledSequence() {
+        insertRowByRow(1, WARMUP_USERS);
+        persistBatched(2, WARMUP_USERS);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long rowByRowNanos = measure(() -> insertRowByRow(3, MEASURED_USERS));
+        long batchedNanos = measure(() -> persistBatched(4, MEASURED_USERS));
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        log.info("Создание {} пользователей: построчно (IDENTITY) {} мс, пакетами {} мс ({} JDBC-выражений), x{}",
+                MEASURED_USERS,
+                rowByRowNanos / 1_000_000,
+                batchedNanos / 1_000_000,
+                batchedStatements,
+                String.format("%.1f", (double) rowByRowNanos / batchedNanos));
+
+        assertTrue(batchedStatements < MEASURED_USERS / 10,
+                "Hibernate должен отправлять INSERT пакетами, а не по одному: " + batchedStatements);
+    }
+
+    private void insertRowByRow(int series, int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                jdbcTemplate.queryForObject(
+                        ROW_BY_ROW_INSERT_SQL, Long.class, username(series, i), email(series, i), phone(series, i),
+                        COUNTRY_ID
+                );
+            }
+        });
+    }
+
+    private void persistBatched(int series, int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Country country = entityManager.getReference(Country.class, COUNTRY_ID);
+            for (int i = 0; i < count; i++) {
+                entityManager.persist(User.builder()
+                        .username(username(series, i))
+                        .email(email(series, i))
+                        .phone(phone(series, i))
+                        .active(true)
+                        .country(country)
+                        .build());
+
+                if ((i + 1) % User.ID_ALLOCATION_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    country = entityManager.getReference(Country.class, COUNTRY_ID);
+                }
+            }
+        });
+    }
+
+    private static long measure(Runnable action) {
+        long startedAt = System.nanoTime();
+        action.run();
+        return System.nanoTime() - startedAt;
+    }
+
+    private static String username(int series, int index) {
+        return "bench" + series + "_" + index;
+    }
+
+    private static String email(int series, int index) {
+        return username(series, index) + "@bench.example.com";
+    }
+
+    private static String phone(int series, int index) {
+        return series + String.format("%09d", index);
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.sergeysenin.userservice.benchmark;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileJsonCacheProperties;
+import io.github.sergeysenin.userservice.controller.user.UserController;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.mapper.user.UserMapper;
+import io.github.sergeysenin.userservice.service.user.UserService;
+import io.github.sergeysenin.userservice.service.user.cache.UserProfileJsonCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Пропускная способность {@code GET /users/{id}} при профиле из кеша: сериализация Jackson на каждый запрос
+ * (кеш сериализованных профилей выключен) против готовых байтов JSON и gzip из {@link UserProfileJsonCache}.
+ * Контроллер поднимается через standalone MockMvc, чтобы в замер попадали конвертеры сообщений.
+ * Запуск: {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("UserProfileGetBenchmarkIt: сериализация профиля на запрос против кеша байтов")
+class UserProfileGetBenchmarkIt {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileGetBenchmarkIt.class);
+
+    private static final long USER_ID = 42L;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 100_000;
+
+    @Test
+    @DisplayName("должен отдавать профиль готовыми байтами и сжатым для клиентов с gzip")
+    void shouldServeProfileFromSerializedCache() throws Exception {
+        MockMvc jacksonPerRequest = mockMvc(false);
+        MockMvc serializedCache = mockMvc(true);
+        RequestBuilder plainRequest = get("/users/{userId}", USER_ID);
+        RequestBuilder gzipRequest = get("/users/{userId}", USER_ID).header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        assertEquals("gzip", serializedCache.perform(gzipRequest).andReturn().getResponse()
+                .getHeader(HttpHeaders.CONTENT_ENCODING), "Крупный профиль должен отдаваться сжатым");
+
+        run(jacksonPerRequest, plainRequest, WARMUP_REQUESTS);
+        run(serializedCache, plainRequest, WARMUP_REQUESTS);
+        run(serializedCache, gzipRequest, WARMUP_REQUESTS);
+
+        double before = throughput(jacksonPerRequest, plainRequest);
+        double afterPlain = throughput(serializedCache, plainRequest);
+        double afterGzip = throughput(serializedCache, gzipRequest);
+
+        log.info("GET /users/id, {} запросов: Jackson на запрос {} оп/с, кеш байтов {} оп/с (x{}), " +
+                        "кеш gzip {} оп/с",
+                MEASURED_REQUESTS,
+                String.format("%.0f", before),
+                String.format("%.0f", afterPlain),
+                String.format("%.2f", afterPlain / before),
+                String.format("%.0f", afterGzip));
+    }
+
+    private static double throughput(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        long startedAt = System.nanoTime();
+        run(mockMvc, request, MEASURED_REQUESTS);
+        return MEASURED_REQUESTS / ((System.nanoTime() - startedAt) / 1_000_000_000.0);
+    }
+
+    private static void run(MockMvc mockMvc, RequestBuilder request, int requests) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(request);
+        }
+    }
+
+    private static MockMvc mockMvc(boolean serializedCacheEnabled) {
+        UserService userService = mock(UserService.class);
+        when(userService.getUserResponseByIdOrThrow(USER_ID)).thenReturn(profile());
+
+        var properties = new UserProfileJsonCacheProperties(
+                serializedCacheEnabled, DataSize.ofMegabytes(64), Duration.ofMinutes(10), DataSize.ofBytes(512)
+        );
+        var jsonCache = new UserProfileJsonCache(
+                Jackson2ObjectMapperBuilder.json().build(), properties, new SimpleMeterRegistry());
+
+        return MockMvcBuilders.standaloneSetup(new UserController(userService, mock(UserMapper.class), jsonCache))
+                .build();
+    }
+
+    private static UserResponse profile() {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "test_user", "test.user@example.com", "+70000000000", true,
+                "Пишу на Java и люблю PostgreSQL. ".repeat(20),
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, true,
+                "LEHV6nWB2yk8pyo0adR*.7kCMdnj", "#3a5f8c", timestamp, timestamp, 7L
+        );
+    }
+}
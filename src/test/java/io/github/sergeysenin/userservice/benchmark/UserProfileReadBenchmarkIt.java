@@ -0,0 +1,156 @@
+package io.github.sergeysenin.userservice.benchmark;
+
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.mapper.user.UserMapper;
+import io.github.sergeysenin.userservice.repository.user.UserProfileReadRepository;
+import io.github.sergeysenin.userservice.repository.user.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнивает чтение профиля через сущность Hibernate и MapStruct с проекцией JDBC прямо в {@link UserResponse}.
+ * Для каждого пути измеряются задержка и объём выделенной памяти на операцию (по счётчику потока JVM).
+ * Запуск: {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("UserProfileReadBenchmarkIt: чтение профиля через сущность против проекции JDBC")
+class UserProfileReadBenchmarkIt {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileReadBenchmarkIt.class);
+
+    private static final DockerImageName POSTGRES_DOCKER_IMAGE = DockerImageName.parse("postgres:18.0");
+    private static final int USERS = 1_000;
+    private static final int WARMUP_READS = 20_000;
+    private static final int MEASURED_READS = 50_000;
+    private static final long COUNTRY_ID = 1L;
+
+    private static final String INSERT_USERS_SQL = """
+            INSERT INTO users (username, email, phone, active, country_id, city, experience, about_me)
+            SELECT 'read' || n, 'read' || n || '@bench.example.com', lpad(n::text, 10, '7'), true, ?,
+                   'Москва', 5, 'Профиль для бенчмарка чтения'
+            FROM generate_series(1, ?) AS n
+            """;
+
+    @Container
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> POSTGRESQL_CONTAINER = new PostgreSQLContainer<>(POSTGRES_DOCKER_IMAGE)
+            .withDatabaseName("user_service")
+            .withUsername("user")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry dynamicPropertyRegistry) {
+        dynamicPropertyRegistry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl);
+        dynamicPropertyRegistry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername);
+        dynamicPropertyRegistry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword);
+        dynamicPropertyRegistry.add("spring.liquibase.enabled", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserProfileReadRepository userProfileReadRepository;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'read%'");
+        jdbcTemplate.update(INSERT_USERS_SQL, COUNTRY_ID, USERS);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'read%' ORDER BY id", Long.class);
+    }
+
+    @Test
+    @DisplayName("должен читать профиль проекцией JDBC с меньшим выделением памяти, чем через сущность")
+    void shouldReadProfileWithFewerAllocationsThanEntityPath() {
+        var readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        LongFunction<UserResponse> entityPath = id -> readOnlyTransaction.execute(
+                status -> userMapper.toResponse(userRepository.findById(id).orElseThrow()));
+        LongFunction<UserResponse> projectionPath = id -> userProfileReadRepository.findById(id).orElseThrow();
+
+        long sampleId = userIds.get(0);
+        UserResponse viaEntity = entityPath.apply(sampleId);
+        UserResponse viaProjection = projectionPath.apply(sampleId);
+        assertAll("Оба пути должны давать одинаковый профиль",
+                () -> assertEquals(viaEntity.username(), viaProjection.username()),
+                () -> assertEquals(viaEntity.country(), viaProjection.country()),
+                () -> assertEquals(viaEntity.version(), viaProjection.version())
+        );
+
+        run(entityPath, WARMUP_READS);
+        run(projectionPath, WARMUP_READS);
+
+        Measurement entity = measure(entityPath);
+        Measurement projection = measure(projectionPath);
+
+        log.info("Чтение {} профилей: сущность {} мкс/оп и {} байт/оп, проекция {} мкс/оп и {} байт/оп",
+                MEASURED_READS,
+                String.format("%.1f", entity.microsPerRead()), entity.bytesPerRead(),
+                String.format("%.1f", projection.microsPerRead()), projection.bytesPerRead());
+
+        assertTrue(projection.bytesPerRead() < entity.bytesPerRead(),
+                "Проекция должна выделять меньше памяти, чем загрузка сущности");
+    }
+
+    private Measurement measure(LongFunction<UserResponse> path) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long startedAt = System.nanoTime();
+        run(path, MEASURED_READS);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Measurement(elapsedNanos / 1_000.0 / MEASURED_READS, allocated / MEASURED_READS);
+    }
+
+    private void run(LongFunction<UserResponse> path, int reads) {
+        for (int i = 0; i < reads; i++) {
+            path.apply(userIds.get(i % userIds.size()));
+        }
+    }
+
+    private record Measurement(double microsPerRead, long bytesPerRead) {
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.sergeysenin.userservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+@DisplayName("ReplicaRoutingDataSourceIt: маршрутизация между основной БД и потоковой репликой")
+class ReplicaRoutingDataSourceIt {
+
+    private static final DockerImageName POSTGRES_DOCKER_IMAGE = DockerImageName.parse("postgres:18.0");
+    private static final String DB_NAME = "user_service";
+    private static final String DB_USERNAME = "user";
+    private static final String DB_PASSWORD = "password";
+    private static final String PRIMARY_ALIAS = "primary";
+    private static final int POSTGRES_PORT = 5432;
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    // Реплика подключается к основной БД по сети контейнеров: разрешаем ей соединения репликации.
+    private static final String ALLOW_REPLICATION_SCRIPT = """
+            #!/bin/bash
+            echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+            """;
+
+    // Реплика клонирует основную БД через pg_basebackup и стартует в режиме hot standby.
+    private static final String START_REPLICA_SCRIPT = """
+            mkdir -p "$PGDATA" && chown postgres:postgres "$PGDATA" && chmod 700 "$PGDATA"
+            until gosu postgres pg_basebackup -h %s -U %s -D "$PGDATA" -R -X stream; do
+                rm -rf "${PGDATA:?}"/*
+                sleep 1
+            done
+            exec gosu postgres postgres
+            """.formatted(PRIMARY_ALIAS, DB_USERNAME);
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(POSTGRES_DOCKER_IMAGE)
+            .withDatabaseName(DB_NAME)
+            .withUsername(DB_USERNAME)
+            .withPassword(DB_PASSWORD)
+            .withNetwork(NETWORK)
+            .withNetworkAliases(PRIMARY_ALIAS)
+            .withCopyToContainer(
+                    Transferable.of(ALLOW_REPLICATION_SCRIPT, 0755),
+                    "/docker-entrypoint-initdb.d/allow-replication.sh"
+            );
+
+    @Container
+    @SuppressWarnings("resource")
+    static final GenericContainer<?> REPLICA = new GenericContainer<>(POSTGRES_DOCKER_IMAGE)
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", DB_PASSWORD)
+            .withEnv("PGDATA", "/var/lib/postgresql/replica")
+            .withExposedPorts(POSTGRES_PORT)
+            .withCommand("bash", "-c", START_REPLICA_SCRIPT)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*\\s", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)))
+            .dependsOn(PRIMARY);
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    @DisplayName("должен направлять транзакцию только для чтения на реплику")
+    void shouldRouteReadOnlyTransactionToReplica() {
+        var routing = routing(replicaDataSource(replicaJdbcUrl()), Duration.ofSeconds(10));
+
+        assertTrue(routing.readOnly(this::isInRecovery), "Чтение должно выполняться на реплике");
+    }
+
+    @Test
+    @DisplayName("должен направлять транзакцию чтения-записи в основную БД")
+    void shouldRouteReadWriteTransactionToPrimary() {
+        var routing = routing(replicaDataSource(replicaJdbcUrl()), Duration.ofSeconds(10));
+
+        assertFalse(routing.readWrite(this::isInRecovery), "Запись должна выполняться в основной БД");
+    }
+
+    @Test
+    @DisplayName("должен показывать на реплике данные, записанные в основную БД")
+    void shouldStreamPrimaryWritesToReplica() {
+        var routing = routing(replicaDataSource(replicaJdbcUrl()), Duration.ofSeconds(10));
+        routing.readWrite(jdbcTemplate -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replication_probe (id BIGINT PRIMARY KEY)");
+            return jdbcTemplate.update("INSERT INTO replication_probe VALUES (1) ON CONFLICT DO NOTHING");
+        });
+
+        await(() -> routing.readOnly(jdbcTemplate -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_tables WHERE tablename = 'replication_probe'", Integer.class) == 1));
+        assertEquals(1, routing.readOnly(jdbcTemplate -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM replication_probe", Integer.class)), "Запись должна дойти до реплики");
+    }
+
+    @Test
+    @DisplayName("должен читать из основной БД в окне привязки после собственной записи пользователя")
+    void shouldReadFromPrimaryAfterOwnWrite() {
+        var routing = routing(replicaDataSource(replicaJdbcUrl()), Duration.ofSeconds(10));
+
+        authenticate("writer");
+        routing.readWrite(jdbcTemplate -> jdbcTemplate.update("CREATE TABLE IF NOT EXISTS sticky_probe (id INT)"));
+        assertFalse(routing.readOnly(this::isInRecovery), "Автор записи должен читать из основной БД");
+
+        authenticate("reader");
+        assertTrue(routing.readOnly(this::isInRecovery), "Остальные пользователи читают с реплики");
+    }
+
+    @Test
+    @DisplayName("должен читать из основной БД, если реплика недоступна")
+    void shouldFallBackToPrimaryWhenReplicaUnavailable() {
+        var routing = routing(replicaDataSource("jdbc:postgresql://127.0.0.1:1/" + DB_NAME), Duration.ofSeconds(10));
+
+        assertFalse(routing.readOnly(this::isInRecovery), "Недоступная реплика должна исключаться из ротации");
+    }
+
+    @Test
+    @DisplayName("должен читать из основной БД, если отставание реплики превышает допустимое")
+    void shouldFallBackToPrimaryWhenReplicaLagsBehind() {
+        HikariDataSource replica = replicaDataSource(replicaJdbcUrl());
+        var replicaJdbcTemplate = new JdbcTemplate(replica);
+        var routing = routing(replica, Duration.ZERO);
+        routing.readWrite(jdbcTemplate -> jdbcTemplate.update("CREATE TABLE IF NOT EXISTS lag_probe (id INT)"));
+        await(() -> Boolean.TRUE.equals(replicaJdbcTemplate.queryForObject(
+                "SELECT pg_last_xact_replay_timestamp() IS NOT NULL AND " +
+                        "pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()", Boolean.class)));
+
+        replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+        try {
+            routing.readWrite(jdbcTemplate -> jdbcTemplate.update("INSERT INTO lag_probe VALUES (1)"));
+            await(() -> Boolean.TRUE.equals(replicaJdbcTemplate.queryForObject(
+                    "SELECT pg_last_wal_receive_lsn() <> pg_last_wal_replay_lsn()", Boolean.class)));
+            routing.healthMonitor().checkReplicas();
+
+            assertFalse(routing.readOnly(this::isInRecovery), "Отстающая реплика должна исключаться из ротации");
+        } finally {
+            replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+        }
+    }
+
+    private Boolean isInRecovery(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+    }
+
+    private Routing routing(DataSource replica, Duration maxLag) {
+        var primary = new HikariDataSource();
+        primary.setJdbcUrl(PRIMARY.getJdbcUrl());
+        primary.setUsername(DB_USERNAME);
+        primary.setPassword(DB_PASSWORD);
+        resources.add(primary);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        var healthMonitor = new ReplicaHealthMonitor(
+                replicas, maxLag, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        resources.add(healthMonitor);
+        healthMonitor.checkReplicas();
+
+        var routingDataSource = new ReplicaRoutingDataSource(
+                primary, healthMonitor, new ReadYourWritesTracker(Duration.ofSeconds(5)));
+        routingDataSource.afterPropertiesSet();
+        return new Routing(new LazyConnectionDataSourceProxy(routingDataSource), healthMonitor);
+    }
+
+    private HikariDataSource replicaDataSource(String jdbcUrl) {
+        var replica = new HikariDataSource();
+        replica.setJdbcUrl(jdbcUrl);
+        replica.setUsername(DB_USERNAME);
+        replica.setPassword(DB_PASSWORD);
+        replica.setConnectionTimeout(250);
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+    private static String replicaJdbcUrl() {
+        return "jdbc:postgresql://%s:%d/%s".formatted(
+                REPLICA.getHost(), REPLICA.getMappedPort(POSTGRES_PORT), DB_NAME);
+    }
+
+    private static void authenticate(String principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(principal, null, "ROLE_USER"));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + AWAIT_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Условие не выполнилось за " + AWAIT_TIMEOUT);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+
+    private record Routing(DataSource dataSource, ReplicaHealthMonitor healthMonitor) {
+
+        <T> T readOnly(Function<JdbcTemplate, T> action) {
+            return execute(true, action);
+        }
+
+        <T> T readWrite(Function<JdbcTemplate, T> action) {
+            return execute(false, action);
+        }
+
+        private <T> T execute(boolean readOnly, Function<JdbcTemplate, T> action) {
+            var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transactionTemplate.setReadOnly(readOnly);
+            var jdbcTemplate = new JdbcTemplate(dataSource);
+            return transactionTemplate.execute(status -> action.apply(jdbcTemplate));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.sergeysenin.userservice.controller.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AcceptEncoding")
+class AcceptEncodingTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "GZIP", "br, gzip;q=0.5", "x-gzip", "*", "deflate, *;q=0.1", "gzip ; Q=1.0"})
+    @DisplayName("должен принимать gzip с положительным q-значением")
+    void shouldAcceptGzipWhenQualityIsPositive(String acceptEncoding) {
+        assertTrue(AcceptEncoding.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"gzip;q=0", "gzip;q=0.0, br", "br, deflate", "*;q=0", "gzip;q=0, *", "gzip;q=abc"})
+    @DisplayName("должен отказываться от gzip при нулевом q, явном исключении или отсутствии в списке")
+    void shouldRejectGzipWhenQualityIsZeroOrMissing(String acceptEncoding) {
+        assertFalse(AcceptEncoding.acceptsGzip(acceptEncoding));
+    }
+}
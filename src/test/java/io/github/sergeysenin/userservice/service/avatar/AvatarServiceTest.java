@@ -1,8 +1,263 @@
 package io.github.sergeysenin.userservice.service.avatar;
 
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties;
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarUploadProperties;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarUploadUrlResponse;
+import io.github.sergeysenin.userservice.dto.avatar.CompleteAvatarUploadRequest;
+import io.github.sergeysenin.userservice.dto.avatar.CreateAvatarUploadUrlRequest;
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.exception.type.AvatarUploadException;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.exception.type.FileStorageException;
+import io.github.sergeysenin.userservice.service.avatar.cache.HotAvatarCache;
+import io.github.sergeysenin.userservice.service.avatar.generator.AvatarFileNameGenerator;
+import io.github.sergeysenin.userservice.service.resource.ImageRendition;
+import io.github.sergeysenin.userservice.service.resource.ImageRenditionSet;
+import io.github.sergeysenin.userservice.service.resource.ResourceService;
+import io.github.sergeysenin.userservice.service.s3.S3Service;
+import io.github.sergeysenin.userservice.service.user.UserService;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+import io.github.sergeysenin.userservice.validator.resource.ResourceValidator;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
 @DisplayName("AvatarService")
 class AvatarServiceTest {
 
+    private static final Long USER_ID = 7L;
+    private static final UUID UPLOAD_ID = UUID.fromString("4f1c2a3b-5d6e-4f70-8a9b-0c1d2e3f4a5b");
+    private static final String STAGING_PATH = "avatars/staging/7/" + UPLOAD_ID;
+    private static final DataSize MAX_FILE_SIZE = DataSize.ofKilobytes(1);
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private HotAvatarCache hotAvatarCache;
+
+    private AvatarService avatarService;
+
+    @BeforeEach
+    void setUp() {
+        var avatarProperties = new AvatarProperties(
+                null, null, null, null, new AvatarUploadProperties(null, MAX_FILE_SIZE, null), true
+        );
+        avatarService = new AvatarService(
+                userService,
+                resourceService,
+                s3Service,
+                new ResourceValidator(avatarProperties),
+                avatarProperties,
+                new AvatarFileNameGenerator(avatarProperties, () -> UPLOAD_ID),
+                hotKeyTracker,
+                hotAvatarCache
+        );
+    }
+
+    @Nested
+    @DisplayName("createUploadUrl")
+    class CreateUploadUrl {
+
+        @Test
+        @DisplayName("должен выдать ссылку на staging-путь без заголовка Host, если файл допустим")
+        void shouldReturnPresignedUrlWhenRequestIsValid() throws Exception {
+            PresignedPutObjectRequest presignedUpload = presignedUpload();
+            when(s3Service.generatePresignedUploadUrl(eq(STAGING_PATH), eq("image/png"), eq(512L), any()))
+                    .thenReturn(presignedUpload);
+
+            AvatarUploadUrlResponse response = avatarService.createUploadUrl(
+                    USER_ID, new CreateAvatarUploadUrlRequest("image/png", 512L)
+            );
+
+            assertAll("Ссылка на загрузку",
+                    () -> assertEquals(UPLOAD_ID.toString(), response.uploadId()),
+                    () -> assertEquals("PUT", response.method()),
+                    () -> assertEquals(Map.of("Content-Type", "image/png"), response.headers())
+            );
+        }
+
+        @Test
+        @DisplayName("должен отказать без обращения к S3, если заявленный размер больше допустимого")
+        void shouldRejectWhenContentLengthExceedsLimit() {
+            var request = new CreateAvatarUploadUrlRequest("image/png", MAX_FILE_SIZE.toBytes() + 1);
+
+            assertThrows(DataValidationException.class, () -> avatarService.createUploadUrl(USER_ID, request));
+            verifyNoInteractions(s3Service);
+        }
+
+        @Test
+        @DisplayName("должен отказать без обращения к S3, если тип файла не изображение")
+        void shouldRejectWhenContentTypeIsNotImage() {
+            var request = new CreateAvatarUploadUrlRequest("application/pdf", 512L);
+
+            assertThrows(DataValidationException.class, () -> avatarService.createUploadUrl(USER_ID, request));
+            verifyNoInteractions(s3Service);
+        }
+    }
+
+    @Nested
+    @DisplayName("completeUpload")
+    class CompleteUpload {
+
+        private final CompleteAvatarUploadRequest request = new CompleteAvatarUploadRequest(UPLOAD_ID.toString());
+
+        @Test
+        @DisplayName("должен сообщить, что файл не загружен, если staging-объекта нет")
+        void shouldFailWhenStagedObjectIsMissing() {
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.empty());
+
+            assertThrows(AvatarUploadException.class, () -> avatarService.completeUpload(USER_ID, request));
+            verify(s3Service, never()).loadObject(anyString());
+            verify(s3Service, never()).removeObject(anyString());
+            verify(userService, never()).saveAvatarChange(any());
+        }
+
+        @Test
+        @DisplayName("должен удалить staging-объект, если его тип недопустим")
+        void shouldRemoveStagedObjectWhenContentTypeIsRejected() {
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.of(head("application/pdf", 512L)));
+
+            assertThrows(DataValidationException.class, () -> avatarService.completeUpload(USER_ID, request));
+            verify(s3Service, never()).loadObject(anyString());
+            verify(s3Service).removeObject(STAGING_PATH);
+            verify(userService, never()).saveAvatarChange(any());
+        }
+
+        @Test
+        @DisplayName("должен удалить staging-объект, если он перезаписан файлом больше допустимого после HEAD")
+        void shouldRemoveStagedObjectWhenObjectGrewAfterHead() {
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.of(head("image/png", 512L)));
+            when(s3Service.loadObject(STAGING_PATH)).thenReturn(new byte[(int) MAX_FILE_SIZE.toBytes() + 1]);
+
+            assertThrows(DataValidationException.class, () -> avatarService.completeUpload(USER_ID, request));
+            verify(s3Service).removeObject(STAGING_PATH);
+            verify(userService, never()).saveAvatarChange(any());
+        }
+
+        @Test
+        @DisplayName("должен удалить staging-объект, если изображение не удалось декодировать")
+        void shouldRemoveStagedObjectWhenImageCannotBeDecoded() {
+            byte[] bytes = new byte[512];
+            when(userService.getUserByIdOrThrow(USER_ID)).thenReturn(User.builder().username("user").build());
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.of(head("image/png", 512L)));
+            when(s3Service.loadObject(STAGING_PATH)).thenReturn(bytes);
+            when(resourceService.createRenditions(eq(bytes), eq("png"), any(), eq(true)))
+                    .thenThrow(new AvatarUploadException("Не удалось изменить размер изображения"));
+
+            assertThrows(AvatarUploadException.class, () -> avatarService.completeUpload(USER_ID, request));
+            verify(s3Service).removeObject(STAGING_PATH);
+            verify(userService, never()).saveAvatarChange(any());
+        }
+
+        @Test
+        @DisplayName("должен сохранить staging-объект для повтора, если хранилище временно недоступно")
+        void shouldKeepStagedObjectWhenStorageFails() {
+            byte[] bytes = new byte[512];
+            when(userService.getUserByIdOrThrow(USER_ID)).thenReturn(User.builder().username("user").build());
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.of(head("image/png", 512L)));
+            when(s3Service.loadObject(STAGING_PATH)).thenReturn(bytes);
+            when(resourceService.createRenditions(eq(bytes), eq("png"), any(), eq(true)))
+                    .thenReturn(new ImageRenditionSet(List.of(new ImageRendition(64, "png", bytes)), null));
+            when(resourceService.stripMetadata(bytes, "png")).thenReturn(bytes);
+            doThrow(new FileStorageException("Не удалось сохранить файл в хранилище"))
+                    .when(s3Service).storeObject(anyString(), any(), anyString());
+
+            assertThrows(FileStorageException.class, () -> avatarService.completeUpload(USER_ID, request));
+            verify(s3Service, never()).removeObject(anyString());
+        }
+
+        @Test
+        @DisplayName("должен отказать без обращения к S3, если идентификатор загрузки не UUID")
+        void shouldRejectWhenUploadIdIsMalformed() {
+            var malformed = new CompleteAvatarUploadRequest("../../other-user");
+
+            assertThrows(DataValidationException.class, () -> avatarService.completeUpload(USER_ID, malformed));
+            verifyNoInteractions(s3Service);
+        }
+
+        @Test
+        @DisplayName("должен сохранить аватар и удалить staging-объект, если загрузка корректна")
+        void shouldReplaceAvatarAndRemoveStagedObjectWhenUploadIsValid() {
+            byte[] bytes = new byte[512];
+            User user = User.builder().username("user").build();
+            when(userService.getUserByIdOrThrow(USER_ID)).thenReturn(user);
+            when(s3Service.findObjectMetadata(STAGING_PATH)).thenReturn(Optional.of(head("image/png", 512L)));
+            when(s3Service.loadObject(STAGING_PATH)).thenReturn(bytes);
+            when(resourceService.createRenditions(eq(bytes), eq("png"), any(), eq(true)))
+                    .thenReturn(new ImageRenditionSet(List.of(new ImageRendition(64, "png", bytes)), null));
+            when(resourceService.stripMetadata(bytes, "png")).thenReturn(bytes);
+            when(userService.saveAvatarChange(user)).thenReturn(user);
+
+            avatarService.completeUpload(USER_ID, request);
+
+            assertEquals("png", user.getUserProfileAvatar().getRenditionFormat());
+            verify(s3Service).removeObject(STAGING_PATH);
+        }
+    }
+
+    private static HeadObjectResponse head(String contentType, long contentLength) {
+        return HeadObjectResponse.builder()
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+    }
+
+    private static PresignedPutObjectRequest presignedUpload() throws Exception {
+        PresignedPutObjectRequest presignedUpload = mock(PresignedPutObjectRequest.class);
+        SdkHttpRequest httpRequest = mock(SdkHttpRequest.class);
+        URL url = URI.create("https://s3.example.com/" + STAGING_PATH).toURL();
+
+        when(presignedUpload.httpRequest()).thenReturn(httpRequest);
+        when(httpRequest.method()).thenReturn(SdkHttpMethod.PUT);
+        when(presignedUpload.url()).thenReturn(url);
+        when(presignedUpload.signedHeaders()).thenReturn(Map.of(
+                "host", List.of("s3.example.com"),
+                "Content-Type", List.of("image/png")
+        ));
+        when(presignedUpload.expiration()).thenReturn(Instant.parse("2030-01-01T00:00:00Z"));
+        return presignedUpload;
+    }
 }
@@ -1,8 +1,84 @@
 package io.github.sergeysenin.userservice.service.avatar.generator;
 
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties;
+import io.github.sergeysenin.userservice.entity.user.UserProfileAvatar;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DisplayName("AvatarFileNameGenerator")
 class AvatarFileNameGeneratorTest {
 
+    private static final String AVATAR_DIRECTORY = "avatars/7/4f1c2a3b-5d6e-4f70-8a9b-0c1d2e3f4a5b";
+
+    private AvatarFileNameGenerator avatarFileNameGenerator;
+
+    @BeforeEach
+    void setUp() {
+        AvatarProperties avatarProperties = new AvatarProperties(null, null, null, null, null, true);
+        avatarFileNameGenerator = new AvatarFileNameGenerator(avatarProperties, UUID::randomUUID);
+    }
+
+    @Nested
+    @DisplayName("resolveFilePaths")
+    class WhenResolvingFilePaths {
+
+        @Test
+        @DisplayName("должен строить ключи версий по размерам")
+        void shouldBuildSizeKeysWhenAvatarUsesCurrentLayout() {
+            UserProfileAvatar avatar = UserProfileAvatar.builder()
+                    .originalPath(AVATAR_DIRECTORY + "/original.jpg")
+                    .renditionSizes(List.of(64, 512))
+                    .renditionFormat("jpg")
+                    .webpRenditions(true)
+                    .build();
+
+            var paths = avatarFileNameGenerator.resolveFilePaths(avatar);
+
+            assertAll("Ключи должны соответствовать раскладке {каталог}/{размер}.{формат}",
+                    () -> assertEquals(
+                            Map.of(64, AVATAR_DIRECTORY + "/64.jpg", 512, AVATAR_DIRECTORY + "/512.jpg"),
+                            paths.renditionPaths()
+                    ),
+                    () -> assertEquals(
+                            Map.of(64, AVATAR_DIRECTORY + "/64.webp", 512, AVATAR_DIRECTORY + "/512.webp"),
+                            paths.webpRenditionPaths()
+                    )
+            );
+        }
+
+        @Test
+        @DisplayName("должен отдавать ключи thumbnail/profile для аватара из прежней раскладки")
+        void shouldKeepLegacyKeysWhenAvatarWasBackfilled() {
+            UserProfileAvatar avatar = UserProfileAvatar.builder()
+                    .originalPath(AVATAR_DIRECTORY + "/original.png")
+                    .renditionSizes(List.of(170, 1080))
+                    .renditionFormat("png")
+                    .webpRenditions(true)
+                    .legacyRenditions(true)
+                    .build();
+
+            var paths = avatarFileNameGenerator.resolveFilePaths(avatar);
+
+            assertAll("Перенесённые версии должны указывать на прежние объекты",
+                    () -> assertEquals(
+                            Map.of(170, AVATAR_DIRECTORY + "/thumbnail.png", 1080, AVATAR_DIRECTORY + "/profile.png"),
+                            paths.renditionPaths()
+                    ),
+                    () -> assertEquals(
+                            Map.of(170, AVATAR_DIRECTORY + "/thumbnail.webp", 1080, AVATAR_DIRECTORY + "/profile.webp"),
+                            paths.webpRenditionPaths()
+                    )
+            );
+        }
+    }
 }
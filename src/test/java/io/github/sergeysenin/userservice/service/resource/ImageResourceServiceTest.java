@@ -1,8 +1,481 @@
 package io.github.sergeysenin.userservice.service.resource;
 
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarEncodingProperties;
+import io.github.sergeysenin.userservice.config.avatar.AvatarProperties.AvatarSizeProperties;
+import io.github.sergeysenin.userservice.dto.avatar.AvatarPlaceholderDto;
+import io.github.sergeysenin.userservice.service.resource.encoder.ImageEncoder;
+import io.github.sergeysenin.userservice.service.resource.metadata.ImageMetadataStripper;
+import io.github.sergeysenin.userservice.service.resource.placeholder.ImagePlaceholderGenerator;
+
+import net.coobird.thumbnailator.Thumbnails;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("ImageResourceService")
 class ImageResourceServiceTest {
 
+    private static final Logger log = LoggerFactory.getLogger(ImageResourceServiceTest.class);
+
+    private static final AvatarEncodingProperties ENCODING = new AvatarEncodingProperties(0.75f, true, true, 0.8f);
+    // По возрастанию, как createRenditions возвращает версии.
+    private static final int[] MAX_SIDES = {170, 1080};
+    private static final double MAX_PSNR_DEGRADATION_DB = 0.05;
+    private static final double IDENTICAL_PSNR_DB = 99.0;
+    private static final int BLUR_HASH_LENGTH = 28;
+    private static final byte[] GPS_COORDINATES = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(55).putInt(1).putInt(45).putInt(1).putInt(2113).putInt(100)
+            .array();
+    private static final byte[] CAMERA_SERIAL = "SN-0042-CAMERA\u0000".getBytes(StandardCharsets.ISO_8859_1);
+
+    private ImageResourceService imageResourceService;
+
+    @BeforeEach
+    void setUp() {
+        imageResourceService = new ImageResourceService(
+                new ImageEncoder(),
+                new ImageMetadataStripper(),
+                new ImagePlaceholderGenerator()
+        );
+    }
+
+    @Nested
+    @DisplayName("кодирование корпуса")
+    class WhenEncodingCorpus {
+
+        @Test
+        @DisplayName("должен уменьшать объём версий без потери качества относительно кодирования по умолчанию")
+        void shouldReduceBytesWithoutQualityLossWhenEncodingCorpus() {
+            List<AvatarSizeProperties> sizes = Arrays.stream(MAX_SIDES)
+                    .mapToObj(maxSide -> new AvatarSizeProperties(maxSide, ENCODING))
+                    .toList();
+            List<Executable> checks = new ArrayList<>();
+            long baselineTotal = 0;
+            long optimizedTotal = 0;
+
+            for (CorpusSample sample : corpus()) {
+                List<ImageRendition> renditions = imageResourceService
+                        .createRenditions(sample.bytes(), sample.format(), sizes, false)
+                        .renditions();
+                List<BufferedImage> references = renditionReferences(sample.bytes());
+
+                for (int index = 0; index < MAX_SIDES.length; index++) {
+                    int maxSide = MAX_SIDES[index];
+                    BufferedImage reference = references.get(index);
+                    byte[] baseline = encode(reference, sample.format());
+                    ImageRendition rendition = renditions.get(index);
+                    byte[] optimized = rendition.bytes();
+
+                    double baselinePsnr = psnr(reference, decode(baseline));
+                    double optimizedPsnr = psnr(reference, decode(optimized));
+                    baselineTotal += baseline.length;
+                    optimizedTotal += optimized.length;
+
+                    log.info("Корпус {} ({}) @{}: по умолчанию {} байт, с пресетом {} байт ({}%), PSNR {} → {} дБ",
+                            sample.name(), sample.format(), maxSide, baseline.length, optimized.length,
+                            String.format(Locale.ROOT, "%.1f", savedPercent(baseline.length, optimized.length)),
+                            String.format(Locale.ROOT, "%.2f", baselinePsnr),
+                            String.format(Locale.ROOT, "%.2f", optimizedPsnr));
+
+                    String label = sample.name() + "@" + maxSide;
+                    checks.add(() -> assertEquals(maxSide, rendition.maxSide(),
+                            label + ": версии должны идти по возрастанию размера"));
+                    checks.add(() -> assertTrue(optimized.length <= baseline.length,
+                            label + ": оптимизированная версия не должна быть больше версии по умолчанию"));
+                    checks.add(() -> assertTrue(optimizedPsnr >= baselinePsnr - MAX_PSNR_DEGRADATION_DB,
+                            label + ": качество не должно ухудшаться относительно версии по умолчанию"));
+                }
+            }
+
+            log.info("Корпус целиком: по умолчанию {} байт, с пресетом {} байт ({}%)",
+                    baselineTotal, optimizedTotal,
+                    String.format(Locale.ROOT, "%.1f", savedPercent(baselineTotal, optimizedTotal)));
+
+            long finalBaselineTotal = baselineTotal;
+            long finalOptimizedTotal = optimizedTotal;
+            checks.add(() -> assertTrue(finalOptimizedTotal < finalBaselineTotal,
+                    "Суммарный объём корпуса должен уменьшиться"));
+            assertAll("Кодирование корпуса должно экономить байты без потери качества", checks);
+        }
+
+        @Test
+        @DisplayName("должен сохранять PNG без потерь при переводе в палитру")
+        void shouldKeepPixelsWhenConvertingPngToPalette() {
+            byte[] source = encode(flatIllustration(400, 400, true), "png");
+
+            var sizes = List.of(new AvatarSizeProperties(170, ENCODING));
+
+            byte[] optimized = imageResourceService.createRenditions(source, "png", sizes, false)
+                    .renditions().get(0).bytes();
+
+            BufferedImage reference = resizeReference(source, 170);
+            assertEquals(IDENTICAL_PSNR_DB, psnr(reference, decode(optimized)),
+                    "Палитровая версия должна совпадать с эталоном попиксельно");
+        }
+    }
+
+    @Nested
+    @DisplayName("stripMetadata")
+    class WhenStrippingMetadata {
+
+        @Test
+        @DisplayName("должен удалять EXIF и комментарии из JPEG")
+        void shouldRemoveExifAndCommentsWhenJpegContainsMetadata() {
+            byte[] clean = encode(photo(120, 90, 7), "jpg");
+            byte[] withMetadata = insertAfterJpegSoi(clean, concat(exifSegment(1), commentSegment("camera")));
+
+            byte[] stripped = imageResourceService.stripMetadata(withMetadata, "jpg");
+
+            assertAll("JPEG должен очищаться от метаданных",
+                    () -> assertArrayEquals(clean, stripped, "Результат должен совпадать с JPEG без метаданных"),
+                    () -> assertEquals(120, decode(stripped).getWidth(), "Изображение должно декодироваться")
+            );
+        }
+
+        @Test
+        @DisplayName("должен сохранять в EXIF только нестандартную ориентацию")
+        void shouldKeepOnlyOrientationWhenExifIsRotated() {
+            byte[] clean = encode(photo(120, 90, 8), "jpg");
+            byte[] rotated = insertAfterJpegSoi(clean, exifSegment(6));
+
+            byte[] stripped = imageResourceService.stripMetadata(rotated, "jpg");
+
+            assertArrayEquals(rotated, stripped, "Минимальный EXIF с ориентацией должен остаться без изменений");
+        }
+
+        @Test
+        @DisplayName("должен удалять GPS и прочие теги из EXIF с нестандартной ориентацией")
+        void shouldDropGpsWhenExifContainsOrientationAndGpsInfo() {
+            byte[] clean = encode(photo(120, 90, 9), "jpg");
+            byte[] withGps = insertAfterJpegSoi(clean, exifSegmentWithGps(6));
+
+            byte[] stripped = imageResourceService.stripMetadata(withGps, "jpg");
+
+            assertAll("Из EXIF должна остаться только ориентация",
+                    () -> assertArrayEquals(insertAfterJpegSoi(clean, exifSegment(6)), stripped,
+                            "APP1 должен быть переписан в минимальный EXIF"),
+                    () -> assertEquals(-1, indexOf(stripped, GPS_COORDINATES), "Координаты GPS должны быть удалены"),
+                    () -> assertEquals(-1, indexOf(stripped, CAMERA_SERIAL), "Серийный номер должен быть удалён")
+            );
+        }
+
+        @Test
+        @DisplayName("должен удалять текстовые чанки из PNG")
+        void shouldRemoveTextChunksWhenPngContainsMetadata() {
+            byte[] clean = encode(flatIllustration(64, 64, true), "png");
+            byte[] textChunk = pngChunk("tEXt", "Comment\u0000camera".getBytes(StandardCharsets.ISO_8859_1));
+            byte[] withMetadata = insertAfterPngHeader(clean, textChunk);
+
+            byte[] stripped = imageResourceService.stripMetadata(withMetadata, "png");
+
+            assertArrayEquals(clean, stripped, "Результат должен совпадать с PNG без метаданных");
+        }
+    }
+
+    @Nested
+    @DisplayName("createRenditions")
+    class WhenCreatingRenditions {
+
+        @Test
+        @DisplayName("должен формировать версии всех размеров из одного декодирования")
+        void shouldCreateEveryConfiguredSizeWhenSizesAreUnordered() {
+            byte[] source = encode(photo(1600, 1200, 5), "jpg");
+            List<AvatarSizeProperties> sizes = List.of(
+                    new AvatarSizeProperties(256, ENCODING),
+                    new AvatarSizeProperties(64, ENCODING),
+                    new AvatarSizeProperties(1080, ENCODING)
+            );
+
+            var renditionSet = imageResourceService.createRenditions(source, "jpg", sizes, false);
+
+            List<ImageRendition> renditions = renditionSet.renditions();
+            assertAll("Версии должны соответствовать размерам и формату",
+                    () -> assertEquals(List.of(64, 256, 1080),
+                            renditions.stream().map(ImageRendition::maxSide).toList(), "Размеры по возрастанию"),
+                    () -> assertTrue(renditions.stream().allMatch(rendition -> "jpg".equals(rendition.format())),
+                            "Без WebP формируется только исходный формат"),
+                    () -> assertEquals(64, decode(renditions.get(0).bytes()).getWidth(), "Ширина версии 64"),
+                    () -> assertEquals(1080, decode(renditions.get(2).bytes()).getWidth(), "Ширина версии 1080"),
+                    () -> assertEquals(BLUR_HASH_LENGTH, renditionSet.placeholder().blurHash().length(),
+                            "Плейсхолдер строится по наименьшей версии")
+            );
+        }
+
+        @Test
+        @DisplayName("должен строить BlurHash 4×3 и точный доминирующий цвет для однотонного изображения")
+        void shouldReturnBlurHashAndColorWhenImageIsSolid() {
+            byte[] source = encode(solid(300, 200, new Color(30, 120, 200)), "png");
+
+            var placeholder = createPlaceholder(source);
+
+            assertAll("Плейсхолдер однотонного изображения",
+                    () -> assertEquals(BLUR_HASH_LENGTH, placeholder.blurHash().length(), "Длина BlurHash 4×3"),
+                    () -> assertEquals('L', placeholder.blurHash().charAt(0), "Флаг размера для 4×3 компонент"),
+                    () -> assertEquals("#1e78c8", placeholder.dominantColor(), "Доминирующий цвет")
+            );
+        }
+
+        @Test
+        @DisplayName("должен игнорировать прозрачный фон при выборе доминирующего цвета")
+        void shouldIgnoreTransparentPixelsWhenChoosingDominantColor() {
+            byte[] source = encode(flatIllustration(512, 512, true), "png");
+
+            var placeholder = createPlaceholder(source);
+
+            Color dominant = Color.decode(placeholder.dominantColor());
+            assertAll("Доминирующим должен быть цвет круга, а не прозрачный фон",
+                    () -> assertEquals(30, dominant.getRed(), 2),
+                    () -> assertEquals(120, dominant.getGreen(), 2),
+                    () -> assertEquals(200, dominant.getBlue(), 2)
+            );
+        }
+    }
+
+    private AvatarPlaceholderDto createPlaceholder(byte[] source) {
+        var sizes = List.of(new AvatarSizeProperties(64, ENCODING));
+        return imageResourceService.createRenditions(source, "png", sizes, false).placeholder();
+    }
+
+    private static List<CorpusSample> corpus() {
+        return List.of(
+                new CorpusSample("photo-landscape", "jpg", encode(photo(1600, 1200, 1), "jpg")),
+                new CorpusSample("photo-portrait", "jpg", encode(photo(900, 1200, 2), "jpg")),
+                new CorpusSample("photo-square", "jpg", encode(photo(1080, 1080, 3), "jpg")),
+                new CorpusSample("flat-opaque", "png", encode(flatIllustration(800, 800, false), "png")),
+                new CorpusSample("flat-alpha", "png", encode(flatIllustration(512, 512, true), "png")),
+                new CorpusSample("photo-png", "png", encode(photo(600, 600, 4), "png"))
+        );
+    }
+
+    private static BufferedImage photo(int width, int height, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int red = clamp(128 + (int) (100 * Math.sin(x / 37.0)) + random.nextInt(21) - 10);
+                int green = clamp(128 + (int) (90 * Math.cos(y / 53.0)) + random.nextInt(21) - 10);
+                int blue = clamp(128 + (int) (80 * Math.sin((x + y) / 71.0)) + random.nextInt(21) - 10);
+                image.setRGB(x, y, (red << 16) | (green << 8) | blue);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage flatIllustration(int width, int height, boolean transparent) {
+        int type = transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            if (!transparent) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.setColor(new Color(30, 120, 200));
+            graphics.fillOval(width / 8, height / 8, width * 3 / 4, height * 3 / 4);
+            graphics.setColor(new Color(250, 200, 40));
+            graphics.fillRect(width / 3, height / 3, width / 3, height / 3);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static byte[] encode(BufferedImage image, String format) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            ImageIO.write(image, format, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static BufferedImage decode(byte[] bytes) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // Как в createRenditions: исходник декодируется в наибольшую версию, меньшие строятся из неё.
+    private static List<BufferedImage> renditionReferences(byte[] bytes) {
+        BufferedImage largest = resizeReference(bytes, MAX_SIDES[MAX_SIDES.length - 1]);
+        List<BufferedImage> references = new ArrayList<>();
+        for (int index = 0; index < MAX_SIDES.length - 1; index++) {
+            try {
+                references.add(Thumbnails.of(largest).size(MAX_SIDES[index], MAX_SIDES[index]).asBufferedImage());
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        references.add(largest);
+        return references;
+    }
+
+    private static BufferedImage resizeReference(byte[] bytes, int maxSide) {
+        try {
+            return Thumbnails.of(new ByteArrayInputStream(bytes))
+                    .size(maxSide, maxSide)
+                    .asBufferedImage();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static double psnr(BufferedImage expected, BufferedImage actual) {
+        double squaredErrorSum = 0;
+        long samples = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int expectedArgb = normalizeTransparent(expected.getRGB(x, y));
+                int actualArgb = normalizeTransparent(actual.getRGB(x, y));
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int difference = ((expectedArgb >> shift) & 0xFF) - ((actualArgb >> shift) & 0xFF);
+                    squaredErrorSum += difference * difference;
+                    samples++;
+                }
+            }
+        }
+        double meanSquaredError = squaredErrorSum / samples;
+        return meanSquaredError == 0 ? IDENTICAL_PSNR_DB : 10 * Math.log10(255 * 255 / meanSquaredError);
+    }
+
+    private static int normalizeTransparent(int argb) {
+        return (argb >>> 24) == 0 ? 0 : argb;
+    }
+
+    private static double savedPercent(long baseline, long optimized) {
+        return 100.0 * (baseline - optimized) / baseline;
+    }
+
+    private static byte[] exifSegment(int orientation) {
+        byte[] tiff = {
+                'I', 'I', 42, 0, 8, 0, 0, 0,
+                1, 0,
+                0x12, 0x01, 3, 0, 1, 0, 0, 0, (byte) orientation, 0, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] payload = concat(new byte[]{'E', 'x', 'i', 'f', 0, 0}, tiff);
+        return jpegSegment(0xE1, payload);
+    }
+
+    // IFD0: Orientation, серийный номер (0xA431, ASCII) и указатель на GPS IFD (0x8825) с широтой.
+    private static byte[] exifSegmentWithGps(int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(8)
+                .putShort((short) 3)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1)
+                .putShort((short) orientation).putShort((short) 0)
+                .putShort((short) 0x8825).putShort((short) 4).putInt(1).putInt(50)
+                .putShort((short) 0xA431).putShort((short) 2).putInt(CAMERA_SERIAL.length).putInt(92)
+                .putInt(0);
+        // GPS IFD по смещению 50: GPSLatitude (RATIONAL × 3) со значениями по смещению 68, серийный номер — с 92.
+        tiff.putShort((short) 1)
+                .putShort((short) 0x0002).putShort((short) 5).putInt(3).putInt(68)
+                .putInt(0)
+                .put(GPS_COORDINATES)
+                .put(CAMERA_SERIAL);
+        byte[] payload = concat(new byte[]{'E', 'x', 'i', 'f', 0, 0}, Arrays.copyOf(tiff.array(), tiff.position()));
+        return jpegSegment(0xE1, payload);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int start = 0; start + pattern.length <= bytes.length; start++) {
+            if (Arrays.equals(bytes, start, start + pattern.length, pattern, 0, pattern.length)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] commentSegment(String comment) {
+        return jpegSegment(0xFE, comment.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static byte[] jpegSegment(int marker, byte[] payload) {
+        int length = payload.length + 2;
+        byte[] header = {(byte) 0xFF, (byte) marker, (byte) (length >> 8), (byte) length};
+        return concat(header, payload);
+    }
+
+    private static byte[] pngChunk(String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.ISO_8859_1);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        return ByteBuffer.allocate(12 + data.length)
+                .putInt(data.length)
+                .put(typeBytes)
+                .put(data)
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    private static byte[] insertAfterJpegSoi(byte[] jpeg, byte[] segment) {
+        return insert(jpeg, 2, segment);
+    }
+
+    private static byte[] insertAfterPngHeader(byte[] png, byte[] chunk) {
+        // Сигнатура (8) + IHDR (25).
+        return insert(png, 33, chunk);
+    }
+
+    private static byte[] insert(byte[] target, int position, byte[] inserted) {
+        byte[] result = new byte[target.length + inserted.length];
+        System.arraycopy(target, 0, result, 0, position);
+        System.arraycopy(inserted, 0, result, position, inserted.length);
+        System.arraycopy(target, position, result, position + inserted.length, target.length - position);
+        return result;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        return insert(first, first.length, second);
+    }
+
+    private record CorpusSample(String name, String format, byte[] bytes) {
+    }
 }
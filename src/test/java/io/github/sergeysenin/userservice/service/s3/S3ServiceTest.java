@@ -1,8 +1,126 @@
 package io.github.sergeysenin.userservice.service.s3;
 
+import io.github.sergeysenin.userservice.config.s3.S3Properties;
+import io.github.sergeysenin.userservice.exception.type.FileStorageException;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
 @DisplayName("S3Service")
 class S3ServiceTest {
 
+    private static final String BUCKET = "test-bucket";
+    private static final String KEY = "avatars/staging/7/upload";
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new S3Properties(
+                "http://localhost:9000", "access", "secret", BUCKET, null, Duration.ofMinutes(5)
+        );
+        s3Service = new S3Service(s3Client, s3Presigner, properties);
+    }
+
+    @Nested
+    @DisplayName("generatePresignedUploadUrl")
+    class GeneratePresignedUploadUrl {
+
+        @Test
+        @DisplayName("должен подписать PUT с ключом, типом, размером и сроком действия")
+        void shouldSignPutWithContentHeadersWhenArgumentsAreValid() {
+            PresignedPutObjectRequest presigned = mock(PresignedPutObjectRequest.class);
+            var captor = ArgumentCaptor.forClass(PutObjectPresignRequest.class);
+            when(s3Presigner.presignPutObject(captor.capture())).thenReturn(presigned);
+
+            var result = s3Service.generatePresignedUploadUrl(KEY, "image/png", 512L, Duration.ofMinutes(15));
+
+            var putRequest = captor.getValue().putObjectRequest();
+            assertAll("Подписанный запрос",
+                    () -> assertEquals(presigned, result),
+                    () -> assertEquals(BUCKET, putRequest.bucket()),
+                    () -> assertEquals(KEY, putRequest.key()),
+                    () -> assertEquals("image/png", putRequest.contentType()),
+                    () -> assertEquals(512L, putRequest.contentLength()),
+                    () -> assertEquals(Duration.ofMinutes(15), captor.getValue().signatureDuration())
+            );
+        }
+
+        @Test
+        @DisplayName("должен отказать без подписи, если MIME-тип не указан")
+        void shouldRejectWhenContentTypeIsBlank() {
+            assertThrows(FileStorageException.class,
+                    () -> s3Service.generatePresignedUploadUrl(KEY, " ", 512L, Duration.ofMinutes(15)));
+            verifyNoInteractions(s3Presigner);
+        }
+    }
+
+    @Nested
+    @DisplayName("findObjectMetadata")
+    class FindObjectMetadata {
+
+        @Test
+        @DisplayName("должен вернуть метаданные, если объект есть")
+        void shouldReturnMetadataWhenObjectExists() {
+            HeadObjectResponse head = HeadObjectResponse.builder().contentType("image/png").contentLength(512L).build();
+            when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(head);
+
+            assertEquals(Optional.of(head), s3Service.findObjectMetadata(KEY));
+            verify(s3Client).headObject(HeadObjectRequest.builder().bucket(BUCKET).key(KEY).build());
+        }
+
+        @Test
+        @DisplayName("должен вернуть пустой результат, если HEAD ответил 404")
+        void shouldReturnEmptyWhenObjectIsMissing() {
+            when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(s3Exception(404));
+
+            assertTrue(s3Service.findObjectMetadata(KEY).isEmpty());
+        }
+
+        @Test
+        @DisplayName("должен сообщить о сбое хранилища, если HEAD ответил ошибкой кроме 404")
+        void shouldThrowWhenStorageFails() {
+            when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(s3Exception(503));
+
+            assertThrows(FileStorageException.class, () -> s3Service.findObjectMetadata(KEY));
+        }
+    }
+
+    private static S3Exception s3Exception(int statusCode) {
+        return (S3Exception) S3Exception.builder().statusCode(statusCode).message("status " + statusCode).build();
+    }
 }
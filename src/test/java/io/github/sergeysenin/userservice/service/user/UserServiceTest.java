@@ -1,8 +1,258 @@
 package io.github.sergeysenin.userservice.service.user;
 
+import io.github.sergeysenin.userservice.dto.user.CreateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UpdateUserRequest;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.exception.type.UserAlreadyExistsException;
+import io.github.sergeysenin.userservice.exception.type.UserNotFoundException;
+import io.github.sergeysenin.userservice.exception.type.UserVersionConflictException;
+import io.github.sergeysenin.userservice.repository.user.UserKeyRepository;
+import io.github.sergeysenin.userservice.repository.user.UserKeyRepository.UserKey;
+import io.github.sergeysenin.userservice.repository.user.UserPatchRepository;
+import io.github.sergeysenin.userservice.repository.user.UserProfileReadRepository;
+import io.github.sergeysenin.userservice.repository.user.UserProfileValidator;
+import io.github.sergeysenin.userservice.repository.user.UserRepository;
+import io.github.sergeysenin.userservice.service.user.cache.SingleFlight;
+import io.github.sergeysenin.userservice.service.user.cache.UserProfileCache;
+import io.github.sergeysenin.userservice.service.user.country.CountryService;
+import io.github.sergeysenin.userservice.service.user.event.UserProfileChangedEvent;
+import io.github.sergeysenin.userservice.service.user.existence.UserExistenceFilter;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+import io.github.sergeysenin.userservice.service.user.outbox.UserEventType;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+@ExtendWith(MockitoExtension.class)
 @DisplayName("UserService")
 class UserServiceTest {
 
+    private static final Long USER_ID = 7L;
+    private static final int PROBE_STORM = 1_000;
+    private static final UpdateUserRequest CITY_PATCH =
+            new UpdateUserRequest(null, null, null, null, null, null, "Казань", null);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserPatchRepository userPatchRepository;
+
+    @Mock
+    private UserProfileReadRepository userProfileReadRepository;
+
+    @Mock
+    private UserKeyRepository userKeyRepository;
+
+    @Mock
+    private CountryService countryService;
+
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    @Spy
+    private SingleFlight<Long, UserResponse> userProfileLoads = new SingleFlight<>(Duration.ofSeconds(1));
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    @DisplayName("должен вернуть найденных и отсутствующих пользователей в порядке запроса одним запросом")
+    void shouldSplitBatchIntoFoundAndMissing() {
+        User first = user(3L);
+        User second = user(1L);
+        Set<Long> expectedIds = new LinkedHashSet<>(List.of(3L, 2L, 1L));
+        when(userRepository.findAllByIdIn(expectedIds)).thenReturn(List.of(second, first));
+
+        UserBatch batch = userService.getUsersByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertAll("Пакетное чтение",
+                () -> assertEquals(List.of(first, second), batch.found()),
+                () -> assertEquals(List.of(2L), batch.missing())
+        );
+        verify(userRepository).findAllByIdIn(expectedIds);
+    }
+
+    @Test
+    @DisplayName("должен обновить профиль одним запросом и опубликовать событие изменения")
+    void shouldPatchProfileAndPublishEvent() {
+        UserResponse updated = mock(UserResponse.class);
+        when(userPatchRepository.patch(USER_ID, CITY_PATCH, 3L)).thenReturn(Optional.of(updated));
+
+        UserResponse result = userService.patchUser(USER_ID, CITY_PATCH, 3L);
+
+        assertEquals(updated, result);
+        verify(userOutbox).append(UserEventType.USER_UPDATED, updated);
+        verify(eventPublisher).publishEvent(new UserProfileChangedEvent(USER_ID));
+    }
+
+    @Test
+    @DisplayName("должен сообщить о конфликте версий, если пользователь существует")
+    void shouldThrowVersionConflictWhenVersionDiffers() {
+        when(userPatchRepository.patch(USER_ID, CITY_PATCH, 3L)).thenReturn(Optional.empty());
+        when(userPatchRepository.findVersion(USER_ID)).thenReturn(Optional.of(4L));
+
+        assertThrows(UserVersionConflictException.class, () -> userService.patchUser(USER_ID, CITY_PATCH, 3L));
+        verifyNoInteractions(userOutbox, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("должен сообщить об отсутствии пользователя, если обновлять нечего")
+    void shouldThrowNotFoundWhenUserIsMissing() {
+        when(userPatchRepository.patch(USER_ID, CITY_PATCH, null)).thenReturn(Optional.empty());
+        when(userPatchRepository.findVersion(USER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.patchUser(USER_ID, CITY_PATCH, null));
+    }
+
+    @Test
+    @DisplayName("должен ответить 404 после проверки по ключу без кеша и загрузки, если id нет в фильтре")
+    void shouldRejectMissingIdWithoutProfileLoad() {
+        when(userExistenceFilter.definitelyMissing(USER_ID)).thenReturn(true);
+        when(userExistenceFilter.tryAcquireConfirmation()).thenReturn(true);
+        when(userProfileReadRepository.findValidator(USER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserResponseByIdOrThrow(USER_ID));
+        verify(userProfileReadRepository, never()).findById(any());
+        verify(userExistenceFilter, never()).putId(anyLong());
+        verifyNoInteractions(userProfileCache);
+    }
+
+    @Test
+    @DisplayName("должен отвечать 404 без запросов к БД на перебор id сверх бюджета проверок")
+    void shouldNotQueryDatabaseForProbeStormBeyondBudget() {
+        when(userExistenceFilter.definitelyMissing(anyLong())).thenReturn(true);
+        when(userExistenceFilter.tryAcquireConfirmation()).thenReturn(true, true, false);
+        when(userProfileReadRepository.findValidator(anyLong())).thenReturn(Optional.empty());
+
+        for (long probe = 1; probe <= PROBE_STORM; probe++) {
+            long userId = probe;
+            assertThrows(UserNotFoundException.class, () -> userService.getUserResponseByIdOrThrow(userId));
+        }
+
+        verify(userProfileReadRepository, times(2)).findValidator(anyLong());
+        verify(userProfileReadRepository, never()).findById(any());
+        verifyNoInteractions(userProfileCache);
+    }
+
+    @Test
+    @DisplayName("должен отдать пользователя, созданного на другом узле, если сообщение о создании потерялось")
+    void shouldServeUserWhenCreationAnnouncementWasLost() {
+        UserResponse profile = mock(UserResponse.class);
+        when(userExistenceFilter.definitelyMissing(USER_ID)).thenReturn(true);
+        when(userExistenceFilter.tryAcquireConfirmation()).thenReturn(true);
+        when(userProfileReadRepository.findValidator(USER_ID))
+                .thenReturn(Optional.of(new UserProfileValidator(0L, null)));
+        when(userProfileCache.get(eq(USER_ID), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<UserResponse>>getArgument(1).get());
+        when(userProfileReadRepository.findById(USER_ID)).thenReturn(Optional.of(profile));
+
+        assertEquals(profile, userService.getUserResponseByIdOrThrow(USER_ID));
+        verify(userExistenceFilter).putId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("должен перечислить занятые поля до INSERT, если фильтр не исключил конфликт")
+    void shouldReportTakenKeysBeforeInsert() {
+        var request = new CreateUserRequest("taken", "new@example.com", "+79990000000", true, null, 1L, "Казань", null);
+        when(userKeyRepository.findTaken("taken", "new@example.com", "+79990000000"))
+                .thenReturn(EnumSet.of(UserKey.USERNAME));
+
+        var exception = assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(request));
+
+        assertEquals(Set.of("username"), exception.getDetails().keySet());
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("должен загружать промах кеша профиля проекцией без сущности")
+    void shouldLoadProfileCacheMissThroughProjection() {
+        UserResponse profile = mock(UserResponse.class);
+        when(userProfileCache.get(eq(USER_ID), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<UserResponse>>getArgument(1).get());
+        when(userProfileReadRepository.findById(USER_ID)).thenReturn(Optional.of(profile));
+
+        assertEquals(profile, userService.getUserResponseByIdOrThrow(USER_ID));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("должен сообщить об отсутствии пользователя при промахе кеша")
+    void shouldThrowNotFoundWhenProfileIsMissing() {
+        when(userProfileCache.get(eq(USER_ID), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<UserResponse>>getArgument(1).get());
+        when(userProfileReadRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserResponseByIdOrThrow(USER_ID));
+    }
+
+    @Test
+    @DisplayName("должен брать валидаторы профиля из кеша, не обращаясь к БД")
+    void shouldTakeValidatorFromCache() {
+        UserResponse cached = mock(UserResponse.class);
+        when(cached.version()).thenReturn(5L);
+        when(userProfileCache.getIfPresent(USER_ID)).thenReturn(Optional.of(cached));
+
+        assertEquals(5L, userService.getUserValidatorOrThrow(USER_ID).version());
+        verifyNoInteractions(userProfileReadRepository);
+    }
+
+    @Test
+    @DisplayName("должен читать валидаторы профиля из индекса при промахе кеша")
+    void shouldReadValidatorFromIndexOnCacheMiss() {
+        var validator = new UserProfileValidator(5L, OffsetDateTime.parse("2026-01-01T00:00:00Z"));
+        when(userProfileCache.getIfPresent(USER_ID)).thenReturn(Optional.empty());
+        when(userProfileReadRepository.findValidator(USER_ID)).thenReturn(Optional.of(validator));
+
+        assertEquals(validator, userService.getUserValidatorOrThrow(USER_ID));
+        verify(userProfileCache, never()).get(eq(USER_ID), any());
+    }
+
+    private static User user(Long id) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
 }
@@ -0,0 +1,81 @@
+package io.github.sergeysenin.userservice.service.user.attributesync;
+
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserAttributeChange;
+import io.github.sergeysenin.userservice.repository.user.UserAttributeRepository;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAttributeSyncService")
+class UserAttributeSyncServiceTest {
+
+    @Mock
+    private UserAttributeRepository userAttributeRepository;
+
+    @Mock
+    private CountryRegistry countryRegistry;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserAttributeSyncService userAttributeSyncService;
+
+    @Test
+    @DisplayName("должен схлопнуть изменения одного пользователя в одно с последними значениями полей")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceChangesPerUser() {
+        when(countryRegistry.find(2L)).thenReturn(Optional.of(new CountrySummaryDto(2L, "Россия")));
+        when(userAttributeRepository.updateAll(anyList())).thenReturn(List.of());
+
+        userAttributeSyncService.applyChanges(List.of(
+                new UserAttributeChange(7L, false, "Казань", null),
+                new UserAttributeChange(3L, true, null, null),
+                new UserAttributeChange(7L, true, null, 2L),
+                new UserAttributeChange(7L, null, "Самара", null)
+        ));
+
+        ArgumentCaptor<List<UserAttributeChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userAttributeRepository).updateAll(captor.capture());
+        assertEquals(List.of(
+                new UserAttributeChange(3L, true, null, null),
+                new UserAttributeChange(7L, true, "Самара", 2L)
+        ), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("должен отбросить неизвестную страну и не обращаться к БД, если менять нечего")
+    void shouldSkipBatchWithoutApplicableChanges() {
+        when(countryRegistry.find(99L)).thenReturn(Optional.empty());
+
+        int updated = userAttributeSyncService.applyChanges(List.of(
+                new UserAttributeChange(7L, null, null, 99L),
+                new UserAttributeChange(null, true, null, null)
+        ));
+
+        assertEquals(0, updated);
+        verifyNoInteractions(userAttributeRepository, userOutbox, eventPublisher);
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.sergeysenin.userservice.service.user.bulkimport;
+
+import io.github.sergeysenin.userservice.config.bulkimport.UserImportProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserImportErrorDto;
+import io.github.sergeysenin.userservice.dto.user.UserImportReport;
+import io.github.sergeysenin.userservice.mapper.user.UserResponseRowMapper;
+import io.github.sergeysenin.userservice.service.user.country.CountryRegistry;
+import io.github.sergeysenin.userservice.service.user.existence.UserExistenceFilter;
+import io.github.sergeysenin.userservice.service.user.outbox.UserOutbox;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserImportService")
+class UserImportServiceTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private CountryRegistry countryRegistry;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    private UserImportService userImportService;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = validatorFactory.getValidator();
+        userImportService = new UserImportService(
+                jdbcTemplate,
+                transactionTemplate,
+                new UserResponseRowMapper(countryRegistry),
+                userOutbox,
+                validator,
+                countryRegistry,
+                userExistenceFilter,
+                new UserImportProperties(100, 10)
+        );
+        lenient().when(countryRegistry.find(anyLong())).thenReturn(Optional.empty());
+        lenient().when(countryRegistry.find(1L)).thenReturn(Optional.of(new CountrySummaryDto(1L, "Россия")));
+    }
+
+    @Test
+    @DisplayName("должен вернуть ошибки по строкам и не писать в БД, если валидных строк нет")
+    void shouldReportRowErrorsWithoutWritingInvalidRows() {
+        String csv = """
+                username,email,phone,active,country_id,city,experience
+                ,user1@example.com,100,true,1,Москва,1
+                user2,not-an-email,200,maybe,1,Москва,abc
+                user3,user3@example.com,300,true,99,Москва,
+                """;
+
+        UserImportReport report = userImportService.importCsv(stream(csv));
+
+        assertAll("Отчёт об ошибках",
+                () -> assertEquals(3, report.totalRows()),
+                () -> assertEquals(0, report.importedRows()),
+                () -> assertEquals(3, report.failedRows()),
+                () -> assertTrue(hasError(report, 1, "username")),
+                () -> assertTrue(hasError(report, 2, "email")),
+                () -> assertTrue(hasError(report, 2, "active")),
+                () -> assertTrue(hasError(report, 2, "experience")),
+                () -> assertTrue(hasError(report, 3, "country_id"))
+        );
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, userOutbox, userExistenceFilter);
+    }
+
+    @Test
+    @DisplayName("должен раздавать id из одного блока последовательности на пакет")
+    void shouldAssignIdsFromOneSequenceBlockPerChunk() throws SQLException {
+        String csv = """
+                username,email,phone,active,country_id,city,experience
+                user1,user1@example.com,100,true,1,Москва,1
+                user2,user2@example.com,200,true,1,Москва,2
+                user3,user3@example.com,300,true,1,Москва,3
+                """;
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(150L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class))
+        );
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(UserResponseRowMapper.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+                    return List.of();
+                });
+
+        userImportService.importCsv(stream(csv));
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(1));
+        verify(connection).createArrayOf("bigint", new Long[]{101L, 102L, 103L});
+    }
+
+    private static boolean hasError(UserImportReport report, long row, String field) {
+        return report.errors().stream()
+                .anyMatch(error -> error.row() == row && field.equals(error.field()));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.HotKeyProperties;
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyPath;
+import io.github.sergeysenin.userservice.service.user.hotkey.HotKeyTracker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NearUserProfileCache")
+class NearUserProfileCacheTest {
+
+    private static final Long USER_ID = 42L;
+
+    @Mock
+    private RedisUserProfileCache redisUserProfileCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private Supplier<UserResponse> loader;
+
+    private NearUserProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new UserProfileCacheProperties(
+                true, Duration.ofMinutes(10), null, 1.0, 100, Duration.ofSeconds(30), null, Duration.ofSeconds(5),
+                Duration.ofSeconds(5)
+        );
+        var hotKeyProperties = new HotKeyProperties(true, 10, 100, Duration.ofMinutes(1), 1024, Duration.ofMinutes(5));
+        var meterRegistry = new SimpleMeterRegistry();
+        cache = new NearUserProfileCache(
+                redisUserProfileCache, redisTemplate, properties,
+                new HotKeyTracker(hotKeyProperties, meterRegistry), hotKeyProperties, meterRegistry
+        );
+    }
+
+    @Test
+    @DisplayName("должен отдавать повторное чтение из локального кеша без обращения к Redis")
+    void shouldServeRepeatedReadFromLocalCache() {
+        when(redisUserProfileCache.get(eq(USER_ID), any())).thenReturn(profile());
+
+        cache.get(USER_ID, loader);
+        UserResponse result = cache.get(USER_ID, loader);
+
+        assertEquals(profile(), result);
+        verify(redisUserProfileCache, times(1)).get(eq(USER_ID), any());
+    }
+
+    @Test
+    @DisplayName("должен очистить оба уровня и разослать инвалидацию другим узлам")
+    void shouldEvictBothLevelsAndPublishInvalidation() {
+        when(redisUserProfileCache.get(eq(USER_ID), any())).thenReturn(profile());
+        cache.get(USER_ID, loader);
+
+        cache.evict(USER_ID);
+        cache.get(USER_ID, loader);
+
+        verify(redisUserProfileCache).evict(USER_ID);
+        verify(redisTemplate).convertAndSend(UserProfileCacheProperties.DEFAULT_INVALIDATION_CHANNEL, "42");
+        verify(redisUserProfileCache, times(2)).get(eq(USER_ID), any());
+    }
+
+    @Test
+    @DisplayName("должен удалить локальную запись по сообщению от другого узла")
+    void shouldInvalidateLocalEntryOnRemoteMessage() {
+        when(redisUserProfileCache.get(eq(USER_ID), any())).thenReturn(profile());
+        cache.get(USER_ID, loader);
+
+        cache.onRemoteInvalidation("42".getBytes(StandardCharsets.UTF_8));
+        cache.get(USER_ID, loader);
+
+        verify(redisUserProfileCache, times(2)).get(eq(USER_ID), any());
+    }
+
+    @Test
+    @DisplayName("не должен падать, если публикация инвалидации не удалась")
+    void shouldTolerateFailedInvalidationPublish() {
+        doThrow(new QueryTimeoutException("timeout")).when(redisTemplate).convertAndSend(any(), any());
+
+        cache.evict(USER_ID);
+
+        verify(redisUserProfileCache).evict(USER_ID);
+    }
+
+    @Test
+    @DisplayName("должен перечитывать горячий профиль из Redis при обновлении после local-ttl")
+    void shouldReloadHotProfileFromRedis() {
+        HotKeyTracker hotKeyTracker = mock(HotKeyTracker.class);
+        when(hotKeyTracker.isHot(HotKeyPath.PROFILE, USER_ID)).thenReturn(true);
+        when(redisUserProfileCache.getIfPresent(USER_ID)).thenReturn(Optional.of(profile()));
+        var reloader = new NearUserProfileCache.HotProfileReloader(redisUserProfileCache, hotKeyTracker);
+
+        assertEquals(profile(), reloader.reload(USER_ID, staleProfile()));
+    }
+
+    @Test
+    @DisplayName("должен удалять запись L1, если профиль остыл или пропал из Redis")
+    void shouldDropLocalEntryWhenProfileIsColdOrMissingInRedis() {
+        HotKeyTracker hotKeyTracker = mock(HotKeyTracker.class);
+        when(hotKeyTracker.isHot(HotKeyPath.PROFILE, USER_ID)).thenReturn(false, true);
+        when(redisUserProfileCache.getIfPresent(USER_ID)).thenReturn(Optional.empty());
+        var reloader = new NearUserProfileCache.HotProfileReloader(redisUserProfileCache, hotKeyTracker);
+
+        assertAll("Устаревшая запись не должна продлеваться",
+                () -> assertNull(reloader.reload(USER_ID, staleProfile()), "Остывший ключ"),
+                () -> assertNull(reloader.reload(USER_ID, staleProfile()), "Нет записи в Redis")
+        );
+        verify(redisUserProfileCache, times(1)).getIfPresent(USER_ID);
+    }
+
+    private static UserResponse staleProfile() {
+        OffsetDateTime timestamp = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "old_user", "test.user@example.com", "+70000000000", true, null,
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, false, null, null,
+                timestamp, timestamp, 0L
+        );
+    }
+
+    private static UserResponse profile() {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "test_user", "test.user@example.com", "+70000000000", true, null,
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, false, null, null,
+                timestamp, timestamp, 0L
+        );
+    }
+}
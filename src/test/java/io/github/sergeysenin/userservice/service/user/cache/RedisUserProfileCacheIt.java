@@ -0,0 +1,138 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+@DisplayName("RedisUserProfileCacheIt: запись профиля не откатывает кеш к старой версии")
+class RedisUserProfileCacheIt {
+
+    private static final DockerImageName REDIS_DOCKER_IMAGE = DockerImageName.parse("redis:8.2.3-alpine");
+    private static final int REDIS_PORT = 6379;
+    private static final Long USER_ID = 42L;
+    private static final String KEY = UserProfileCacheProperties.DEFAULT_KEY_PREFIX + USER_ID;
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(5);
+
+    @Container
+    @SuppressWarnings("resource")
+    static final GenericContainer<?> REDIS = new GenericContainer<>(REDIS_DOCKER_IMAGE).withExposedPorts(REDIS_PORT);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JedisConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisUserProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT))
+        );
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(KEY);
+
+        var properties = new UserProfileCacheProperties(
+                true, TTL, null, 1.0, 100, Duration.ofSeconds(30), null, Duration.ofSeconds(5), TOMBSTONE_TTL
+        );
+        cache = new RedisUserProfileCache(redisTemplate, objectMapper, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("не должен возвращать в кеш профиль, загруженный до инвалидации и записанный после неё")
+    void shouldRejectStaleWriteAfterEviction() {
+        cache.get(USER_ID, () -> profile(1));
+
+        // Загрузка версии 1 началась до изменения, а её запись пришла уже после AFTER_COMMIT-инвалидации.
+        cache.evict(USER_ID);
+        UserResponse loaded = cache.get(USER_ID, () -> profile(1));
+
+        long tombstoneTtlMillis = redisTemplate.getExpire(KEY, TimeUnit.MILLISECONDS);
+        assertAll("Запись после инвалидации",
+                () -> assertEquals(1, loaded.version(), "Запрос получает загруженный профиль"),
+                () -> assertEquals(Optional.empty(), cache.getIfPresent(USER_ID), "Кеш не должен его хранить"),
+                () -> assertTrue(tombstoneTtlMillis > 0 && tombstoneTtlMillis <= TOMBSTONE_TTL.toMillis()),
+                () -> assertEquals(1.0, counter("stale_write"))
+        );
+    }
+
+    @Test
+    @DisplayName("не должен перезаписывать более новую версию профиля старой")
+    void shouldNotOverwriteNewerVersion() throws Exception {
+        // Запись версии 2 уже истекает, поэтому следующий запрос досрочно пересчитает её и попробует записать.
+        var expiring = new CachedUserProfile(profile(2), 5, System.currentTimeMillis() - 1);
+        redisTemplate.opsForValue().set(KEY, objectMapper.writeValueAsString(expiring), TTL);
+
+        cache.get(USER_ID, () -> profile(1));
+
+        assertAll("Запись старой версии",
+                () -> assertEquals(2, cache.getIfPresent(USER_ID).map(UserResponse::version).orElseThrow()),
+                () -> assertEquals(1.0, counter("stale_write"))
+        );
+    }
+
+    @Test
+    @DisplayName("должен записывать профиль, если в кеше нет более новой версии")
+    void shouldStoreProfileWhenNoNewerVersionIsCached() {
+        cache.get(USER_ID, () -> profile(3));
+        redisTemplate.delete(KEY);
+        cache.get(USER_ID, () -> profile(4));
+
+        assertAll("Запись новой версии",
+                () -> assertEquals(4, cache.getIfPresent(USER_ID).map(UserResponse::version).orElseThrow()),
+                () -> assertEquals(0.0, counter("stale_write"))
+        );
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("user.profile.cache").tag("result", result).counter().count();
+    }
+
+    private static UserResponse profile(long version) {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "test_user", "test.user@example.com", "+70000000000", true, null,
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, false, null, null,
+                timestamp, timestamp, version
+        );
+    }
+}
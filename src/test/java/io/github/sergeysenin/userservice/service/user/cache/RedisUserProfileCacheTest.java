@@ -0,0 +1,166 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisUserProfileCache")
+class RedisUserProfileCacheTest {
+
+    private static final Long USER_ID = 42L;
+    private static final String KEY = UserProfileCacheProperties.DEFAULT_KEY_PREFIX + USER_ID;
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(5);
+    private static final String TOMBSTONE = "evicted";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RedisUserProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new UserProfileCacheProperties(
+                true, TTL, null, 1.0, 100, Duration.ofSeconds(30), null, Duration.ofSeconds(5),
+                TOMBSTONE_TTL
+        );
+        cache = new RedisUserProfileCache(redisTemplate, objectMapper, properties, meterRegistry);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("должен загрузить профиль из БД и записать его в Redis при промахе")
+    void shouldLoadAndStoreProfileWhenKeyIsMissing() {
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        UserResponse result = cache.get(USER_ID, this::loadProfile);
+
+        assertAll("Промах кеша",
+                () -> assertEquals(profile(), result),
+                () -> assertEquals(1, loads.get(), "Профиль должен загрузиться один раз"),
+                () -> assertEquals(1.0, counter("miss"))
+        );
+        verify(redisTemplate).execute(any(), eq(List.of(KEY)), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("должен вернуть профиль из Redis без обращения к БД при попадании")
+    void shouldReturnCachedProfileWhenEntryIsFresh() throws Exception {
+        long farExpiry = System.currentTimeMillis() + TTL.toMillis();
+        when(valueOperations.get(KEY)).thenReturn(serialize(farExpiry));
+
+        UserResponse result = cache.get(USER_ID, this::loadProfile);
+
+        assertAll("Попадание в кеш",
+                () -> assertEquals(profile(), result),
+                () -> assertEquals(0, loads.get(), "БД не должна опрашиваться"),
+                () -> assertEquals(1.0, meterRegistry.get("user.profile.cache.hit.ratio").gauge().value())
+        );
+        verify(redisTemplate, never()).execute(any(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("должен досрочно обновить запись, срок которой уже наступил")
+    void shouldRefreshEarlyWhenEntryIsAboutToExpire() throws Exception {
+        when(valueOperations.get(KEY)).thenReturn(serialize(System.currentTimeMillis() - 1));
+
+        cache.get(USER_ID, this::loadProfile);
+
+        assertAll("Раннее обновление",
+                () -> assertEquals(1, loads.get(), "Запись должна быть пересчитана"),
+                () -> assertEquals(1.0, counter("early_refresh"))
+        );
+        verify(redisTemplate).execute(any(), eq(List.of(KEY)), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("должен оставить короткую метку вместо записи при инвалидации и считать её промахом")
+    void shouldLeaveTombstoneOnEvictAndTreatItAsMiss() {
+        cache.evict(USER_ID);
+        when(valueOperations.get(KEY)).thenReturn(TOMBSTONE);
+
+        UserResponse result = cache.get(USER_ID, this::loadProfile);
+
+        assertAll("Метка инвалидации",
+                () -> assertEquals(profile(), result),
+                () -> assertEquals(1.0, counter("miss")),
+                () -> assertEquals(0.0, counter("error"), "Метка не должна разбираться как JSON")
+        );
+        verify(valueOperations).set(KEY, TOMBSTONE, TOMBSTONE_TTL);
+    }
+
+    @Test
+    @DisplayName("должен читать из БД, если Redis недоступен")
+    void shouldFallBackToLoaderWhenRedisFails() {
+        when(valueOperations.get(KEY)).thenThrow(new QueryTimeoutException("timeout"));
+
+        UserResponse result = cache.get(USER_ID, this::loadProfile);
+
+        assertAll("Деградация при сбое Redis",
+                () -> assertEquals(profile(), result),
+                () -> assertEquals(1.0, counter("error"))
+        );
+    }
+
+    private UserResponse loadProfile() {
+        loads.incrementAndGet();
+        return profile();
+    }
+
+    private String serialize(long expiresAtMillis) throws Exception {
+        return objectMapper.writeValueAsString(new CachedUserProfile(profile(), 5, expiresAtMillis));
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("user.profile.cache").tag("result", result).counter().count();
+    }
+
+    private static UserResponse profile() {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "test_user", "test.user@example.com", "+70000000000", true, null,
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, false, null, null,
+                timestamp, timestamp, 0L
+        );
+    }
+}
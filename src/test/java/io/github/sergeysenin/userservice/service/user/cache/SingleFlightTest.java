@@ -0,0 +1,144 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+    private static final int CALLERS = 64;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("должен выполнить одну загрузку на ключ за всплеск одновременных вызовов")
+    void shouldRunSingleLoadPerKeyPerBurst() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofSeconds(5));
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitBurst(() -> singleFlight.load(7L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "profile-7";
+        }));
+        awaitJoined(singleFlight);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("profile-7", result.get(5, TimeUnit.SECONDS));
+        }
+        assertAll("Схлопывание загрузок",
+                () -> assertEquals(1, loads.get()),
+                () -> assertEquals(0, singleFlight.inFlightCount())
+        );
+    }
+
+    @Test
+    @DisplayName("должен передать ошибку загрузки всем ожидающим и загрузить заново после неё")
+    void shouldPropagateLoadErrorToAllWaiters() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofSeconds(5));
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("db down");
+
+        List<Future<String>> results = submitBurst(() -> singleFlight.load(7L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        }));
+        awaitJoined(singleFlight);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals("profile-7", singleFlight.load(7L, () -> "profile-7"));
+    }
+
+    @Test
+    @DisplayName("должен прекратить ожидание чужой загрузки по таймауту")
+    void shouldStopWaitingAfterTimeout() throws Exception {
+        var singleFlight = new SingleFlight<Long, String>(Duration.ofMillis(50));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.load(7L, () -> {
+            started.countDown();
+            await(release);
+            return "profile-7";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> singleFlight.load(7L, () -> "unexpected"));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+
+        release.countDown();
+        assertEquals("profile-7", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private List<Future<String>> submitBurst(Callable<String> call) {
+        var start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    /**
+     * Всплеск собран, когда один вызов выполняет загрузку, а остальные присоединились к ней: загрузчик стоит
+     * на защёлке, поэтому лидер не сменится и опоздавших вызовов не будет.
+     */
+    private static void awaitJoined(SingleFlight<Long, String> singleFlight) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waiterCount() < CALLERS - 1) {
+            assertTrue(System.nanoTime() < deadline, "Вызовы не присоединились к загрузке за 5 секунд");
+            Thread.onSpinWait();
+        }
+        assertEquals(1, singleFlight.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
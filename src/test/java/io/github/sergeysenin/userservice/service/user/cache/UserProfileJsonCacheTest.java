@@ -0,0 +1,104 @@
+package io.github.sergeysenin.userservice.service.user.cache;
+
+import io.github.sergeysenin.userservice.config.cache.UserProfileJsonCacheProperties;
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("UserProfileJsonCache")
+class UserProfileJsonCacheTest {
+
+    private static final Long USER_ID = 42L;
+    private static final String LONG_ABOUT_ME = "Пишу на Java и люблю PostgreSQL. ".repeat(40);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("должен сериализовать профиль один раз на версию")
+    void shouldSerializeOncePerVersion() {
+        UserProfileJsonCache cache = cache(true);
+
+        SerializedUserProfile first = cache.get(profile(3L, LONG_ABOUT_ME));
+        SerializedUserProfile second = cache.get(profile(3L, LONG_ABOUT_ME));
+        SerializedUserProfile nextVersion = cache.get(profile(4L, LONG_ABOUT_ME));
+
+        assertAll("Кеш по id и версии",
+                () -> assertSame(first, second, "Та же версия должна отдаваться из кеша"),
+                () -> assertNotSame(first, nextVersion, "Новая версия должна сериализоваться заново")
+        );
+    }
+
+    @Test
+    @DisplayName("должен отдавать тот же JSON, что и Jackson, и распаковываемую gzip-версию")
+    void shouldMatchJacksonOutputAndGzipVersion() throws IOException {
+        UserResponse profile = profile(3L, LONG_ABOUT_ME);
+
+        SerializedUserProfile serialized = cache(true).get(profile);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(profile), serialized.json());
+        assertTrue(serialized.hasGzip(), "Крупный профиль должен храниться и в сжатом виде");
+        try (var gzipStream = new GZIPInputStream(new ByteArrayInputStream(serialized.gzip()))) {
+            assertArrayEquals(serialized.json(), gzipStream.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("не должен сжимать профиль меньше порога")
+    void shouldNotGzipSmallProfile() {
+        assertFalse(cache(true).get(profile(3L, null)).hasGzip());
+    }
+
+    @Test
+    @DisplayName("должен сериализовать на каждый запрос без сжатия при выключенном кеше")
+    void shouldSerializeEveryTimeWhenDisabled() {
+        UserProfileJsonCache cache = cache(false);
+
+        SerializedUserProfile first = cache.get(profile(3L, LONG_ABOUT_ME));
+        SerializedUserProfile second = cache.get(profile(3L, LONG_ABOUT_ME));
+
+        assertAll("Выключенный кеш",
+                () -> assertNotSame(first, second),
+                () -> assertFalse(first.hasGzip()),
+                () -> assertEquals(first.json().length, second.json().length)
+        );
+    }
+
+    private UserProfileJsonCache cache(boolean enabled) {
+        var properties = new UserProfileJsonCacheProperties(
+                enabled, DataSize.ofMegabytes(1), Duration.ofMinutes(10), DataSize.ofBytes(512)
+        );
+        return new UserProfileJsonCache(objectMapper, properties, new SimpleMeterRegistry());
+    }
+
+    private static UserResponse profile(long version, String aboutMe) {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new UserResponse(
+                USER_ID, "test_user", "test.user@example.com", "+70000000000", true, aboutMe,
+                new CountrySummaryDto(1L, "Россия"), "Москва", (short) 3, false, null, null,
+                timestamp, timestamp, version
+        );
+    }
+}
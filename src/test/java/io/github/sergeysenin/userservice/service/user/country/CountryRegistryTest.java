@@ -0,0 +1,88 @@
+package io.github.sergeysenin.userservice.service.user.country;
+
+import io.github.sergeysenin.userservice.dto.user.CountrySummaryDto;
+import io.github.sergeysenin.userservice.entity.user.country.Country;
+import io.github.sergeysenin.userservice.repository.user.country.CountryRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CountryRegistry")
+class CountryRegistryTest {
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @InjectMocks
+    private CountryRegistry countryRegistry;
+
+    @Test
+    @DisplayName("должен находить страну по идентификатору после загрузки")
+    void shouldFindCountryAfterRefresh() {
+        when(countryRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(country(1L, "Россия"), country(7L, "Казахстан")));
+
+        countryRegistry.refresh();
+
+        assertAll("Поиск в справочнике",
+                () -> assertEquals(Optional.of(new CountrySummaryDto(7L, "Казахстан")), countryRegistry.find(7L)),
+                () -> assertEquals(Optional.empty(), countryRegistry.find(2L)),
+                () -> assertEquals(new CountrySummaryDto(2L, null), countryRegistry.toCountrySummary(2L)),
+                () -> assertEquals(2, countryRegistry.getCatalog().countries().size())
+        );
+    }
+
+    @Test
+    @DisplayName("должен менять ETag только при изменении содержимого")
+    void shouldChangeEtagOnlyWhenContentChanges() {
+        when(countryRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(country(1L, "Россия")))
+                .thenReturn(List.of(country(1L, "Россия")))
+                .thenReturn(List.of(country(1L, "Российская Федерация")));
+
+        countryRegistry.refresh();
+        String initial = countryRegistry.getCatalog().etag();
+        countryRegistry.refresh();
+        String unchanged = countryRegistry.getCatalog().etag();
+        countryRegistry.refresh();
+
+        assertAll("ETag справочника",
+                () -> assertEquals(initial, unchanged),
+                () -> assertNotEquals(initial, countryRegistry.getCatalog().etag())
+        );
+    }
+
+    @Test
+    @DisplayName("должен сохранять прежний снимок, если БД недоступна")
+    void shouldKeepPreviousSnapshotWhenLoadFails() {
+        when(countryRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(country(1L, "Россия")))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        countryRegistry.refresh();
+        countryRegistry.refresh();
+
+        assertEquals(Optional.of(new CountrySummaryDto(1L, "Россия")), countryRegistry.find(1L));
+    }
+
+    private static Country country(Long id, String title) {
+        return new Country(id, title, new ArrayList<>());
+    }
+}
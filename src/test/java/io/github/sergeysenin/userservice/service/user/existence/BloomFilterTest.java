@@ -0,0 +1,56 @@
+package io.github.sergeysenin.userservice.service.user.existence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("BloomFilter")
+class BloomFilterTest {
+
+    private static final int INSERTED = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    @DisplayName("должен находить все добавленные id и ошибаться на отсутствующих не чаще расчётного")
+    void shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        var filter = BloomFilter.create(INSERTED, FALSE_POSITIVE_RATE);
+        for (long id = 1; id <= INSERTED; id++) {
+            filter.put(BloomFilter.hash(id));
+        }
+
+        int missed = 0;
+        int falsePositives = 0;
+        for (long id = 1; id <= INSERTED; id++) {
+            if (!filter.mightContain(BloomFilter.hash(id))) {
+                missed++;
+            }
+            if (filter.mightContain(BloomFilter.hash(id + INSERTED))) {
+                falsePositives++;
+            }
+        }
+
+        int missedCount = missed;
+        int falsePositiveCount = falsePositives;
+        assertAll("Фильтр по id",
+                () -> assertEquals(0, missedCount),
+                () -> assertTrue(falsePositiveCount < INSERTED * FALSE_POSITIVE_RATE * 2,
+                        "Ложных срабатываний: " + falsePositiveCount)
+        );
+    }
+
+    @Test
+    @DisplayName("должен различать строки, отличающиеся регистром, как уникальный индекс")
+    void shouldHashStringsCaseSensitively() {
+        var filter = BloomFilter.create(1_000, FALSE_POSITIVE_RATE);
+        filter.put(BloomFilter.hash("user@example.com"));
+
+        assertAll("Фильтр по email",
+                () -> assertTrue(filter.mightContain(BloomFilter.hash("user@example.com"))),
+                () -> assertFalse(filter.mightContain(BloomFilter.hash("User@example.com")))
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.sergeysenin.userservice.service.user.existence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("ConfirmationBudget")
+class ConfirmationBudgetTest {
+
+    private static final int PERMITS_PER_SECOND = 20;
+
+    @Test
+    @DisplayName("должен выдать не больше секундного бюджета за одно мгновение и пополнять его со временем")
+    void shouldLimitBurstAndRefillOverTime() {
+        var clock = new AtomicLong();
+        var budget = new ConfirmationBudget(PERMITS_PER_SECOND, clock::get);
+
+        int burst = acquireAll(budget, 1_000);
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        int afterTenthOfSecond = acquireAll(budget, 1_000);
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        int afterIdleMinute = acquireAll(budget, 1_000);
+
+        assertAll("Бюджет проверок",
+                () -> assertEquals(PERMITS_PER_SECOND, burst),
+                () -> assertEquals(PERMITS_PER_SECOND / 10, afterTenthOfSecond),
+                () -> assertEquals(PERMITS_PER_SECOND, afterIdleMinute));
+    }
+
+    @Test
+    @DisplayName("должен запрещать любые проверки при нулевом бюджете")
+    void shouldDenyEverythingWithZeroBudget() {
+        var clock = new AtomicLong();
+        var budget = new ConfirmationBudget(0, clock::get);
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertFalse(budget.tryAcquire());
+    }
+
+    private static int acquireAll(ConfirmationBudget budget, int attempts) {
+        int acquired = 0;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (budget.tryAcquire()) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
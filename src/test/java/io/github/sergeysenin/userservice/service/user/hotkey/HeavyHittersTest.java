@@ -0,0 +1,71 @@
+package io.github.sergeysenin.userservice.service.user.hotkey;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("HeavyHitters")
+class HeavyHittersTest {
+
+    private static final int TOP_K = 3;
+    private static final long MIN_HITS = 50;
+
+    @Test
+    @DisplayName("должен выделить самые частые ключи из потока с длинным хвостом")
+    void shouldDetectHeavyHittersInSkewedStream() {
+        var heavyHitters = new HeavyHitters(1024, TOP_K, MIN_HITS);
+
+        for (int i = 0; i < 100_000; i++) {
+            heavyHitters.record(1_000 + i % 5_000);
+            if (i % 10 == 0) {
+                heavyHitters.record(1L);
+            }
+            if (i % 20 == 0) {
+                heavyHitters.record(2L);
+            }
+            if (i % 40 == 0) {
+                heavyHitters.record(3L);
+            }
+        }
+        heavyHitters.rotate();
+
+        List<Long> top = heavyHitters.topK().stream().map(HotKey::userId).toList();
+        assertAll("Горячие ключи",
+                () -> assertEquals(List.of(1L, 2L, 3L), top),
+                () -> assertTrue(heavyHitters.isHot(1L)),
+                () -> assertFalse(heavyHitters.isHot(1_000L))
+        );
+    }
+
+    @Test
+    @DisplayName("должен сменить набор горячих ключей, когда нагрузка переходит на другого пользователя")
+    void shouldFollowShiftingHotSet() {
+        var heavyHitters = new HeavyHitters(1024, TOP_K, MIN_HITS);
+
+        recordTimes(heavyHitters, 7L, 1_000);
+        heavyHitters.rotate();
+        assertTrue(heavyHitters.isHot(7L));
+
+        for (int window = 0; window < 6; window++) {
+            recordTimes(heavyHitters, 8L, 1_000);
+            heavyHitters.rotate();
+        }
+
+        assertAll("Смена горячего ключа",
+                () -> assertTrue(heavyHitters.isHot(8L)),
+                () -> assertFalse(heavyHitters.isHot(7L))
+        );
+    }
+
+    private static void recordTimes(HeavyHitters heavyHitters, long key, int times) {
+        for (int i = 0; i < times; i++) {
+            heavyHitters.record(key);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.sergeysenin.userservice.service.user.listing;
+
+import io.github.sergeysenin.userservice.entity.user.User;
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.repository.user.listing.UserKeyset;
+import io.github.sergeysenin.userservice.repository.user.listing.UserListSort;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UserListCursor")
+class UserListCursorTest {
+
+    private static final OffsetDateTime CREATED_AT =
+            OffsetDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("должен восстановить ключ (created_at, id) из курсора")
+    void shouldRoundTripCreatedAtKeyset() {
+        String cursor = UserListCursor.encode(UserListSort.CREATED_AT_DESC, user(42L));
+
+        UserKeyset keyset = UserListCursor.decode(cursor, UserListSort.CREATED_AT_DESC);
+
+        assertEquals(new UserKeyset(CREATED_AT, 42L), keyset);
+    }
+
+    @Test
+    @DisplayName("должен отклонить курсор, полученный для другой сортировки")
+    void shouldRejectCursorForAnotherSort() {
+        String cursor = UserListCursor.encode(UserListSort.ID_ASC, user(42L));
+
+        assertThrows(DataValidationException.class, () -> UserListCursor.decode(cursor, UserListSort.CREATED_AT_ASC));
+    }
+
+    @Test
+    @DisplayName("должен отклонить произвольную строку вместо курсора")
+    void shouldRejectMalformedCursor() {
+        assertThrows(DataValidationException.class, () -> UserListCursor.decode("not a cursor", UserListSort.ID_ASC));
+    }
+
+    private static User user(Long id) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        when(user.getCreatedAt()).thenReturn(CREATED_AT);
+        return user;
+    }
+}
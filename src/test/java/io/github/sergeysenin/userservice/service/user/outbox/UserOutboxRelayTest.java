@@ -0,0 +1,119 @@
+package io.github.sergeysenin.userservice.service.user.outbox;
+
+import io.github.sergeysenin.userservice.config.outbox.UserOutboxProperties;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxMessage;
+import io.github.sergeysenin.userservice.repository.user.outbox.UserOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserOutboxRelay")
+class UserOutboxRelayTest {
+
+    private static final String TOPIC = "user-events";
+
+    @Mock
+    private UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new UserOutboxProperties(
+                true, TOPIC, 6, 100, Duration.ofSeconds(1), Duration.ofSeconds(5)
+        );
+        relay = new UserOutboxRelay(
+                userOutboxRepository, kafkaTemplate, transactionTemplate, properties, new SimpleMeterRegistry()
+        );
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("должен отправить пакет с ключом userId и удалить его после подтверждения Kafka")
+    @SuppressWarnings("unchecked")
+    void shouldPublishBatchKeyedByUserIdAndDeleteIt() {
+        when(userOutboxRepository.tryLockRelay()).thenReturn(true);
+        when(userOutboxRepository.findBatch(100)).thenReturn(List.of(
+                new UserOutboxMessage(10L, 7L, "UserCreated", "{\"userId\":7}"),
+                new UserOutboxMessage(11L, 7L, "UserUpdated", "{\"userId\":7}")
+        ));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        assertEquals(2, relay.publishBatch());
+
+        ArgumentCaptor<ProducerRecord<String, String>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(records.capture());
+        ProducerRecord<String, String> first = records.getAllValues().get(0);
+        assertAll("Сообщение outbox",
+                () -> assertEquals(TOPIC, first.topic()),
+                () -> assertEquals("7", first.key()),
+                () -> assertEquals("10", header(first, UserOutboxRelay.EVENT_ID_HEADER)),
+                () -> assertEquals("UserCreated", header(first, UserOutboxRelay.EVENT_TYPE_HEADER))
+        );
+        verify(userOutboxRepository).deleteAll(List.of(10L, 11L));
+    }
+
+    @Test
+    @DisplayName("не должен удалять пакет, если Kafka не подтвердила отправку")
+    @SuppressWarnings("unchecked")
+    void shouldKeepBatchWhenSendFails() {
+        when(userOutboxRepository.tryLockRelay()).thenReturn(true);
+        when(userOutboxRepository.findBatch(100))
+                .thenReturn(List.of(new UserOutboxMessage(10L, 7L, "UserCreated", "{}")));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThrows(IllegalStateException.class, () -> relay.publishBatch());
+        verify(userOutboxRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    @DisplayName("должен пропустить запуск, если outbox разбирает другой узел")
+    void shouldSkipWhenAnotherNodeHoldsRelayLock() {
+        when(userOutboxRepository.tryLockRelay()).thenReturn(false);
+
+        assertEquals(0, relay.publishBatch());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static String header(ProducerRecord<String, String> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
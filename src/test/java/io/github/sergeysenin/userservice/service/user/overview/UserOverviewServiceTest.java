@@ -0,0 +1,109 @@
+package io.github.sergeysenin.userservice.service.user.overview;
+
+import io.github.sergeysenin.userservice.client.payment.PaymentServiceClient;
+import io.github.sergeysenin.userservice.client.project.ProjectServiceClient;
+import io.github.sergeysenin.userservice.config.client.UserOverviewProperties;
+import io.github.sergeysenin.userservice.dto.overview.PaymentAccountDto;
+import io.github.sergeysenin.userservice.dto.overview.ProjectSummaryDto;
+import io.github.sergeysenin.userservice.dto.overview.UserOverviewResponse;
+import io.github.sergeysenin.userservice.dto.user.UserResponse;
+import io.github.sergeysenin.userservice.service.user.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserOverviewService")
+class UserOverviewServiceTest {
+
+    private static final Long USER_ID = 7L;
+    private static final List<ProjectSummaryDto> PROJECTS = List.of(new ProjectSummaryDto(1L, "CRM", "ACTIVE"));
+    private static final PaymentAccountDto ACCOUNT = new PaymentAccountDto(new BigDecimal("10.50"), "RUB");
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProjectServiceClient projectServiceClient;
+
+    @Mock
+    private PaymentServiceClient paymentServiceClient;
+
+    private final UserResponse user = mock(UserResponse.class);
+
+    private UserOverviewService userOverviewService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new UserOverviewProperties(Duration.ofMillis(200), Duration.ofMinutes(1), 100, 4);
+        userOverviewService = new UserOverviewService(
+                userService, projectServiceClient, paymentServiceClient, properties, new SimpleMeterRegistry()
+        );
+        when(userService.getUserResponseByIdOrThrow(USER_ID)).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userOverviewService.shutdown();
+    }
+
+    @Test
+    @DisplayName("должен собрать полную сводку и отдать повторный запрос из кеша без вызова сервисов")
+    void shouldAssembleOverviewAndCacheRemoteParts() {
+        when(projectServiceClient.getUserProjects(USER_ID)).thenReturn(PROJECTS);
+        when(paymentServiceClient.getUserAccount(USER_ID)).thenReturn(ACCOUNT);
+
+        userOverviewService.getOverview(USER_ID);
+        UserOverviewResponse overview = userOverviewService.getOverview(USER_ID);
+
+        assertAll("Сводка",
+                () -> assertSame(user, overview.user()),
+                () -> assertEquals(PROJECTS, overview.projects()),
+                () -> assertEquals(ACCOUNT, overview.account()),
+                () -> assertEquals(List.of(), overview.unavailable())
+        );
+        verify(projectServiceClient, times(1)).getUserProjects(USER_ID);
+        verify(paymentServiceClient, times(1)).getUserAccount(USER_ID);
+    }
+
+    @Test
+    @DisplayName("должен отдать частичную сводку, если сервис упал или не ответил вовремя")
+    void shouldDegradeToPartialOverview() {
+        when(projectServiceClient.getUserProjects(USER_ID)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return PROJECTS;
+        });
+        when(paymentServiceClient.getUserAccount(USER_ID)).thenThrow(new IllegalStateException("payment down"));
+
+        UserOverviewResponse overview = userOverviewService.getOverview(USER_ID);
+
+        assertAll("Частичная сводка",
+                () -> assertSame(user, overview.user()),
+                () -> assertNull(overview.projects()),
+                () -> assertNull(overview.account()),
+                () -> assertEquals(
+                        List.of(UserOverviewService.PROJECTS, UserOverviewService.ACCOUNT), overview.unavailable()
+                )
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.sergeysenin.userservice.service.user.search;
+
+import io.github.sergeysenin.userservice.exception.type.DataValidationException;
+import io.github.sergeysenin.userservice.repository.user.search.UserSearchHit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UserSearchCursor")
+class UserSearchCursorTest {
+
+    @Test
+    @DisplayName("должен точно восстановить релевантность и id последнего результата")
+    void shouldRoundTripScoreAndId() {
+        var hit = new UserSearchHit(42L, 1.0625f);
+
+        String cursor = UserSearchCursor.encode("москва", hit);
+
+        assertEquals(hit, UserSearchCursor.decode(cursor, "москва"));
+    }
+
+    @Test
+    @DisplayName("должен отклонить курсор от другой поисковой строки")
+    void shouldRejectCursorForAnotherQuery() {
+        String cursor = UserSearchCursor.encode("москва", new UserSearchHit(42L, 0.5f));
+
+        assertThrows(DataValidationException.class, () -> UserSearchCursor.decode(cursor, "казань"));
+    }
+}